@@ -0,0 +1,142 @@
+package com.thbs.lms.controller;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.thbs.lms.LmsApplication;
+import com.thbs.lms.model.Course;
+import com.thbs.lms.model.LearningPlan;
+import com.thbs.lms.model.Module;
+import com.thbs.lms.model.Topic;
+import com.thbs.lms.repository.CourseRepository;
+import com.thbs.lms.repository.LearningPlanRepository;
+import com.thbs.lms.repository.ModuleRepository;
+import com.thbs.lms.repository.TopicRepository;
+
+/**
+ * Measures the web tier under concurrent clients calling the course, topic
+ * and module endpoints over HTTP, in each thread mode. The sample-time mode
+ * reports the percentiles of the request latency. The virtual-thread mode
+ * requires Java 21; on older runtimes it runs on platform threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class WebLoadBenchmark {
+
+    private static final long DAY = 1000L * 60 * 60 * 24;
+
+    @Param({ "platform", "virtual-threads" })
+    public String mode;
+
+    private ConfigurableApplicationContext context;
+    private String baseUrl;
+    private Course course;
+    private LearningPlan learningPlan;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(LmsApplication.class).properties(
+                "server.port=0",
+                "spring.datasource.url=jdbc:h2:mem:loaddb;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "eureka.client.enabled=false");
+        if ("virtual-threads".equals(mode)) {
+            builder.profiles(mode);
+        }
+        context = builder.run();
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+        course = context.getBean(CourseRepository.class).save(new Course(null, "Load Course", "BASIC"));
+        List<Topic> topics = new ArrayList<>();
+        for (int t = 0; t < 20; t++) {
+            topics.add(new Topic(null, "Topic" + t, "Description " + t, course));
+        }
+        context.getBean(TopicRepository.class).saveAll(topics);
+
+        LearningPlan plan = new LearningPlan();
+        plan.setLearningPlanName("Load Plan");
+        plan.setType("BATCH");
+        learningPlan = context.getBean(LearningPlanRepository.class).save(plan);
+        List<Module> modules = new ArrayList<>();
+        for (int m = 0; m < 20; m++) {
+            modules.add(new Module(null, learningPlan, course, "Load Trainer", new Date(m * 2 * DAY),
+                    new Date((m * 2 + 1) * DAY), null));
+        }
+        context.getBean(ModuleRepository.class).saveAll(modules);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * The HTTP client of one benchmark thread, which cycles through the
+     * requests of the mix.
+     */
+    @State(Scope.Thread)
+    public static class Client {
+        private final HttpClient httpClient = HttpClient.newHttpClient();
+        private long requestId;
+    }
+
+    @Benchmark
+    public int requestMix(Client client) throws IOException, InterruptedException {
+        long requestId = client.requestId++;
+        HttpRequest request = switch ((int) (requestId % 4)) {
+            case 0 -> HttpRequest.newBuilder(uri("/course/id/" + course.getCourseId())).GET().build();
+            case 1 -> HttpRequest.newBuilder(uri("/topic/course/" + course.getCourseId())).GET().build();
+            case 2 -> HttpRequest.newBuilder(uri("/module/learning-plan-id/" + learningPlan.getLearningPlanId()))
+                    .GET().build();
+            default -> HttpRequest.newBuilder(uri("/topic"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"topicName\":\"Load "
+                            + Thread.currentThread().getId() + "-" + requestId
+                            + "\",\"description\":\"Added under load\",\"course\":{\"courseId\":"
+                            + course.getCourseId() + "}}"))
+                    .build();
+        };
+        HttpResponse<Void> response = client.httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(request.method() + " " + request.uri() + " returned "
+                    + response.statusCode());
+        }
+        return response.statusCode();
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+}
@@ -0,0 +1,84 @@
+package com.thbs.lms.dto;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Measures the JSON serialization of the course and learning plan responses.
+ * The object mapper is built with the same defaults as the one Spring Boot
+ * configures for the controllers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DTOSerializationBenchmark {
+
+    private static final long DAY = 1000L * 60 * 60 * 24;
+
+    @Param({ "10", "100" })
+    public int courseCount;
+
+    @Param({ "10", "50" })
+    public int topicsPerCourse;
+
+    private ObjectMapper objectMapper;
+    private List<CourseDTO> courses;
+    private List<LearningPlanDTO> learningPlans;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        courses = new ArrayList<>();
+        for (int c = 0; c < courseCount; c++) {
+            List<TopicDTO> topics = new ArrayList<>();
+            for (int t = 0; t < topicsPerCourse; t++) {
+                topics.add(new TopicDTO((long) c * topicsPerCourse + t, "Topic" + t));
+            }
+            courses.add(new CourseDTO((long) c, "Course" + c, topics));
+        }
+        // Ten learning plans, each with a path through every course
+        learningPlans = new ArrayList<>();
+        for (int p = 0; p < 10; p++) {
+            List<PathDTO> paths = new ArrayList<>();
+            for (int c = 0; c < courseCount; c++) {
+                paths.add(new PathDTO((long) p * courseCount + c, "BATCH", "Trainer" + c, new Date(c * DAY),
+                        new Date((c + 1) * DAY), courses.get(c)));
+            }
+            learningPlans.add(new LearningPlanDTO((long) p, (long) p, paths, "Plan" + p, "BATCH",
+                    Set.of((long) p)));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeCourses() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(courses);
+    }
+
+    @Benchmark
+    public byte[] serializeLearningPlans() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(learningPlans);
+    }
+}
@@ -0,0 +1,88 @@
+package com.thbs.lms.repository;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+import com.thbs.lms.model.Course;
+import com.thbs.lms.model.Topic;
+
+/**
+ * The {@code InMemoryRepositories} class provides map-backed stand-ins for the
+ * repositories, so that benchmarks measure the service code without a
+ * database.
+ * Only the finders used by the benchmarked paths are answered; any other
+ * repository method throws {@link UnsupportedOperationException}.
+ */
+public class InMemoryRepositories {
+    // Private constructor to prevent instantiation
+    private InMemoryRepositories() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Creates a topic repository answering {@code findByCourse} and
+     * {@code findTopicNamesByCourse} from the given topics. Saved topics are
+     * returned as they are, without being stored.
+     *
+     * @param topicsByCourse The stored topics, keyed by course ID.
+     * @return The in-memory topic repository.
+     */
+    public static TopicRepository topicRepository(Map<Long, List<Topic>> topicsByCourse) {
+        return proxy(TopicRepository.class, (method, args) -> switch (method.getName()) {
+            case "findByCourse" -> topicsByCourse.getOrDefault(((Course) args[0]).getCourseId(), List.of());
+            case "findTopicNamesByCourse" ->
+                topicsByCourse.getOrDefault(((Course) args[0]).getCourseId(), List.of()).stream()
+                        .map(Topic::getTopicName)
+                        .collect(Collectors.toSet());
+            case "saveAll" -> args[0];
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    /**
+     * Creates a course repository that answers no queries, for services that
+     * need one but whose benchmarked paths do not use it.
+     *
+     * @return The in-memory course repository.
+     */
+    public static CourseRepository courseRepository() {
+        return proxy(CourseRepository.class, (method, args) -> {
+            throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    /**
+     * Creates a course repository answering
+     * {@code findByCourseNameIgnoreCaseAndLevel} from the given courses.
+     *
+     * @param courses The stored courses.
+     * @return The in-memory course repository.
+     */
+    public static CourseRepository courseRepository(List<Course> courses) {
+        return proxy(CourseRepository.class, (method, args) -> switch (method.getName()) {
+            case "findByCourseNameIgnoreCaseAndLevel" -> courses.stream()
+                    .filter(course -> course.getCourseName().equalsIgnoreCase((String) args[0])
+                            && course.getLevel().equals(args[1]))
+                    .findFirst();
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, BiFunction<Method, Object[], Object> handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+                (instance, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class) {
+                        return switch (method.getName()) {
+                            case "equals" -> instance == args[0];
+                            case "hashCode" -> System.identityHashCode(instance);
+                            default -> "InMemory" + type.getSimpleName();
+                        };
+                    }
+                    return handler.apply(method, args);
+                }));
+    }
+}
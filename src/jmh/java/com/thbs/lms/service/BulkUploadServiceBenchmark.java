@@ -0,0 +1,99 @@
+package com.thbs.lms.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import com.thbs.lms.dto.UploadResultDTO;
+import com.thbs.lms.model.Course;
+import com.thbs.lms.model.Topic;
+import com.thbs.lms.repository.InMemoryRepositories;
+import com.thbs.lms.repository.TopicRepository;
+import com.thbs.lms.utility.LargeExcelFileGenerator;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Measures the parsing of the topic rows of an uploaded workbook into topics,
+ * against an in-memory topic repository. A share of the rows can be made to
+ * match stored topics, to include the skipping of existing topics.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BulkUploadServiceBenchmark {
+
+    @Param({ "1", "10" })
+    public int sheetCount;
+
+    @Param({ "100", "5000" })
+    public int rowsPerSheet;
+
+    @Param({ "0", "50" })
+    public int existingPercent;
+
+    private Workbook workbook;
+    private List<Course> courses;
+    private BulkUploadService bulkUploadService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        workbook = WorkbookFactory.create(
+                LargeExcelFileGenerator.generateExcelFile(sheetCount, rowsPerSheet).getInputStream());
+        courses = new ArrayList<>();
+        Map<Long, List<Topic>> storedTopics = new HashMap<>();
+        int existingRows = rowsPerSheet * existingPercent / 100;
+        for (int s = 0; s < sheetCount; s++) {
+            Course course = new Course((long) s, workbook.getSheetAt(s).getSheetName(), "BASIC");
+            courses.add(course);
+            // The generated sheets name their topics Topic0, Topic1, ...
+            List<Topic> topics = new ArrayList<>();
+            for (int r = 0; r < existingRows; r++) {
+                topics.add(new Topic((long) r, "Topic" + r, "Stored topic " + r, course));
+            }
+            storedTopics.put(course.getCourseId(), topics);
+        }
+        TopicRepository topicRepository = InMemoryRepositories.topicRepository(storedTopics);
+        bulkUploadService = new BulkUploadService(InMemoryRepositories.courseRepository(), topicRepository, null,
+                Runnable::run, new CatalogCache(new ConcurrentMapCacheManager()),
+                new UploadMetrics(new SimpleMeterRegistry()), new TopicSearchIndex(topicRepository), List.of());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        workbook.close();
+    }
+
+    @Benchmark
+    public void processTopics(Blackhole blackhole) {
+        UploadResultDTO result = new UploadResultDTO();
+        for (int s = 0; s < sheetCount; s++) {
+            blackhole.consume(bulkUploadService.processTopics(workbook.getSheetAt(s), courses.get(s), result));
+        }
+        blackhole.consume(result);
+    }
+}
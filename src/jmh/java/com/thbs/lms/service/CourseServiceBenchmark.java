@@ -0,0 +1,64 @@
+package com.thbs.lms.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import com.thbs.lms.dto.CourseDTO;
+import com.thbs.lms.model.Course;
+import com.thbs.lms.model.Topic;
+import com.thbs.lms.repository.InMemoryRepositories;
+import com.thbs.lms.repository.TopicRepository;
+
+/**
+ * Measures the conversion of a course and its topics to a DTO, against an
+ * in-memory topic repository.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CourseServiceBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    public int topicsPerCourse;
+
+    private Course course;
+    private CourseService courseService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        course = new Course(1L, "Benchmark Course", "BASIC");
+        List<Topic> topics = new ArrayList<>();
+        for (int t = 0; t < topicsPerCourse; t++) {
+            topics.add(new Topic((long) t, "Topic" + t, "Description " + t, course));
+        }
+        CatalogCache catalogCache = new CatalogCache(new ConcurrentMapCacheManager());
+        TopicRepository topicRepository = InMemoryRepositories.topicRepository(Map.of(course.getCourseId(), topics));
+        TopicService topicService = new TopicService(topicRepository, catalogCache,
+                new TopicSearchIndex(topicRepository));
+        courseService = new CourseService(InMemoryRepositories.courseRepository(), topicService, catalogCache);
+    }
+
+    @Benchmark
+    public CourseDTO convertToDTO() {
+        return courseService.convertToDTO(course);
+    }
+}
@@ -0,0 +1,114 @@
+package com.thbs.lms.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.thbs.lms.dto.UploadFailureMode;
+import com.thbs.lms.dto.UploadResultDTO;
+import com.thbs.lms.model.Course;
+import com.thbs.lms.repository.InMemoryRepositories;
+import com.thbs.lms.repository.TopicRepository;
+import com.thbs.lms.utility.LargeExcelFileGenerator;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Measures the upload of a workbook with many sheets read one after the other
+ * against sheets read in parallel, one task per core, against in-memory
+ * repositories.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelUploadBenchmark {
+
+    @Param({ "50" })
+    public int sheetCount;
+
+    @Param({ "1000" })
+    public int rowsPerSheet;
+
+    private MockMultipartFile file;
+    private ForkJoinPool pool;
+    private BulkUploadService bulkUploadService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = LargeExcelFileGenerator.generateExcelFile(sheetCount, rowsPerSheet);
+        // The generated sheets are named Course0, Course1, ...
+        List<Course> courses = new ArrayList<>();
+        for (int s = 0; s < sheetCount; s++) {
+            courses.add(new Course((long) s, "Course" + s, "BASIC"));
+        }
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        TopicRepository topicRepository = InMemoryRepositories.topicRepository(Map.of());
+        bulkUploadService = new BulkUploadService(InMemoryRepositories.courseRepository(courses), topicRepository,
+                new TransactionTemplate(new NoTransactionManager()), pool,
+                new CatalogCache(new ConcurrentMapCacheManager()), new UploadMetrics(new SimpleMeterRegistry()),
+                new TopicSearchIndex(topicRepository), List.of());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public UploadResultDTO uploadSequential() {
+        return bulkUploadService.uploadFileStreaming(file);
+    }
+
+    @Benchmark
+    public UploadResultDTO uploadParallel() {
+        return bulkUploadService.uploadFileParallel(file, UploadFailureMode.ALL_OR_NOTHING);
+    }
+
+    /**
+     * A transaction manager whose transactions do nothing, as the in-memory
+     * repositories need none.
+     */
+    private static class NoTransactionManager implements PlatformTransactionManager {
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+            // Nothing to commit
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+            // Nothing to roll back
+        }
+    }
+}
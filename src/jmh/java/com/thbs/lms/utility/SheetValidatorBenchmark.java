@@ -0,0 +1,61 @@
+package com.thbs.lms.utility;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the validation of the sheet format of an uploaded workbook. The
+ * workbook is generated and parsed once per trial, so only the validation is
+ * timed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SheetValidatorBenchmark {
+
+    @Param({ "1", "10" })
+    public int sheetCount;
+
+    @Param({ "100", "5000" })
+    public int rowsPerSheet;
+
+    private Workbook workbook;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        workbook = WorkbookFactory.create(
+                LargeExcelFileGenerator.generateExcelFile(sheetCount, rowsPerSheet).getInputStream());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        workbook.close();
+    }
+
+    @Benchmark
+    public void isValidSheetFormat(Blackhole blackhole) {
+        for (int i = 0; i < workbook.getNumberOfSheets(); i++) {
+            blackhole.consume(SheetValidator.isValidSheetFormat(workbook.getSheetAt(i)));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.thbs.lms.utility;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures reading the rows of an uploaded workbook with the DOM API against
+ * the streaming reader. Run with {@code -prof gc} to compare the memory
+ * allocated by each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorkbookReadBenchmark {
+
+    @Param({ "1000", "5000" })
+    public int rowsPerSheet;
+
+    private File file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("lms-benchmark-", ".xlsx").toFile();
+        LargeExcelFileGenerator.generateExcelFile(4, rowsPerSheet).transferTo(file);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file.toPath());
+    }
+
+    @Benchmark
+    public void readDom(Blackhole blackhole) throws IOException {
+        try (Workbook workbook = WorkbookFactory.create(file, null, true)) {
+            for (Sheet sheet : workbook) {
+                for (Row row : sheet) {
+                    blackhole.consume(row.getCell(0));
+                    blackhole.consume(row.getCell(1));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void readStreaming(Blackhole blackhole) throws IOException {
+        StreamingWorkbookReader.readSheets(file, blackhole::consume);
+    }
+}
@@ -0,0 +1,30 @@
+package com.thbs.lms.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The {@code CacheConfig} class enables the read-through caches for course,
+ * topic and batch lookups. The caches themselves are Caffeine caches configured through
+ * the {@code spring.cache.*} properties, which bound their size and expire
+ * entries after a fixed time.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * The cache of courses, keyed by course ID.
+     */
+    public static final String COURSES = "courses";
+
+    /**
+     * The cache of the topics of a course, keyed by course ID.
+     */
+    public static final String TOPICS_BY_COURSE = "topicsByCourse";
+
+    /**
+     * The cache of the learning plan ID of a batch, keyed by batch ID.
+     */
+    public static final String LEARNING_PLAN_IDS_BY_BATCH = "learningPlanIdsByBatch";
+}
@@ -0,0 +1,36 @@
+package com.thbs.lms.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * The {@code MetricsConfig} class enables {@link io.micrometer.core.annotation.Timed}
+ * on the service classes, which records a timer with {@code class},
+ * {@code method} and {@code exception} tags for every public method call.
+ * Repository calls are timed by Spring Boot as
+ * {@code spring.data.repository.invocations}, and all meters are exposed
+ * through the actuator {@code prometheus} endpoint.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * The name of the timer recorded for service method calls.
+     */
+    public static final String SERVICE_TIMER = "lms.service";
+
+    /**
+     * Creates the aspect that records the timers of {@code @Timed} classes and
+     * methods.
+     *
+     * @param meterRegistry the registry to record the timers in
+     * @return the timed aspect
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
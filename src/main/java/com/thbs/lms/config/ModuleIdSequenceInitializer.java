@@ -0,0 +1,87 @@
+package com.thbs.lms.config;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * The {@code ModuleIdSequenceInitializer} class moves the module ID sequence
+ * past the IDs already stored, before the application serves requests.
+ * Module IDs used to be assigned by the database ({@code AUTO_INCREMENT}) and
+ * are now allocated from the {@code sequence-generator-module} sequence, or on
+ * MySQL from the table of the same name. Without this step the sequence would
+ * start at its initial value and hand out IDs that existing modules already
+ * have. Once the sequence is past every stored ID, as it stays after the first
+ * start, nothing is changed.
+ */
+@Component
+public class ModuleIdSequenceInitializer implements SmartInitializingSingleton {
+
+    /**
+     * The name of the sequence, or sequence table, of module IDs.
+     */
+    public static final String SEQUENCE_NAME = "sequence-generator-module";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Constructs a new instance of {@code ModuleIdSequenceInitializer}.
+     *
+     * @param entityManagerFactory the factory of the persistence unit
+     * @param entityManager        the shared entity manager
+     * @param transactionManager   the transaction manager
+     */
+    @Autowired
+    public ModuleIdSequenceInitializer(EntityManagerFactory entityManagerFactory, EntityManager entityManager,
+            PlatformTransactionManager transactionManager) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Moves the sequence past the highest stored module ID, once every bean,
+     * including the schema update, is initialized.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        transactionTemplate.executeWithoutResult(status -> initialize());
+    }
+
+    private void initialize() {
+        Long maxModuleId = entityManager.createQuery("select max(m.moduleId) from Module m", Long.class)
+                .getSingleResult();
+        if (maxModuleId == null) {
+            return;
+        }
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices()
+                .getDialect();
+        String sequence = dialect.quote("`" + SEQUENCE_NAME + "`");
+        long nextModuleId = maxModuleId + 1;
+        if (dialect.getSequenceSupport().supportsSequences()) {
+            // Reading the next value skips one block of IDs, which is harmless
+            Number next = (Number) entityManager
+                    .createNativeQuery(dialect.getSequenceSupport().getSequenceNextValString(sequence))
+                    .getSingleResult();
+            if (next.longValue() <= maxModuleId) {
+                entityManager.createNativeQuery("alter sequence " + sequence + " restart with " + nextModuleId)
+                        .executeUpdate();
+            }
+        } else {
+            // The table holds the next value to hand out in its only row
+            entityManager.createNativeQuery("update " + sequence + " set next_val = ?1 where next_val <= ?2")
+                    .setParameter(1, nextModuleId)
+                    .setParameter(2, maxModuleId)
+                    .executeUpdate();
+        }
+    }
+}
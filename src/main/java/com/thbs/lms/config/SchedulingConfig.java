@@ -0,0 +1,13 @@
+package com.thbs.lms.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * The {@code SchedulingConfig} class enables {@code @Scheduled} methods, such
+ * as the periodic refresh of the reminder snapshot.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
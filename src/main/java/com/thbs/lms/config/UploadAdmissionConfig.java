@@ -0,0 +1,53 @@
+package com.thbs.lms.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * The {@code UploadAdmissionConfig} class limits how many bulk uploads are
+ * handled at once, so that a burst of large uploads cannot exhaust the heap
+ * or the temporary directory.
+ */
+@Configuration
+public class UploadAdmissionConfig implements WebMvcConfigurer {
+
+    private final UploadAdmissionInterceptor uploadAdmissionInterceptor;
+
+    /**
+     * Constructs a new instance of {@code UploadAdmissionConfig}.
+     *
+     * @param maxConcurrentUploads the number of uploads handled at once
+     * @param retryAfter           how long rejected clients are asked to wait
+     *                             before retrying
+     */
+    public UploadAdmissionConfig(@Value("${lms.upload.max-concurrent:4}") int maxConcurrentUploads,
+            @Value("${lms.upload.retry-after:PT30S}") Duration retryAfter) {
+        this.uploadAdmissionInterceptor = new UploadAdmissionInterceptor(maxConcurrentUploads, retryAfter);
+    }
+
+    /**
+     * Exposes the interceptor that admits uploads.
+     *
+     * @return the upload admission interceptor
+     */
+    @Bean
+    public UploadAdmissionInterceptor uploadAdmissionInterceptor() {
+        return uploadAdmissionInterceptor;
+    }
+
+    /**
+     * Applies the admission limit to every upload endpoint except the polling of
+     * upload jobs.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(uploadAdmissionInterceptor)
+                .addPathPatterns("/course/upload", "/course/upload/**")
+                .excludePathPatterns("/course/upload/jobs/**");
+    }
+}
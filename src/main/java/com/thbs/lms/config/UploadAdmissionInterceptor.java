@@ -0,0 +1,106 @@
+package com.thbs.lms.config;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.thbs.lms.exception.TooManyUploadsException;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * The {@code UploadAdmissionInterceptor} class caps the number of bulk
+ * uploads handled at once with a semaphore.
+ * A permit is taken before the handler runs. Multipart requests are resolved
+ * lazily, so a rejected upload is never spooled to disk or parsed. Uploads
+ * beyond the limit are rejected at once, with a hint of when to retry,
+ * instead of queueing and holding their request bodies.
+ * An upload processed in the background after the request completes takes
+ * the permit over with {@link #takePermit(HttpServletRequest)}, so that
+ * background jobs count towards the limit until they finish.
+ */
+public class UploadAdmissionInterceptor implements HandlerInterceptor {
+
+    private static final String TOO_MANY_UPLOADS_MSG = "Too many uploads in progress. Please retry later.";
+    private static final String PERMIT_ATTRIBUTE = UploadAdmissionInterceptor.class.getName() + ".PERMIT";
+
+    private final Semaphore permits;
+    private final Duration retryAfter;
+
+    /**
+     * Constructs a new instance of {@code UploadAdmissionInterceptor} with the
+     * specified limit.
+     *
+     * @param maxConcurrentUploads The number of uploads handled at once.
+     * @param retryAfter           How long rejected clients are asked to wait
+     *                             before retrying.
+     */
+    public UploadAdmissionInterceptor(int maxConcurrentUploads, Duration retryAfter) {
+        this.permits = new Semaphore(maxConcurrentUploads);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Admits the upload if a permit is free. Requests other than uploads, such
+     * as CORS preflight requests, are always admitted.
+     *
+     * @throws TooManyUploadsException If every permit is taken.
+     */
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.POST.matches(request.getMethod())) {
+            return true;
+        }
+        if (!permits.tryAcquire()) {
+            throw new TooManyUploadsException(TOO_MANY_UPLOADS_MSG, retryAfter);
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        };
+        request.setAttribute(PERMIT_ATTRIBUTE, release);
+        return true;
+    }
+
+    /**
+     * Releases the permit of an admitted upload, whether or not it succeeded.
+     */
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        takePermit(request).run();
+    }
+
+    /**
+     * Takes the permit of an admitted upload away from the request, so that it
+     * is not released when the request completes but by the returned task.
+     *
+     * @param request The upload request.
+     * @return The task that releases the permit once; it does nothing if the
+     *         request holds no permit.
+     */
+    public static Runnable takePermit(HttpServletRequest request) {
+        Object release = request.getAttribute(PERMIT_ATTRIBUTE);
+        if (release == null) {
+            return () -> {
+            };
+        }
+        request.removeAttribute(PERMIT_ATTRIBUTE);
+        return (Runnable) release;
+    }
+
+    /**
+     * Retrieves the number of uploads that can still be admitted.
+     *
+     * @return The number of free permits.
+     */
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+}
@@ -0,0 +1,62 @@
+package com.thbs.lms.config;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * The {@code UploadExecutorConfig} class configures the bounded thread pools
+ * used by bulk uploads: one for asynchronous upload jobs and one for parsing
+ * sheets in parallel.
+ */
+@Configuration
+public class UploadExecutorConfig {
+
+    /**
+     * Creates the executor for upload jobs. Submissions beyond the pool size and
+     * queue capacity are rejected rather than queued without limit.
+     * When virtual threads are enabled on Java 21 or later, the pool creates
+     * its workers as virtual threads; the pool size still caps how many
+     * workbooks are processed at once. As with Spring Boot's own executors, the
+     * setting is ignored on older runtimes.
+     *
+     * @param poolSize       the number of worker threads
+     * @param queueCapacity  the number of jobs that may wait for a worker
+     * @param virtualThreads whether to run the jobs on virtual threads, which
+     *                       requires Java 21
+     * @return the upload executor
+     */
+    @Bean
+    public ThreadPoolTaskExecutor uploadExecutor(@Value("${lms.upload.pool-size:2}") int poolSize,
+            @Value("${lms.upload.queue-capacity:20}") int queueCapacity,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("upload-");
+        if (virtualThreads && Runtime.version().feature() >= 21) {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor("upload-").getVirtualThreadFactory());
+        }
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        return executor;
+    }
+
+    /**
+     * Creates the pool that parses and validates the sheets of a workbook in
+     * parallel.
+     *
+     * @param parallelism the number of worker threads, or {@code 0} to use one
+     *                    per available processor
+     * @return the sheet processing pool
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool sheetProcessingPool(@Value("${lms.upload.sheet-parallelism:0}") int parallelism) {
+        return new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+}
@@ -1,16 +1,33 @@
 package com.thbs.lms.controller;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import com.thbs.lms.config.UploadAdmissionInterceptor;
+import com.thbs.lms.dto.BatchResultDTO;
 import com.thbs.lms.dto.CourseDTO;
+import com.thbs.lms.dto.PageDTO;
+import com.thbs.lms.dto.UploadDeltaDTO;
+import com.thbs.lms.dto.UploadFailureMode;
+import com.thbs.lms.dto.UploadJobDTO;
+import com.thbs.lms.dto.UploadResultDTO;
 import com.thbs.lms.model.Course;
 import com.thbs.lms.service.BulkUploadService;
+import com.thbs.lms.service.CourseExportService;
 import com.thbs.lms.service.CourseService;
+import com.thbs.lms.service.UploadJobService;
+import com.thbs.lms.service.UploadLedgerService;
 
 /**
  * The {@code CourseController} class handles HTTP requests related to courses.
@@ -32,17 +49,40 @@ public class CourseController {
      */
     private final BulkUploadService bulkUploadService;
 
+    /**
+     * The service responsible for running bulk uploads in the background.
+     */
+    private final UploadJobService uploadJobService;
+
+    /**
+     * The service responsible for exporting the course catalog.
+     */
+    private final CourseExportService courseExportService;
+
+    /**
+     * The service responsible for processing each upload only once.
+     */
+    private final UploadLedgerService uploadLedgerService;
+
     /**
      * Constructs a new {@code CourseController} with the specified
      * {@code CourseService}.
      *
-     * @param courseService     the course service
-     * @param bulkUploadService the bulk upload service
+     * @param courseService       the course service
+     * @param bulkUploadService   the bulk upload service
+     * @param uploadJobService    the upload job service
+     * @param courseExportService the course export service
+     * @param uploadLedgerService the upload ledger service
      */
     @Autowired
-    public CourseController(CourseService courseService, BulkUploadService bulkUploadService) {
+    public CourseController(CourseService courseService, BulkUploadService bulkUploadService,
+            UploadJobService uploadJobService, CourseExportService courseExportService,
+            UploadLedgerService uploadLedgerService) {
         this.courseService = courseService;
         this.bulkUploadService = bulkUploadService;
+        this.uploadJobService = uploadJobService;
+        this.courseExportService = courseExportService;
+        this.uploadLedgerService = uploadLedgerService;
     }
 
     /**
@@ -58,17 +98,132 @@ public class CourseController {
     }
 
     /**
-     * Handles bulk upload functionality.
+     * Adds multiple courses.
+     *
+     * @param courses the courses to add
+     * @return a response entity containing a list of added courses
+     */
+    @PostMapping("/multiple")
+    public ResponseEntity<List<Course>> addCourses(@RequestBody List<Course> courses) {
+        List<Course> addedCourses = courseService.saveCourses(courses);
+        return ResponseEntity.ok().body(addedCourses);
+    }
+
+    /**
+     * Adds multiple courses all or nothing, reporting the outcome of each.
+     *
+     * @param courses the courses to add
+     * @return a response entity containing the outcome of each course, with
+     *         status 422 if none was added because some were rejected
+     */
+    @PostMapping("/multiple/batch")
+    public ResponseEntity<BatchResultDTO<Course>> addCoursesInBatch(@RequestBody List<Course> courses) {
+        BatchResultDTO<Course> result = courseService.saveCoursesInBatch(courses);
+        return ResponseEntity.status(result.isSaved() ? HttpStatus.OK : HttpStatus.UNPROCESSABLE_ENTITY).body(result);
+    }
+
+    /**
+     * Handles bulk upload functionality. Retries of an upload, identified by
+     * the {@code Idempotency-Key} header or else, shortly after the first
+     * upload, by the file content, are not processed again.
      *
-     * @param file the file to upload
+     * @param file           the file to upload
+     * @param idempotencyKey the client's key for the upload, if any
      * @return a response entity indicating the success of the upload operation
      */
     @PostMapping("/upload")
-    public ResponseEntity<String> uploadFile(@RequestParam("file") MultipartFile file) {
-        bulkUploadService.uploadFile(file);
+    public ResponseEntity<String> uploadFile(@RequestParam("file") MultipartFile file,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        uploadLedgerService.upload(file, idempotencyKey);
+        return ResponseEntity.ok().body("File uploaded successfully.");
+    }
+
+    /**
+     * Handles bulk upload of large workbooks using the streaming reader, which
+     * keeps only one sheet in memory at a time.
+     *
+     * @param file the .xlsx file to upload
+     * @return a response entity indicating the success of the upload operation
+     */
+    @PostMapping("/upload/stream")
+    public ResponseEntity<String> uploadFileStreaming(@RequestParam("file") MultipartFile file) {
+        bulkUploadService.uploadFileStreaming(file);
         return ResponseEntity.ok().body("File uploaded successfully.");
     }
 
+    /**
+     * Handles bulk upload of multi-course workbooks by reading and validating the
+     * sheets in parallel.
+     *
+     * @param file        the .xlsx file to upload
+     * @param failureMode whether a failing sheet aborts the whole upload or is
+     *                    skipped
+     * @return a response entity containing the upload result
+     */
+    @PostMapping("/upload/parallel")
+    public ResponseEntity<UploadResultDTO> uploadFileParallel(@RequestParam("file") MultipartFile file,
+            @RequestParam(value = "failureMode", defaultValue = "ALL_OR_NOTHING") UploadFailureMode failureMode) {
+        UploadResultDTO result = bulkUploadService.uploadFileParallel(file, failureMode);
+        return ResponseEntity.ok().body(result);
+    }
+
+    /**
+     * Handles re-uploads of a workbook by applying only the differences from
+     * the stored topics of each course.
+     *
+     * @param file          the .xlsx file to upload
+     * @param deleteMissing whether to delete the topics that a sheet no longer
+     *                      lists
+     * @return a response entity containing the changes made to each course
+     */
+    @PostMapping("/upload/delta")
+    public ResponseEntity<UploadDeltaDTO> uploadFileDelta(@RequestParam("file") MultipartFile file,
+            @RequestParam(value = "deleteMissing", defaultValue = "false") boolean deleteMissing) {
+        UploadDeltaDTO result = bulkUploadService.uploadFileDelta(file, deleteMissing);
+        return ResponseEntity.ok().body(result);
+    }
+
+    /**
+     * Handles bulk upload of topics from an Excel, CSV or NDJSON file, chosen by
+     * the content type or extension of the file.
+     *
+     * @param file the .xlsx, .csv or .ndjson file to upload
+     * @return a response entity containing the upload result
+     */
+    @PostMapping("/upload/ingest")
+    public ResponseEntity<UploadResultDTO> uploadFileIngest(@RequestParam("file") MultipartFile file) {
+        UploadResultDTO result = bulkUploadService.uploadFileIngest(file);
+        return ResponseEntity.ok().body(result);
+    }
+
+    /**
+     * Accepts a file for bulk upload in the background and returns the job that
+     * processes it. The job keeps the admission permit of the upload until it
+     * finishes.
+     *
+     * @param file    the .xlsx file to upload
+     * @param request the upload request
+     * @return a response entity containing the queued upload job
+     */
+    @PostMapping("/upload/async")
+    public ResponseEntity<UploadJobDTO> submitUpload(@RequestParam("file") MultipartFile file,
+            HttpServletRequest request) {
+        UploadJobDTO job = uploadJobService.submit(file, UploadAdmissionInterceptor.takePermit(request));
+        return ResponseEntity.accepted().body(job);
+    }
+
+    /**
+     * Retrieves the status and progress of a background upload job.
+     *
+     * @param jobId the ID of the upload job
+     * @return a response entity containing the upload job
+     */
+    @GetMapping("/upload/jobs/{jobId}")
+    public ResponseEntity<UploadJobDTO> getUploadJob(@PathVariable String jobId) {
+        UploadJobDTO job = uploadJobService.getJob(jobId);
+        return ResponseEntity.ok().body(job);
+    }
+
     /**
      * Retrieves all courses.
      *
@@ -80,6 +235,26 @@ public class CourseController {
         return ResponseEntity.ok().body(courses);
     }
 
+    /**
+     * Retrieves one page of courses, ordered by ID. This mapping applies when
+     * {@code size} is given; without it the full list is returned. When
+     * {@code after} is given the page starts after that course ID, which avoids
+     * an offset scan; otherwise {@code page} selects the page by number.
+     *
+     * @param page  the zero-based page number, ignored when {@code after} is
+     *              given
+     * @param after the course ID after which the page starts
+     * @param size  the page size
+     * @return a response entity containing the page and its next cursor
+     */
+    @GetMapping(params = "size")
+    public ResponseEntity<PageDTO<Course>> getCoursesPage(@RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Long after, @RequestParam int size) {
+        PageDTO<Course> courses = after == null ? courseService.getCoursesPage(page, size)
+                : courseService.getCoursesAfter(after, size);
+        return ResponseEntity.ok().body(courses);
+    }
+
     /**
      * Retrieves a course by its ID.
      *
@@ -115,6 +290,21 @@ public class CourseController {
         return ResponseEntity.ok().body(courseDTOs);
     }
 
+    /**
+     * Exports all course DTOs as newline-delimited JSON, one course per line.
+     * Courses are written to the response as they are read from the database,
+     * so the catalog is never held in memory as a whole.
+     *
+     * @param response the response to write the courses to
+     * @throws IOException if writing to the response fails
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportCourseDTOs(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        courseExportService.exportCourseDTOs(response.getOutputStream());
+    }
+
     /**
      * Updates the name of a course.
      *
@@ -144,11 +334,11 @@ public class CourseController {
      * Deletes multiple courses.
      *
      * @param courses the list of courses to delete
-     * @return a response entity indicating the success of the deletion operation
+     * @return a response entity reporting the number of courses deleted
      */
     @DeleteMapping("/multiple")
     public ResponseEntity<String> deleteCourses(@RequestBody List<Course> courses) {
-        courseService.deleteMultipleCourses(courses);
-        return ResponseEntity.ok().body("Courses deleted successfully");
+        int deleted = courseService.deleteMultipleCourses(courses);
+        return ResponseEntity.ok().body(deleted + " courses deleted successfully");
     }
 }
@@ -1,13 +1,17 @@
 package com.thbs.lms.controller;
 
+import com.thbs.lms.dto.LearningPlanDTO;
+import com.thbs.lms.dto.PageDTO;
 import com.thbs.lms.model.LearningPlan;
 import com.thbs.lms.service.LearningPlanService;
+import com.thbs.lms.service.LearningPlanTreeService;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -22,10 +26,13 @@ import java.util.Set;
 public class LearningPlanController {
 
     private final LearningPlanService learningPlanService;
+    private final LearningPlanTreeService learningPlanTreeService;
 
     @Autowired
-    public LearningPlanController(LearningPlanService learningPlanService) {
+    public LearningPlanController(LearningPlanService learningPlanService,
+            LearningPlanTreeService learningPlanTreeService) {
         this.learningPlanService = learningPlanService;
+        this.learningPlanTreeService = learningPlanTreeService;
     }
 
     /**
@@ -51,6 +58,57 @@ public class LearningPlanController {
         return ResponseEntity.ok().body(learningPlans);
     }
 
+    /**
+     * Retrieves one page of learning plans, ordered by ID. This mapping
+     * applies when {@code size} is given; without it the full list is
+     * returned. When {@code after} is given the page starts after that
+     * learning plan ID, which avoids an offset scan; otherwise {@code page}
+     * selects the page by number.
+     *
+     * @param page  the zero-based page number, ignored when {@code after} is
+     *              given
+     * @param after the learning plan ID after which the page starts
+     * @param size  the page size
+     * @return a response entity containing the page and its next cursor
+     */
+    @GetMapping(params = "size")
+    public ResponseEntity<PageDTO<LearningPlan>> getLearningPlansPage(@RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Long after, @RequestParam int size) {
+        PageDTO<LearningPlan> learningPlans = after == null ? learningPlanService.getLearningPlansPage(page, size)
+                : learningPlanService.getLearningPlansAfter(after, size);
+        return ResponseEntity.ok().body(learningPlans);
+    }
+
+    /**
+     * Retrieves learning plans as trees of their paths, courses and topics.
+     *
+     * @param ids the IDs of the learning plans, or none for the first 1000
+     *            learning plans
+     * @return a response entity containing the learning plan trees, ordered by
+     *         learning plan ID
+     */
+    @GetMapping("/tree")
+    public ResponseEntity<List<LearningPlanDTO>> getLearningPlanTrees(
+            @RequestParam(required = false) List<Long> ids) {
+        List<LearningPlanDTO> trees = learningPlanTreeService.getLearningPlanTrees(ids);
+        return ResponseEntity.ok().body(trees);
+    }
+
+    /**
+     * Retrieves one page of learning plan trees, ordered by learning plan ID.
+     * This mapping applies when {@code size} is given.
+     *
+     * @param after the learning plan ID after which the page starts
+     * @param size  the page size
+     * @return a response entity containing the page and its next cursor
+     */
+    @GetMapping(value = "/tree", params = "size")
+    public ResponseEntity<PageDTO<LearningPlanDTO>> getLearningPlanTreesPage(
+            @RequestParam(defaultValue = "0") long after, @RequestParam int size) {
+        PageDTO<LearningPlanDTO> trees = learningPlanTreeService.getLearningPlanTreesAfter(after, size);
+        return ResponseEntity.ok().body(trees);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<LearningPlan> getLearningPlanById(@PathVariable Long id) {
         LearningPlan learningPlan = learningPlanService.getLearningPlanById(id);
@@ -83,6 +141,19 @@ public class LearningPlanController {
         return ResponseEntity.ok().body(learningPlan);
     }
 
+    /**
+     * Retrieves the learning plans of many batches in one call.
+     *
+     * @param batchIds the batch IDs, at most 1000
+     * @return a response entity containing the learning plan of each batch
+     *         that has one, keyed by batch ID
+     */
+    @PostMapping("/batches")
+    public ResponseEntity<Map<Long, LearningPlan>> getLearningPlansByBatchIds(@RequestBody List<Long> batchIds) {
+        Map<Long, LearningPlan> learningPlans = learningPlanService.getLearningPlansByBatchIds(batchIds);
+        return ResponseEntity.ok().body(learningPlans);
+    }
+
     @PutMapping("/{id}/update-name")
     public ResponseEntity<LearningPlan> updateLearningPlanName(@PathVariable Long id, @RequestBody String newName) {
         LearningPlan updatedLearningPlan = learningPlanService.updateLearningPlanName(id, newName);
@@ -2,13 +2,18 @@ package com.thbs.lms.controller;
 
 import org.springframework.web.bind.annotation.*;
 
+import com.thbs.lms.dto.BatchResultDTO;
+import com.thbs.lms.dto.PageDTO;
 import com.thbs.lms.model.Module;
 import com.thbs.lms.service.ModuleService;
 import com.thbs.lms.utility.DateRange;
 
+import java.util.Date;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 /**
@@ -64,6 +69,19 @@ public class ModuleController {
         return ResponseEntity.ok().body(createdModules);
     }
 
+    /**
+     * Adds multiple modules all or nothing, reporting the outcome of each.
+     *
+     * @param modules the modules to add
+     * @return a response entity containing the outcome of each module, with
+     *         status 422 if none was added because some were rejected
+     */
+    @PostMapping("/multiple/batch")
+    public ResponseEntity<BatchResultDTO<Module>> createModulesInBatch(@RequestBody List<Module> modules) {
+        BatchResultDTO<Module> result = moduleService.saveModulesInBatch(modules);
+        return ResponseEntity.status(result.isSaved() ? HttpStatus.OK : HttpStatus.UNPROCESSABLE_ENTITY).body(result);
+    }
+
     /**
      * Retrieves all modules.
      *
@@ -75,6 +93,26 @@ public class ModuleController {
         return ResponseEntity.ok().body(modules);
     }
 
+    /**
+     * Retrieves one page of modules, ordered by ID. This mapping applies when
+     * {@code size} is given; without it the full list is returned. When
+     * {@code after} is given the page starts after that module ID, which avoids
+     * an offset scan; otherwise {@code page} selects the page by number.
+     *
+     * @param page  the zero-based page number, ignored when {@code after} is
+     *              given
+     * @param after the module ID after which the page starts
+     * @param size  the page size
+     * @return a response entity containing the page and its next cursor
+     */
+    @GetMapping(params = "size")
+    public ResponseEntity<PageDTO<Module>> getModulesPage(@RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Long after, @RequestParam int size) {
+        PageDTO<Module> modules = after == null ? moduleService.getModulesPage(page, size)
+                : moduleService.getModulesAfter(after, size);
+        return ResponseEntity.ok().body(modules);
+    }
+
     /**
      * Retrieves all modules associated with a particular learning plan ID.
      *
@@ -101,6 +139,22 @@ public class ModuleController {
         return ResponseEntity.ok().body(modules);
     }
 
+    /**
+     * Retrieves the trainers who have no module between two dates, both
+     * inclusive.
+     *
+     * @param startDate the first day of the period, as {@code yyyy-MM-dd}
+     * @param endDate   the last day of the period, as {@code yyyy-MM-dd}
+     * @return a response entity containing the names of the free trainers
+     */
+    @GetMapping("/trainers/free")
+    public ResponseEntity<List<String>> getFreeTrainers(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date endDate) {
+        List<String> trainers = moduleService.getFreeTrainers(startDate, endDate);
+        return ResponseEntity.ok().body(trainers);
+    }
+
     /**
      * Updates the trainer for a particular module.
      *
@@ -141,4 +195,17 @@ public class ModuleController {
         return ResponseEntity.ok().body("Module deleted successfully");
     }
 
+    /**
+     * Deletes all modules of a learning plan.
+     *
+     * @param learningPlanId the ID of the learning plan whose modules are to be
+     *                       deleted
+     * @return a response entity reporting the number of modules deleted
+     */
+    @DeleteMapping("/learning-plan-id/{learningPlanId}")
+    public ResponseEntity<String> deleteModulesByLearningPlanId(@PathVariable Long learningPlanId) {
+        int deleted = moduleService.deleteModulesByLearningPlanId(learningPlanId);
+        return ResponseEntity.ok().body(deleted + " modules deleted successfully");
+    }
+
 }
\ No newline at end of file
@@ -1,24 +1,45 @@
-// package com.thbs.lms.controller;
+package com.thbs.lms.controller;
 
-// import java.util.List;
+import java.util.List;
 
-// import org.springframework.beans.factory.annotation.Autowired;
-// import org.springframework.web.bind.annotation.GetMapping;
-// import org.springframework.web.bind.annotation.RequestMapping;
-// import org.springframework.web.bind.annotation.RestController;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
 
-// import com.thbs.lms.dto.ReminderDTO;
-// import com.thbs.lms.service.ReminderService;
+import com.thbs.lms.dto.ReminderDTO;
+import com.thbs.lms.service.ReminderService;
 
-// @RestController
-// @RequestMapping("/reminder")
-// public class ReminderController {
+/**
+ * The {@code ReminderController} class handles HTTP requests related to
+ * reminders of modules that end soon.
+ */
+@RestController
+@RequestMapping("/reminder")
+public class ReminderController {
 
-//     @Autowired
-//     private ReminderService reminderService;
+    private final ReminderService reminderService;
 
-//     @GetMapping
-//     public List<ReminderDTO> generateReminders() {
-//         return reminderService.generateReminders();
-//     }
-// }
+    /**
+     * Constructs a new {@code ReminderController} with the specified service.
+     *
+     * @param reminderService the reminder service
+     */
+    @Autowired
+    public ReminderController(ReminderService reminderService) {
+        this.reminderService = reminderService;
+    }
+
+    /**
+     * Retrieves the reminders of the modules ending between today and the end
+     * of the reminder horizon, ordered by end date.
+     *
+     * @return a response entity containing the due reminders
+     */
+    @GetMapping
+    public ResponseEntity<List<ReminderDTO>> generateReminders() {
+        List<ReminderDTO> reminders = reminderService.generateReminders();
+        return ResponseEntity.ok().body(reminders);
+    }
+}
@@ -1,11 +1,15 @@
 package com.thbs.lms.controller;
 
+import com.thbs.lms.dto.BatchResultDTO;
+import com.thbs.lms.dto.PageDTO;
+import com.thbs.lms.dto.TopicSearchHitDTO;
 import com.thbs.lms.model.Course;
 import com.thbs.lms.model.Topic;
 import com.thbs.lms.service.CourseService;
 import com.thbs.lms.service.TopicService;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -66,6 +70,19 @@ public class TopicController {
         return ResponseEntity.ok().body(addedTopics);
     }
 
+    /**
+     * Adds multiple topics all or nothing, reporting the outcome of each.
+     *
+     * @param topics the topics to add
+     * @return a response entity containing the outcome of each topic, with
+     *         status 422 if none was added because some were rejected
+     */
+    @PostMapping("/multiple/batch")
+    public ResponseEntity<BatchResultDTO<Topic>> addTopicsInBatch(@RequestBody List<Topic> topics) {
+        BatchResultDTO<Topic> result = topicService.addTopicsInBatch(topics);
+        return ResponseEntity.status(result.isSaved() ? HttpStatus.OK : HttpStatus.UNPROCESSABLE_ENTITY).body(result);
+    }
+
     /**
      * Retrieves all topics.
      *
@@ -77,6 +94,42 @@ public class TopicController {
         return ResponseEntity.ok().body(topics);
     }
 
+    /**
+     * Retrieves one page of topics, ordered by ID. This mapping applies when
+     * {@code size} is given; without it the full list is returned. When
+     * {@code after} is given the page starts after that topic ID, which avoids
+     * an offset scan; otherwise {@code page} selects the page by number.
+     *
+     * @param page  the zero-based page number, ignored when {@code after} is
+     *              given
+     * @param after the topic ID after which the page starts
+     * @param size  the page size
+     * @return a response entity containing the page and its next cursor
+     */
+    @GetMapping(params = "size")
+    public ResponseEntity<PageDTO<Topic>> getTopicsPage(@RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Long after, @RequestParam int size) {
+        PageDTO<Topic> topics = after == null ? topicService.getTopicsPage(page, size)
+                : topicService.getTopicsAfter(after, size);
+        return ResponseEntity.ok().body(topics);
+    }
+
+    /**
+     * Searches the names and descriptions of all topics for every word of a
+     * query, most relevant first.
+     *
+     * @param query the words to search for
+     * @param page  the zero-based page number
+     * @param size  the page size
+     * @return a response entity containing the page of matching topics
+     */
+    @GetMapping("/search")
+    public ResponseEntity<PageDTO<TopicSearchHitDTO>> searchTopics(@RequestParam("q") String query,
+            @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "20") int size) {
+        PageDTO<TopicSearchHitDTO> hits = topicService.searchTopics(query, page, size);
+        return ResponseEntity.ok().body(hits);
+    }
+
     /**
      * Retrieves a topic by its ID.
      *
@@ -145,11 +198,23 @@ public class TopicController {
      * Deletes multiple topics.
      *
      * @param topics the topics to delete
-     * @return a response entity indicating the success of the deletion operation
+     * @return a response entity reporting the number of topics deleted
      */
     @DeleteMapping("/multiple")
     public ResponseEntity<String> deleteTopics(@RequestBody List<Topic> topics) {
-        topicService.deleteTopics(topics);
-        return ResponseEntity.ok().body("Topics deleted successfully.");
+        int deleted = topicService.deleteTopics(topics);
+        return ResponseEntity.ok().body(deleted + " topics deleted successfully.");
+    }
+
+    /**
+     * Deletes all topics of a course.
+     *
+     * @param courseId the ID of the course whose topics are to be deleted
+     * @return a response entity reporting the number of topics deleted
+     */
+    @DeleteMapping("/course/{courseId}")
+    public ResponseEntity<String> deleteTopicsByCourse(@PathVariable Long courseId) {
+        int deleted = topicService.deleteTopicsByCourseIds(List.of(courseId));
+        return ResponseEntity.ok().body(deleted + " topics deleted successfully.");
     }
 }
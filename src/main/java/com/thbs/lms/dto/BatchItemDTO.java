@@ -0,0 +1,39 @@
+package com.thbs.lms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * The {@code BatchItemDTO} class represents a data transfer object (DTO) for
+ * the outcome of one item of a batch request.
+ *
+ * @param <T> the type of the item
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemDTO<T> {
+
+    /**
+     * The zero-based position of the item in the request.
+     */
+    private int index;
+
+    /**
+     * The outcome of the item.
+     */
+    private BatchItemStatus status;
+
+    /**
+     * The reason the item was not saved, or {@code null} if it was saved.
+     */
+    private String message;
+
+    /**
+     * The saved item, or the item as submitted if it was not saved.
+     */
+    private T item;
+}
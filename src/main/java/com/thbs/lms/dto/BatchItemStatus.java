@@ -0,0 +1,29 @@
+package com.thbs.lms.dto;
+
+/**
+ * The {@code BatchItemStatus} enum lists the outcomes of an item of a batch
+ * request.
+ */
+public enum BatchItemStatus {
+    /**
+     * The item was saved.
+     */
+    SAVED,
+
+    /**
+     * The item has missing or invalid data.
+     */
+    INVALID,
+
+    /**
+     * The item already exists, appears twice in the request, or conflicts
+     * with an existing entry.
+     */
+    DUPLICATE,
+
+    /**
+     * The item is valid but was not saved because other items of the batch
+     * were rejected.
+     */
+    NOT_SAVED
+}
@@ -0,0 +1,49 @@
+package com.thbs.lms.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * The {@code BatchResultDTO} class represents a data transfer object (DTO) for
+ * the outcome of a batch request.
+ * Batches are saved all or nothing: either every item was saved, or none was
+ * and the items list the reason each rejected item was refused.
+ *
+ * @param <T> the type of the items in the batch
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResultDTO<T> {
+
+    /**
+     * Whether the items were saved.
+     */
+    private boolean saved;
+
+    /**
+     * The outcome of each item, in request order.
+     */
+    private List<BatchItemDTO<T>> items;
+
+    /**
+     * Builds the result of a batch whose items were all saved.
+     *
+     * @param <T>        the type of the items in the batch
+     * @param savedItems The saved items, in request order.
+     * @return The result of the batch.
+     */
+    public static <T> BatchResultDTO<T> saved(List<T> savedItems) {
+        List<BatchItemDTO<T>> items = new ArrayList<>(savedItems.size());
+        for (int i = 0; i < savedItems.size(); i++) {
+            items.add(new BatchItemDTO<>(i, BatchItemStatus.SAVED, null, savedItems.get(i)));
+        }
+        return new BatchResultDTO<>(true, items);
+    }
+}
@@ -1,6 +1,7 @@
 package com.thbs.lms.dto;
 
 import java.util.List;
+import java.util.Set;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -20,7 +21,8 @@ import lombok.Setter;
 public class LearningPlanDTO {
 
     /**
-     * The batch ID of the learning plan.
+     * The batch ID of the learning plan, when it is followed by a single
+     * batch.
      */
     private Long batchId;
 
@@ -33,4 +35,33 @@ public class LearningPlanDTO {
      * The list of paths associated with the learning plan.
      */
     private List<PathDTO> path;
+
+    /**
+     * The name of the learning plan.
+     */
+    private String learningPlanName;
+
+    /**
+     * The type of the learning plan.
+     */
+    private String type;
+
+    /**
+     * The IDs of all batches following the learning plan.
+     */
+    private Set<Long> batchIds;
+
+    /**
+     * Constructs a new {@code LearningPlanDTO} with a batch ID, learning plan ID
+     * and paths.
+     *
+     * @param batchId        The batch ID of the learning plan.
+     * @param learningPlanId The ID of the learning plan.
+     * @param path           The paths of the learning plan.
+     */
+    public LearningPlanDTO(Long batchId, Long learningPlanId, List<PathDTO> path) {
+        this.batchId = batchId;
+        this.learningPlanId = learningPlanId;
+        this.path = path;
+    }
 }
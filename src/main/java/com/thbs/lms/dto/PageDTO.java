@@ -0,0 +1,49 @@
+package com.thbs.lms.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * The {@code PageDTO} class represents a data transfer object (DTO) for one
+ * page of a list endpoint.
+ * It encapsulates the items of the page together with the metadata needed to
+ * request the next page, either by page number or by keyset cursor.
+ *
+ * @param <T> the type of the items in the page
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageDTO<T> {
+
+    /**
+     * The items of the page, ordered by ID.
+     */
+    private List<T> content;
+
+    /**
+     * The zero-based page number, or {@code null} for keyset requests.
+     */
+    private Integer page;
+
+    /**
+     * The requested page size.
+     */
+    private int size;
+
+    /**
+     * Whether more items exist after this page.
+     */
+    private boolean hasNext;
+
+    /**
+     * The ID to pass as {@code after} to fetch the next page, or {@code null}
+     * if this is the last page.
+     */
+    private Long nextCursor;
+}
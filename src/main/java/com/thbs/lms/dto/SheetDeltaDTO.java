@@ -0,0 +1,91 @@
+package com.thbs.lms.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Getter;
+
+/**
+ * The {@code SheetDeltaDTO} class represents the changes a delta upload made
+ * to the topics of one course.
+ * It lists the names of the topics inserted, updated and deleted, and counts
+ * the rows that matched a stored topic exactly.
+ */
+@Getter
+public class SheetDeltaDTO {
+
+    /**
+     * The ID of the course the sheet was applied to.
+     */
+    private final Long courseId;
+
+    /**
+     * The name of the course the sheet was applied to.
+     */
+    private final String courseName;
+
+    /**
+     * The names of the topics inserted because the course did not have them.
+     */
+    private final List<String> inserted = new ArrayList<>();
+
+    /**
+     * The names of the topics whose description was updated.
+     */
+    private final List<String> updated = new ArrayList<>();
+
+    /**
+     * The names of the topics deleted because the sheet no longer lists them.
+     */
+    private final List<String> deleted = new ArrayList<>();
+
+    /**
+     * The number of rows that matched a stored topic exactly.
+     */
+    private int unchanged;
+
+    /**
+     * Constructs a new {@code SheetDeltaDTO} for a course.
+     *
+     * @param courseId   The ID of the course.
+     * @param courseName The name of the course.
+     */
+    public SheetDeltaDTO(Long courseId, String courseName) {
+        this.courseId = courseId;
+        this.courseName = courseName;
+    }
+
+    /**
+     * Records a topic inserted from the sheet.
+     *
+     * @param topicName The name of the topic.
+     */
+    public void topicInserted(String topicName) {
+        inserted.add(topicName);
+    }
+
+    /**
+     * Records a topic updated from the sheet.
+     *
+     * @param topicName The name of the topic.
+     */
+    public void topicUpdated(String topicName) {
+        updated.add(topicName);
+    }
+
+    /**
+     * Records a topic deleted because the sheet no longer lists it.
+     *
+     * @param topicName The name of the topic.
+     */
+    public void topicDeleted(String topicName) {
+        deleted.add(topicName);
+    }
+
+    /**
+     * Records a row that matched a stored topic exactly.
+     */
+    public void rowUnchanged() {
+        unchanged++;
+    }
+}
@@ -0,0 +1,39 @@
+package com.thbs.lms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * The {@code TopicSearchHitDTO} class represents a data transfer object (DTO)
+ * for a topic matching a search query.
+ * It encapsulates the ID and name of the topic, its course and the relevance
+ * score the results are ranked by.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TopicSearchHitDTO {
+
+    /**
+     * The ID of the matching topic.
+     */
+    private Long topicId;
+
+    /**
+     * The name of the matching topic.
+     */
+    private String topicName;
+
+    /**
+     * The ID of the course the topic belongs to.
+     */
+    private Long courseId;
+
+    /**
+     * The relevance of the topic to the query; higher is more relevant.
+     */
+    private double score;
+}
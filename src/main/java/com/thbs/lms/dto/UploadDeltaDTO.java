@@ -0,0 +1,56 @@
+package com.thbs.lms.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Getter;
+
+/**
+ * The {@code UploadDeltaDTO} class represents the outcome of a delta upload.
+ * It holds the changes made to each course, together with their totals.
+ */
+@Getter
+public class UploadDeltaDTO {
+
+    /**
+     * The changes made to each course, in workbook order.
+     */
+    private final List<SheetDeltaDTO> sheets = new ArrayList<>();
+
+    /**
+     * Records the changes made by a sheet.
+     *
+     * @param sheet The changes made to the course of the sheet.
+     */
+    public void addSheet(SheetDeltaDTO sheet) {
+        sheets.add(sheet);
+    }
+
+    /**
+     * @return the total number of topics inserted
+     */
+    public int getInserted() {
+        return sheets.stream().mapToInt(sheet -> sheet.getInserted().size()).sum();
+    }
+
+    /**
+     * @return the total number of topics updated
+     */
+    public int getUpdated() {
+        return sheets.stream().mapToInt(sheet -> sheet.getUpdated().size()).sum();
+    }
+
+    /**
+     * @return the total number of topics deleted
+     */
+    public int getDeleted() {
+        return sheets.stream().mapToInt(sheet -> sheet.getDeleted().size()).sum();
+    }
+
+    /**
+     * @return the total number of rows that matched a stored topic exactly
+     */
+    public int getUnchanged() {
+        return sheets.stream().mapToInt(SheetDeltaDTO::getUnchanged).sum();
+    }
+}
@@ -0,0 +1,19 @@
+package com.thbs.lms.dto;
+
+/**
+ * The {@code UploadFailureMode} enum defines how a parallel bulk upload
+ * handles sheets that fail validation or cannot be saved.
+ */
+public enum UploadFailureMode {
+    /**
+     * All sheets are saved in a single transaction, and nothing is saved if any
+     * sheet fails.
+     */
+    ALL_OR_NOTHING,
+
+    /**
+     * Each sheet is saved in its own transaction. Failing sheets are reported
+     * and the remaining sheets are still saved.
+     */
+    PER_SHEET
+}
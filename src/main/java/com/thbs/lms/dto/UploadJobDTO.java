@@ -0,0 +1,55 @@
+package com.thbs.lms.dto;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * The {@code UploadJobDTO} class represents an asynchronous bulk upload job.
+ * It encapsulates the job ID, status, progress counters, and any errors
+ * reported while processing the workbook.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class UploadJobDTO {
+
+    /**
+     * The unique identifier of the job.
+     */
+    private String jobId;
+
+    /**
+     * The original name of the uploaded file.
+     */
+    private String fileName;
+
+    /**
+     * The current status of the job.
+     */
+    private volatile UploadJobStatus status;
+
+    /**
+     * The progress of the upload.
+     */
+    private UploadResultDTO result = new UploadResultDTO();
+
+    /**
+     * The validation or processing errors reported by the job.
+     */
+    private List<String> errors = new CopyOnWriteArrayList<>();
+
+    /**
+     * The time the job was submitted.
+     */
+    private Date submittedAt;
+
+    /**
+     * The time the job completed or failed.
+     */
+    private volatile Date finishedAt;
+}
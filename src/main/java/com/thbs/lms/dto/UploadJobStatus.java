@@ -0,0 +1,27 @@
+package com.thbs.lms.dto;
+
+/**
+ * The {@code UploadJobStatus} enum lists the states of an asynchronous upload
+ * job.
+ */
+public enum UploadJobStatus {
+    /**
+     * The job is waiting for a worker thread.
+     */
+    QUEUED,
+
+    /**
+     * The workbook is being processed.
+     */
+    RUNNING,
+
+    /**
+     * All sheets were processed successfully.
+     */
+    COMPLETED,
+
+    /**
+     * Processing stopped because of an error.
+     */
+    FAILED
+}
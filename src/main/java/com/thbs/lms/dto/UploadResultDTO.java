@@ -0,0 +1,150 @@
+package com.thbs.lms.dto;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.Getter;
+
+/**
+ * The {@code UploadResultDTO} class represents the outcome of a bulk upload.
+ * It keeps running counts of the sheets and rows processed, and is updated
+ * while an upload is in progress so that it can also be used to report
+ * progress. Counters are atomic, so that the sheets of an upload can be
+ * processed in parallel and read from any thread.
+ */
+public class UploadResultDTO {
+
+    /**
+     * The number of sheets whose topics have been saved.
+     */
+    private final AtomicInteger sheetsProcessed = new AtomicInteger();
+
+    /**
+     * The number of non-empty topic rows read so far.
+     */
+    private final AtomicInteger rowsProcessed = new AtomicInteger();
+
+    /**
+     * The number of topics inserted so far.
+     */
+    private final AtomicInteger rowsInserted = new AtomicInteger();
+
+    /**
+     * The number of rows skipped because the topic already exists.
+     */
+    private final AtomicInteger rowsSkipped = new AtomicInteger();
+
+    /**
+     * The errors of sheets that were skipped, when the upload continues past
+     * failing sheets.
+     */
+    @Getter
+    private final List<String> errors = new CopyOnWriteArrayList<>();
+
+    /**
+     * Constructs a new {@code UploadResultDTO} for an upload that is starting.
+     */
+    public UploadResultDTO() {
+    }
+
+    /**
+     * Constructs a new {@code UploadResultDTO} with the counts of a completed
+     * upload.
+     *
+     * @param sheetsProcessed The number of sheets whose topics were saved.
+     * @param rowsProcessed   The number of non-empty topic rows read.
+     * @param rowsInserted    The number of topics inserted.
+     * @param rowsSkipped     The number of rows skipped because the topic
+     *                        already existed.
+     */
+    public UploadResultDTO(int sheetsProcessed, int rowsProcessed, int rowsInserted, int rowsSkipped) {
+        this.sheetsProcessed.set(sheetsProcessed);
+        this.rowsProcessed.set(rowsProcessed);
+        this.rowsInserted.set(rowsInserted);
+        this.rowsSkipped.set(rowsSkipped);
+    }
+
+    /**
+     * Retrieves the number of sheets whose topics have been saved.
+     *
+     * @return The current count.
+     */
+    public int getSheetsProcessed() {
+        return sheetsProcessed.get();
+    }
+
+    /**
+     * Retrieves the number of non-empty topic rows read so far.
+     *
+     * @return The current count.
+     */
+    public int getRowsProcessed() {
+        return rowsProcessed.get();
+    }
+
+    /**
+     * Retrieves the number of topics inserted so far.
+     *
+     * @return The current count.
+     */
+    public int getRowsInserted() {
+        return rowsInserted.get();
+    }
+
+    /**
+     * Retrieves the number of rows skipped because the topic already exists.
+     *
+     * @return The current count.
+     */
+    public int getRowsSkipped() {
+        return rowsSkipped.get();
+    }
+
+    /**
+     * Records a completed sheet and the number of topics inserted from it.
+     *
+     * @param inserted The number of topics inserted from the sheet.
+     */
+    public void sheetProcessed(int inserted) {
+        sheetsProcessed.incrementAndGet();
+        rowsInserted.addAndGet(inserted);
+    }
+
+    /**
+     * Records a topic row that has been read.
+     */
+    public void rowProcessed() {
+        rowsProcessed.incrementAndGet();
+    }
+
+    /**
+     * Records a topic row that was skipped because the topic already exists.
+     */
+    public void rowSkipped() {
+        rowsSkipped.incrementAndGet();
+    }
+
+    /**
+     * Adds the counts and errors of another result to this one, for example
+     * those of a sheet once its transaction has committed.
+     *
+     * @param other The result to add.
+     */
+    public void add(UploadResultDTO other) {
+        sheetsProcessed.addAndGet(other.getSheetsProcessed());
+        rowsProcessed.addAndGet(other.getRowsProcessed());
+        rowsInserted.addAndGet(other.getRowsInserted());
+        rowsSkipped.addAndGet(other.getRowsSkipped());
+        errors.addAll(other.getErrors());
+    }
+
+    /**
+     * Records an error for a sheet that was not saved.
+     *
+     * @param error The error message.
+     */
+    public void addError(String error) {
+        errors.add(error);
+    }
+}
@@ -0,0 +1,20 @@
+package com.thbs.lms.exception;
+
+import java.time.Duration;
+
+public class TooManyUploadsException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public TooManyUploadsException(String message) {
+        this(message, null);
+    }
+
+    public TooManyUploadsException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
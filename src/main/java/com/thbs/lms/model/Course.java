@@ -1,34 +1,43 @@
 package com.thbs.lms.model;
 
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.util.Locale;
+
 import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.annotations.Parameter;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 /**
  * The {@code Course} class represents a course in the learning management
  * system.
  * It contains information such as the course ID, name, and level.
+ * Courses are indexed by level and lower-cased name, so that they can be
+ * listed by level and matched by name regardless of case without a table
+ * scan.
  */
 @Getter
 @Setter
-@AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "Course")
+@Table(name = "Course", indexes = @Index(name = "idx_course_level_name_key", columnList = "level, courseNameKey"))
 public class Course {
     /**
      * The unique identifier for the course.
+     * Identifiers are allocated in blocks of 50 ({@code pooled-lo}) so that bulk
+     * inserts do not need a sequence round-trip per row.
      */
     @Id
     @GeneratedValue(generator = "sequence-generator-course")
     @GenericGenerator(name = "sequence-generator-course", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = {
             @Parameter(name = "initial_value", value = "100"),
-            @Parameter(name = "increment_size", value = "1")
+            @Parameter(name = "increment_size", value = "50"),
+            @Parameter(name = "optimizer", value = "pooled-lo")
     })
     private Long courseId;
 
@@ -37,8 +46,56 @@ public class Course {
      */
     private String courseName;
 
+    /**
+     * The lower-cased name of the course, used for case-insensitive lookups.
+     * It is derived from the course name and cannot be set directly.
+     */
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    private String courseNameKey;
+
     /**
      * The level of the course.
      */
     private String level;
+
+    /**
+     * Constructs a new course with the specified ID, name and level.
+     *
+     * @param courseId   The unique identifier for the course.
+     * @param courseName The name of the course.
+     * @param level      The level of the course.
+     */
+    public Course(Long courseId, String courseName, String level) {
+        this.courseId = courseId;
+        setCourseName(courseName);
+        this.level = level;
+    }
+
+    /**
+     * Sets the name of the course and its lower-cased lookup key.
+     *
+     * @param courseName The name of the course.
+     */
+    public void setCourseName(String courseName) {
+        this.courseName = courseName;
+        this.courseNameKey = toNameKey(courseName);
+    }
+
+    /**
+     * Normalizes a course name into the key it is looked up by.
+     *
+     * @param courseName The name of the course.
+     * @return The lower-cased name, or {@code null} if the name is
+     *         {@code null}.
+     */
+    public static String toNameKey(String courseName) {
+        return courseName == null ? null : courseName.toLowerCase(Locale.ROOT);
+    }
+
+    @PrePersist
+    @PreUpdate
+    void updateCourseNameKey() {
+        courseNameKey = toNameKey(courseName);
+    }
 }
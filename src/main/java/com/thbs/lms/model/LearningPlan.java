@@ -14,6 +14,7 @@ import lombok.Setter;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Table(indexes = @Index(name = "idx_learning_plan_type_name", columnList = "type, learningPlanName"))
 public class LearningPlan {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -22,12 +23,19 @@ public class LearningPlan {
     private String learningPlanName;
     private String type;
 
-    // @ElementCollection
-    // @CollectionTable(name = "LearningPlan_Batch", joinColumns = @JoinColumn(name = "learning_plan_id"))
-    // @Column(name = "batch_id")
-    // private Set<Long> batchIds = new HashSet<>();
+    /**
+     * The IDs of the batches following the learning plan.
+     * The collection table is indexed by batch ID first, so that the learning
+     * plan of a batch is found without scanning the table.
+     */
+    @ElementCollection
+    @CollectionTable(name = "LearningPlan_Batch", joinColumns = @JoinColumn(name = "learning_plan_id"), indexes = {
+            @Index(name = "idx_learning_plan_batch_batch_id", columnList = "batch_id, learning_plan_id")
+    })
+    @Column(name = "batch_id")
+    private Set<Long> batchIds = new HashSet<>();
 
-    // public void addBatchId(Set<Long> set) {
-    //     batchIds.addAll(set);
-    // }
+    public void addBatchId(Set<Long> set) {
+        batchIds.addAll(set);
+    }
 }
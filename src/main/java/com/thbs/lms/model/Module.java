@@ -8,24 +8,42 @@ import lombok.Setter;
 
 import java.util.Date;
 
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
 /**
  * The {@code Module} class represents a module within a learning plan
  * in the learning management system.
  * It contains information such as the module ID, associated learning plan,
  * course, trainer, start date, and end date.
+ * Modules are indexed by batch, by trainer, and by learning plan, course and
+ * dates, so that each of their lookups reads only the matching rows.
  */
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "Module")
+@Table(name = "Module", indexes = {
+        @Index(name = "idx_module_batch_id", columnList = "batchId"),
+        @Index(name = "idx_module_trainer", columnList = "trainer"),
+        @Index(name = "idx_module_plan_course_dates", columnList = "learningPlanId, courseId, startDate, endDate")
+})
 public class Module {
     /**
      * The unique identifier for the learning plan module.
+     * Identifiers are allocated in blocks of 50 ({@code pooled-lo}) so that
+     * modules scheduled together can be inserted in JDBC batches. IDs assigned
+     * before, by {@code AUTO_INCREMENT}, are skipped by
+     * {@link com.thbs.lms.config.ModuleIdSequenceInitializer} at startup.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "sequence-generator-module")
+    @GenericGenerator(name = "sequence-generator-module", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = {
+            @Parameter(name = "initial_value", value = "1000"),
+            @Parameter(name = "increment_size", value = "50"),
+            @Parameter(name = "optimizer", value = "pooled-lo")
+    })
     private Long moduleId;
 
     /**
@@ -59,5 +77,8 @@ public class Module {
     @Temporal(TemporalType.DATE)
     private Date endDate;
 
+    /**
+     * The ID of the batch the module is scheduled for.
+     */
     private Long batchId;
 }
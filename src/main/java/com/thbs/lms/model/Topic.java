@@ -1,36 +1,50 @@
 package com.thbs.lms.model;
 
-import lombok.AllArgsConstructor;
 import jakarta.persistence.*;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
 import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.annotations.Parameter;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 /**
  * The {@code Topic} class represents a topic within a course in the learning
  * management system.
  * It contains information such as the topic ID, name, description, and
  * associated course.
+ * Topics are indexed by course and name, so that the topics of a course are
+ * listed and checked for duplicates without a table scan.
+ * Each topic also stores a hash of its name and description, so that an
+ * uploaded row can be compared with the stored topic without reading the
+ * description.
  */
 @Getter
 @Setter
-@AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "Topic")
+@Table(name = "Topic", indexes = @Index(name = "idx_topic_course_name", columnList = "courseId, topicName"))
 public class Topic {
     /**
      * The unique identifier for the topic.
+     * Identifiers are allocated in blocks of 50 ({@code pooled-lo}) so that bulk
+     * inserts do not need a sequence round-trip per row.
      */
     @Id
     @GeneratedValue(generator = "sequence-generator-topic")
     @GenericGenerator(name = "sequence-generator-topic", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = {
             @Parameter(name = "initial_value", value = "1000"),
-            @Parameter(name = "increment_size", value = "1")
+            @Parameter(name = "increment_size", value = "50"),
+            @Parameter(name = "optimizer", value = "pooled-lo")
     })
     private Long topicId;
 
@@ -51,4 +65,60 @@ public class Topic {
     @ManyToOne
     @JoinColumn(name = "courseId")
     private Course course;
+
+    /**
+     * The SHA-256 hash of the name and description, in hexadecimal. It is
+     * derived from them when the topic is saved and cannot be set directly.
+     */
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    @Column(length = 64)
+    private String contentHash;
+
+    /**
+     * Constructs a new topic with the specified ID, name, description and
+     * course.
+     *
+     * @param topicId     The unique identifier for the topic.
+     * @param topicName   The name of the topic.
+     * @param description The description of the topic.
+     * @param course      The course associated with the topic.
+     */
+    public Topic(Long topicId, String topicName, String description, Course course) {
+        this.topicId = topicId;
+        this.topicName = topicName;
+        this.description = description;
+        this.course = course;
+    }
+
+    /**
+     * Computes the content hash of a topic name and description.
+     *
+     * @param topicName   The name of the topic.
+     * @param description The description of the topic.
+     * @return The SHA-256 hash of the name and description, in hexadecimal.
+     */
+    public static String toContentHash(String topicName, String description) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(String.valueOf(topicName).getBytes(StandardCharsets.UTF_8));
+            // Separate the fields, so that moving text between them changes the hash
+            digest.update((byte) 0);
+            digest.update(String.valueOf(description).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+    }
+
+    /**
+     * Recomputes the content hash from the current name and description.
+     * Called before the topic is inserted or updated, and by uploads to store
+     * the hash of topics saved before hashes existed.
+     */
+    @PrePersist
+    @PreUpdate
+    public void updateContentHash() {
+        contentHash = toContentHash(topicName, description);
+    }
 }
@@ -0,0 +1,144 @@
+package com.thbs.lms.model;
+
+import jakarta.persistence.*;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+import org.springframework.data.domain.Persistable;
+
+import com.thbs.lms.dto.UploadResultDTO;
+
+/**
+ * The {@code UploadLedgerEntry} class records an upload in the upload ledger,
+ * so that a retried upload can return the stored result instead of
+ * processing the workbook again.
+ * Entries are keyed by the client's idempotency key or, without one, by the
+ * SHA-256 hash of the file. New entries are always inserted, never merged, so
+ * that two instances cannot both record the same upload, and taken-over
+ * entries are versioned, so that two instances cannot both restart it.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "UploadLedger")
+public class UploadLedgerEntry implements Persistable<String> {
+
+    /**
+     * The idempotency key of the upload, or the hash of the file.
+     */
+    @Id
+    @Column(length = 128)
+    private String ledgerKey;
+
+    /**
+     * The SHA-256 hash of the uploaded file, in hexadecimal.
+     */
+    @Column(length = 64, nullable = false)
+    private String fileHash;
+
+    /**
+     * The state of the upload.
+     */
+    @Enumerated(EnumType.STRING)
+    private UploadLedgerStatus status;
+
+    /**
+     * When the upload started.
+     */
+    private Instant startedAt;
+
+    /**
+     * When the upload completed, or {@code null} while it is in progress.
+     */
+    private Instant completedAt;
+
+    /**
+     * The version of the entry, checked when an upload is taken over.
+     */
+    @Version
+    private Long version;
+
+    private int sheetsProcessed;
+    private int rowsProcessed;
+    private int rowsInserted;
+    private int rowsSkipped;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private boolean persisted;
+
+    /**
+     * Constructs a new entry for an upload that is starting.
+     *
+     * @param ledgerKey The idempotency key of the upload, or the hash of the
+     *                  file.
+     * @param fileHash  The SHA-256 hash of the uploaded file.
+     * @param startedAt When the upload started.
+     */
+    public UploadLedgerEntry(String ledgerKey, String fileHash, Instant startedAt) {
+        this.ledgerKey = ledgerKey;
+        restart(fileHash, startedAt);
+    }
+
+    /**
+     * Marks the entry as in progress again, for an upload that replaces an
+     * abandoned or expired one.
+     *
+     * @param fileHash  The SHA-256 hash of the uploaded file.
+     * @param startedAt When the upload started.
+     */
+    public void restart(String fileHash, Instant startedAt) {
+        this.fileHash = fileHash;
+        this.status = UploadLedgerStatus.IN_PROGRESS;
+        this.startedAt = startedAt;
+        this.completedAt = null;
+        this.sheetsProcessed = 0;
+        this.rowsProcessed = 0;
+        this.rowsInserted = 0;
+        this.rowsSkipped = 0;
+    }
+
+    /**
+     * Stores the result of the completed upload.
+     *
+     * @param result      The result of the upload.
+     * @param completedAt When the upload completed.
+     */
+    public void complete(UploadResultDTO result, Instant completedAt) {
+        this.status = UploadLedgerStatus.COMPLETED;
+        this.completedAt = completedAt;
+        this.sheetsProcessed = result.getSheetsProcessed();
+        this.rowsProcessed = result.getRowsProcessed();
+        this.rowsInserted = result.getRowsInserted();
+        this.rowsSkipped = result.getRowsSkipped();
+    }
+
+    /**
+     * Rebuilds the result of the completed upload.
+     *
+     * @return The stored result.
+     */
+    public UploadResultDTO toResult() {
+        return new UploadResultDTO(sheetsProcessed, rowsProcessed, rowsInserted, rowsSkipped);
+    }
+
+    @Override
+    public String getId() {
+        return ledgerKey;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+}
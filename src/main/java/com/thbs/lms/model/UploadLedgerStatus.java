@@ -0,0 +1,17 @@
+package com.thbs.lms.model;
+
+/**
+ * The {@code UploadLedgerStatus} enum lists the states of an upload recorded
+ * in the upload ledger.
+ */
+public enum UploadLedgerStatus {
+    /**
+     * The workbook is being processed.
+     */
+    IN_PROGRESS,
+
+    /**
+     * The workbook was processed and its result is stored.
+     */
+    COMPLETED
+}
@@ -0,0 +1,18 @@
+package com.thbs.lms.repository;
+
+/**
+ * The {@code BatchAssignment} interface is a read-only projection of one row of
+ * the batch table of a {@link com.thbs.lms.model.LearningPlan}, holding a
+ * batch ID and the ID of the learning plan it follows.
+ */
+public interface BatchAssignment {
+    /**
+     * @return the ID of the batch
+     */
+    Long getBatchId();
+
+    /**
+     * @return the ID of the learning plan the batch follows
+     */
+    Long getLearningPlanId();
+}
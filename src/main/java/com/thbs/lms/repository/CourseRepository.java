@@ -4,10 +4,20 @@ import org.springframework.stereotype.Repository;
 
 import com.thbs.lms.model.Course;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import jakarta.persistence.QueryHint;
 
 /**
  * The {@code CourseRepository} interface provides CRUD operations for the
@@ -15,6 +25,11 @@ import org.springframework.data.jpa.repository.JpaRepository;
  */
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Long> {
+    /**
+     * The number of rows fetched per round-trip when streaming courses.
+     */
+    int EXPORT_FETCH_SIZE = 500;
+
     /**
      * Retrieves a list of courses by their level.
      *
@@ -33,10 +48,88 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
 
     /**
      * Retrieves a course by its name and level, ignoring case sensitivity.
+     * The name is matched through its lower-cased key, so that the lookup can
+     * use the index on level and name key.
      *
      * @param courseName The name of the course to retrieve.
      * @param level      The level of the course to retrieve.
      * @return An optional containing the course with the specified name, if found.
      */
-    Optional<Course> findByCourseNameIgnoreCaseAndLevel(String courseName, String level);
+    default Optional<Course> findByCourseNameIgnoreCaseAndLevel(String courseName, String level) {
+        return findByCourseNameKeyAndLevel(Course.toNameKey(courseName), level);
+    }
+
+    /**
+     * Retrieves a course by its lower-cased name key and level.
+     *
+     * @param courseNameKey The lower-cased name of the course.
+     * @param level         The level of the course to retrieve.
+     * @return An optional containing the course with the specified name key, if
+     *         found.
+     */
+    Optional<Course> findByCourseNameKeyAndLevel(String courseNameKey, String level);
+
+    /**
+     * Retrieves the courses having any of the given levels and any of the
+     * given lower-cased name keys in a single query. The caller matches the
+     * exact level and name pairs.
+     *
+     * @param levels         The levels of the courses.
+     * @param courseNameKeys The lower-cased names of the courses.
+     * @return The courses matching any level and any name key.
+     */
+    List<Course> findByLevelInAndCourseNameKeyIn(Collection<String> levels, Collection<String> courseNameKeys);
+
+    /**
+     * Fills in the name key of the courses stored before it was introduced.
+     *
+     * @return The number of courses updated.
+     */
+    @Modifying
+    @Query("UPDATE Course c SET c.courseNameKey = LOWER(c.courseName) "
+            + "WHERE c.courseNameKey IS NULL AND c.courseName IS NOT NULL")
+    int backfillCourseNameKeys();
+
+    /**
+     * Retrieves up to {@code limit} courses with an ID greater than the given
+     * one, ordered by ID. Used for keyset pagination.
+     *
+     * @param courseId The ID after which to start.
+     * @param limit    The maximum number of courses to retrieve.
+     * @return The courses after the given ID.
+     */
+    List<Course> findByCourseIdGreaterThanOrderByCourseIdAsc(Long courseId, Limit limit);
+
+    /**
+     * Streams every course joined with its topics, ordered by course ID and
+     * then topic ID, through a forward-only cursor. Courses without topics
+     * appear once with {@code null} topic columns. The stream must be consumed
+     * and closed inside a transaction.
+     *
+     * @return A stream of course-topic rows.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    @Query("SELECT c.courseId AS courseId, c.courseName AS courseName, t.topicId AS topicId, "
+            + "t.topicName AS topicName FROM Course c LEFT JOIN Topic t ON t.course = c "
+            + "ORDER BY c.courseId, t.topicId")
+    Stream<CourseTopicRow> streamAllWithTopics();
+
+    /**
+     * Retrieves which of the given course IDs exist in a single query.
+     *
+     * @param courseIds The IDs of the courses.
+     * @return The IDs of the courses that exist.
+     */
+    @Query("SELECT c.courseId FROM Course c WHERE c.courseId IN :courseIds")
+    List<Long> findExistingCourseIds(@Param("courseIds") Collection<Long> courseIds);
+
+    /**
+     * Deletes the courses with the given IDs in a single statement.
+     *
+     * @param courseIds The IDs of the courses to delete.
+     * @return The number of courses deleted.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Course c WHERE c.courseId IN :courseIds")
+    int deleteCoursesByIdIn(@Param("courseIds") Collection<Long> courseIds);
 }
@@ -0,0 +1,28 @@
+package com.thbs.lms.repository;
+
+/**
+ * The {@code CourseTopicRow} interface is a read-only projection of one row of
+ * the course-topic join: a course together with one of its topics, or with
+ * {@code null} topic columns if the course has no topics.
+ */
+public interface CourseTopicRow {
+    /**
+     * @return the ID of the course
+     */
+    Long getCourseId();
+
+    /**
+     * @return the name of the course
+     */
+    String getCourseName();
+
+    /**
+     * @return the ID of the topic, or {@code null} if the course has no topics
+     */
+    Long getTopicId();
+
+    /**
+     * @return the name of the topic, or {@code null} if the course has no topics
+     */
+    String getTopicName();
+}
@@ -0,0 +1,40 @@
+package com.thbs.lms.repository;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.stereotype.Repository;
+
+import com.thbs.lms.dto.UploadJobDTO;
+
+/**
+ * The {@code InMemoryUploadJobStore} class keeps upload jobs in local memory.
+ * Only the most recent {@value #MAX_JOBS} jobs are retained, so job state is
+ * lost on restart and is not shared between instances.
+ */
+@Repository
+public class InMemoryUploadJobStore implements UploadJobStore {
+
+    private static final int MAX_JOBS = 1000;
+
+    private final Map<String, UploadJobDTO> jobs = Collections.synchronizedMap(
+            new LinkedHashMap<String, UploadJobDTO>() {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, UploadJobDTO> eldest) {
+                    return size() > MAX_JOBS;
+                }
+            });
+
+    @Override
+    public UploadJobDTO save(UploadJobDTO job) {
+        jobs.put(job.getJobId(), job);
+        return job;
+    }
+
+    @Override
+    public Optional<UploadJobDTO> findById(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+}
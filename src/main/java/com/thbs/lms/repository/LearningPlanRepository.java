@@ -1,11 +1,14 @@
 package com.thbs.lms.repository;
 
 import com.thbs.lms.model.LearningPlan;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.Set;
 
 /**
  * The {@code LearningPlanRepository} interface provides CRUD operations for the
@@ -16,8 +19,59 @@ public interface LearningPlanRepository extends JpaRepository<LearningPlan, Long
 
     LearningPlan findByLearningPlanNameAndType(String learningPlanName, String type);
 
-    LearningPlan findByBatchIdsContaining(Set<Long> batchIds);
-
     List<LearningPlan> findByType(String type);
 
+    /**
+     * Retrieves the learning plan ID of each of the given batches in a single
+     * query. Batches without a learning plan are left out.
+     *
+     * @param batchIds The IDs of the batches.
+     * @return The learning plan ID of each batch that has one.
+     */
+    @Query("SELECT b AS batchId, lp.learningPlanId AS learningPlanId "
+            + "FROM LearningPlan lp JOIN lp.batchIds b WHERE b IN :batchIds")
+    List<BatchAssignment> findBatchAssignments(@Param("batchIds") Collection<Long> batchIds);
+
+    /**
+     * Retrieves the batch IDs of a learning plan.
+     *
+     * @param learningPlanId The ID of the learning plan.
+     * @return The IDs of the batches following the learning plan.
+     */
+    @Query("SELECT b FROM LearningPlan lp JOIN lp.batchIds b WHERE lp.learningPlanId = :learningPlanId")
+    List<Long> findBatchIdsByLearningPlanId(@Param("learningPlanId") Long learningPlanId);
+
+    /**
+     * Retrieves up to {@code limit} learning plan IDs greater than the given
+     * one, in ascending order. Used for keyset pagination of learning plan
+     * trees.
+     *
+     * @param learningPlanId The ID after which to start.
+     * @param limit          The maximum number of IDs to retrieve.
+     * @return The learning plan IDs after the given ID.
+     */
+    @Query("SELECT lp.learningPlanId FROM LearningPlan lp WHERE lp.learningPlanId > :learningPlanId "
+            + "ORDER BY lp.learningPlanId")
+    List<Long> findLearningPlanIdsAfter(@Param("learningPlanId") Long learningPlanId, Limit limit);
+
+    /**
+     * Retrieves learning plans by ID together with their batch IDs in a single
+     * query.
+     *
+     * @param learningPlanIds The IDs of the learning plans.
+     * @return The learning plans with their batch IDs loaded.
+     */
+    @Query("SELECT DISTINCT lp FROM LearningPlan lp LEFT JOIN FETCH lp.batchIds "
+            + "WHERE lp.learningPlanId IN :learningPlanIds")
+    List<LearningPlan> findWithBatchIdsByLearningPlanIdIn(@Param("learningPlanIds") Collection<Long> learningPlanIds);
+
+    /**
+     * Retrieves up to {@code limit} learning plans with an ID greater than
+     * the given one, ordered by ID. Used for keyset pagination.
+     *
+     * @param learningPlanId The ID after which to start.
+     * @param limit          The maximum number of learning plans to retrieve.
+     * @return The learning plans after the given ID.
+     */
+    List<LearningPlan> findByLearningPlanIdGreaterThanOrderByLearningPlanIdAsc(Long learningPlanId, Limit limit);
 }
@@ -0,0 +1,46 @@
+package com.thbs.lms.repository;
+
+import java.util.Date;
+
+/**
+ * The {@code ModulePathRow} interface is a read-only projection of a
+ * {@link com.thbs.lms.model.Module} joined with its course, holding only the
+ * columns needed to build the paths of a learning plan tree.
+ */
+public interface ModulePathRow {
+    /**
+     * @return the ID of the module
+     */
+    Long getModuleId();
+
+    /**
+     * @return the ID of the learning plan the module belongs to
+     */
+    Long getLearningPlanId();
+
+    /**
+     * @return the trainer of the module
+     */
+    String getTrainer();
+
+    /**
+     * @return the start date of the module
+     */
+    Date getStartDate();
+
+    /**
+     * @return the end date of the module
+     */
+    Date getEndDate();
+
+    /**
+     * @return the ID of the course of the module, or {@code null} if it has none
+     */
+    Long getCourseId();
+
+    /**
+     * @return the name of the course of the module, or {@code null} if it has
+     *         none
+     */
+    String getCourseName();
+}
@@ -0,0 +1,35 @@
+package com.thbs.lms.repository;
+
+import java.util.Date;
+
+/**
+ * The {@code ModuleReminderRow} interface is a read-only projection of a
+ * {@link com.thbs.lms.model.Module} holding only the columns needed to remind
+ * its batch of the module.
+ */
+public interface ModuleReminderRow {
+    /**
+     * @return the ID of the module
+     */
+    Long getModuleId();
+
+    /**
+     * @return the ID of the batch the module is scheduled for
+     */
+    Long getBatchId();
+
+    /**
+     * @return the start date of the module
+     */
+    Date getStartDate();
+
+    /**
+     * @return the end date of the module
+     */
+    Date getEndDate();
+
+    /**
+     * @return the ID of the course of the module
+     */
+    Long getCourseId();
+}
@@ -1,11 +1,16 @@
 package com.thbs.lms.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.thbs.lms.model.Course;
 import com.thbs.lms.model.Module;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -47,4 +52,79 @@ public interface ModuleRepository extends JpaRepository<Module, Long> {
      */
     Optional<Module> findByLearningPlanLearningPlanIdAndCourseAndStartDateAndEndDate(Long learningPlanId, Course course,
             Date startDate, Date endDate);
+
+    /**
+     * Retrieves the course and dates of every module of a learning plan in a
+     * single query, without loading the modules themselves.
+     *
+     * @param learningPlanId The ID of the learning plan.
+     * @return The schedules of the modules of the learning plan.
+     */
+    @Query("SELECT m.course.courseId AS courseId, m.startDate AS startDate, m.endDate AS endDate "
+            + "FROM Module m WHERE m.learningPlan.learningPlanId = :learningPlanId")
+    List<ModuleSchedule> findSchedulesByLearningPlanId(@Param("learningPlanId") Long learningPlanId);
+
+    /**
+     * Retrieves the modules of the given learning plans together with the ID
+     * and name of their courses in a single query, ordered by start date.
+     *
+     * @param learningPlanIds The IDs of the learning plans.
+     * @return The path rows of the modules of the learning plans.
+     */
+    @Query("SELECT m.moduleId AS moduleId, m.learningPlan.learningPlanId AS learningPlanId, m.trainer AS trainer, "
+            + "m.startDate AS startDate, m.endDate AS endDate, c.courseId AS courseId, c.courseName AS courseName "
+            + "FROM Module m LEFT JOIN m.course c WHERE m.learningPlan.learningPlanId IN :learningPlanIds "
+            + "ORDER BY m.startDate, m.moduleId")
+    List<ModulePathRow> findModulePathsByLearningPlanIdIn(
+            @Param("learningPlanIds") Collection<Long> learningPlanIds);
+
+    /**
+     * Retrieves the modules that end on or after the given date, with the
+     * columns needed for reminders, in a single query.
+     *
+     * @param date The earliest end date.
+     * @return The reminder rows of the modules ending on or after the date.
+     */
+    @Query("SELECT m.moduleId AS moduleId, m.batchId AS batchId, m.startDate AS startDate, m.endDate AS endDate, "
+            + "m.course.courseId AS courseId FROM Module m WHERE m.endDate >= :date AND m.startDate IS NOT NULL")
+    List<ModuleReminderRow> findReminderRowsEndingOnOrAfter(@Param("date") Date date);
+
+    /**
+     * Retrieves the trainer and dates of every module that has a trainer in a
+     * single query, without loading the modules themselves.
+     *
+     * @return The bookings of all trainers.
+     */
+    @Query("SELECT m.moduleId AS moduleId, m.trainer AS trainer, m.startDate AS startDate, m.endDate AS endDate "
+            + "FROM Module m WHERE m.trainer IS NOT NULL AND m.startDate IS NOT NULL AND m.endDate IS NOT NULL")
+    List<TrainerBooking> findAllTrainerBookings();
+
+    /**
+     * Retrieves up to {@code limit} modules with an ID greater than the given
+     * one, ordered by ID. Used for keyset pagination.
+     *
+     * @param moduleId The ID after which to start.
+     * @param limit    The maximum number of modules to retrieve.
+     * @return The modules after the given ID.
+     */
+    List<Module> findByModuleIdGreaterThanOrderByModuleIdAsc(Long moduleId, Limit limit);
+
+    /**
+     * Retrieves the IDs of the modules of a learning plan in a single query.
+     *
+     * @param learningPlanId The ID of the learning plan.
+     * @return The IDs of the modules of the learning plan.
+     */
+    @Query("SELECT m.moduleId FROM Module m WHERE m.learningPlan.learningPlanId = :learningPlanId")
+    List<Long> findModuleIdsByLearningPlanId(@Param("learningPlanId") Long learningPlanId);
+
+    /**
+     * Deletes the modules of a learning plan in a single statement.
+     *
+     * @param learningPlanId The ID of the learning plan.
+     * @return The number of modules deleted.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Module m WHERE m.learningPlan.learningPlanId = :learningPlanId")
+    int deleteModulesByLearningPlanId(@Param("learningPlanId") Long learningPlanId);
 }
@@ -0,0 +1,25 @@
+package com.thbs.lms.repository;
+
+import java.util.Date;
+
+/**
+ * The {@code ModuleSchedule} interface is a read-only projection of a
+ * {@link com.thbs.lms.model.Module} holding only the columns that identify it
+ * within its learning plan.
+ */
+public interface ModuleSchedule {
+    /**
+     * @return the ID of the course the module teaches
+     */
+    Long getCourseId();
+
+    /**
+     * @return the start date of the module
+     */
+    Date getStartDate();
+
+    /**
+     * @return the end date of the module
+     */
+    Date getEndDate();
+}
@@ -0,0 +1,28 @@
+package com.thbs.lms.repository;
+
+/**
+ * The {@code TopicDocument} interface is a read-only projection of a
+ * {@link com.thbs.lms.model.Topic} holding the columns indexed for full-text
+ * search, together with the ID of the owning course.
+ */
+public interface TopicDocument {
+    /**
+     * @return the ID of the course the topic belongs to
+     */
+    Long getCourseId();
+
+    /**
+     * @return the ID of the topic
+     */
+    Long getTopicId();
+
+    /**
+     * @return the name of the topic
+     */
+    String getTopicName();
+
+    /**
+     * @return the description of the topic
+     */
+    String getDescription();
+}
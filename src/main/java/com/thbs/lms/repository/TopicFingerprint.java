@@ -0,0 +1,25 @@
+package com.thbs.lms.repository;
+
+/**
+ * The {@code TopicFingerprint} interface is a read-only projection of a
+ * {@link com.thbs.lms.model.Topic} holding its ID, name and content hash, so
+ * that uploaded rows can be compared with stored topics without reading their
+ * descriptions.
+ */
+public interface TopicFingerprint {
+    /**
+     * @return the ID of the topic
+     */
+    Long getTopicId();
+
+    /**
+     * @return the name of the topic
+     */
+    String getTopicName();
+
+    /**
+     * @return the hash of the name and description of the topic, or
+     *         {@code null} if the topic was saved before hashes were stored
+     */
+    String getContentHash();
+}
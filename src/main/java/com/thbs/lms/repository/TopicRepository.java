@@ -1,8 +1,14 @@
 package com.thbs.lms.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.thbs.lms.model.Course;
@@ -51,4 +57,100 @@ public interface TopicRepository extends JpaRepository<Topic, Long> {
      * @return A list of topics associated with the given course.
      */
     List<Topic> findByCourse(Course course);
+
+    /**
+     * Retrieves the names of all topics associated with a given course in a
+     * single query.
+     *
+     * @param course The course for which to retrieve topic names.
+     * @return The set of topic names associated with the given course.
+     */
+    @Query("SELECT t.topicName FROM Topic t WHERE t.course = :course")
+    Set<String> findTopicNamesByCourse(@Param("course") Course course);
+
+    /**
+     * Retrieves the ID, name and content hash of the topics of a course in a
+     * single query.
+     *
+     * @param course The course whose topics are retrieved.
+     * @return The fingerprints of the topics of the course.
+     */
+    @Query("SELECT t.topicId AS topicId, t.topicName AS topicName, t.contentHash AS contentHash "
+            + "FROM Topic t WHERE t.course = :course")
+    List<TopicFingerprint> findTopicFingerprintsByCourse(@Param("course") Course course);
+
+    /**
+     * Retrieves the ID and name of every topic together with its course ID in a
+     * single query, ordered by topic ID.
+     *
+     * @return The summaries of all topics.
+     */
+    @Query("SELECT t.course.courseId AS courseId, t.topicId AS topicId, t.topicName AS topicName "
+            + "FROM Topic t ORDER BY t.topicId")
+    List<TopicSummary> findAllTopicSummaries();
+
+    /**
+     * Retrieves the ID and name of the topics of the given courses together
+     * with their course ID in a single query, ordered by topic ID.
+     *
+     * @param courseIds The IDs of the courses.
+     * @return The summaries of the topics of the courses.
+     */
+    @Query("SELECT t.course.courseId AS courseId, t.topicId AS topicId, t.topicName AS topicName "
+            + "FROM Topic t WHERE t.course.courseId IN :courseIds ORDER BY t.topicId")
+    List<TopicSummary> findTopicSummariesByCourseIdIn(@Param("courseIds") Collection<Long> courseIds);
+
+    /**
+     * Retrieves up to {@code limit} topics with an ID greater than the given
+     * one, ordered by ID. Used for keyset pagination.
+     *
+     * @param topicId The ID after which to start.
+     * @param limit   The maximum number of topics to retrieve.
+     * @return The topics after the given ID.
+     */
+    List<Topic> findByTopicIdGreaterThanOrderByTopicIdAsc(Long topicId, Limit limit);
+
+    /**
+     * Retrieves up to {@code limit} topics with an ID greater than the given
+     * one, with the columns indexed for search, ordered by ID. Used to build
+     * the search index in batches.
+     *
+     * @param topicId The ID after which to start.
+     * @param limit   The maximum number of topics to retrieve.
+     * @return The documents of the topics after the given ID.
+     */
+    @Query("SELECT t.course.courseId AS courseId, t.topicId AS topicId, t.topicName AS topicName, "
+            + "t.description AS description FROM Topic t WHERE t.topicId > :topicId ORDER BY t.topicId")
+    List<TopicDocument> findTopicDocumentsAfter(@Param("topicId") Long topicId, Limit limit);
+
+    /**
+     * Retrieves the ID and name of the given topics together with their course
+     * ID in a single query, ordered by topic ID.
+     *
+     * @param topicIds The IDs of the topics.
+     * @return The summaries of the topics that exist.
+     */
+    @Query("SELECT t.course.courseId AS courseId, t.topicId AS topicId, t.topicName AS topicName "
+            + "FROM Topic t WHERE t.topicId IN :topicIds ORDER BY t.topicId")
+    List<TopicSummary> findTopicSummariesByTopicIdIn(@Param("topicIds") Collection<Long> topicIds);
+
+    /**
+     * Deletes the topics with the given IDs in a single statement.
+     *
+     * @param topicIds The IDs of the topics to delete.
+     * @return The number of topics deleted.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Topic t WHERE t.topicId IN :topicIds")
+    int deleteTopicsByIdIn(@Param("topicIds") Collection<Long> topicIds);
+
+    /**
+     * Deletes the topics of the given courses in a single statement.
+     *
+     * @param courseIds The IDs of the courses whose topics are to be deleted.
+     * @return The number of topics deleted.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Topic t WHERE t.course.courseId IN :courseIds")
+    int deleteTopicsByCourseIdIn(@Param("courseIds") Collection<Long> courseIds);
 }
@@ -0,0 +1,23 @@
+package com.thbs.lms.repository;
+
+/**
+ * The {@code TopicSummary} interface is a read-only projection of a
+ * {@link com.thbs.lms.model.Topic} holding only the columns needed to build
+ * topic DTOs, together with the ID of the owning course.
+ */
+public interface TopicSummary {
+    /**
+     * @return the ID of the course the topic belongs to
+     */
+    Long getCourseId();
+
+    /**
+     * @return the ID of the topic
+     */
+    Long getTopicId();
+
+    /**
+     * @return the name of the topic
+     */
+    String getTopicName();
+}
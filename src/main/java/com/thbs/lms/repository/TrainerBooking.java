@@ -0,0 +1,30 @@
+package com.thbs.lms.repository;
+
+import java.util.Date;
+
+/**
+ * The {@code TrainerBooking} interface is a read-only projection of a
+ * {@link com.thbs.lms.model.Module} holding only the columns that tell when
+ * its trainer is busy.
+ */
+public interface TrainerBooking {
+    /**
+     * @return the ID of the module
+     */
+    Long getModuleId();
+
+    /**
+     * @return the trainer of the module
+     */
+    String getTrainer();
+
+    /**
+     * @return the start date of the module
+     */
+    Date getStartDate();
+
+    /**
+     * @return the end date of the module
+     */
+    Date getEndDate();
+}
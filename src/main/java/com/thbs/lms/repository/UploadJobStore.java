@@ -0,0 +1,28 @@
+package com.thbs.lms.repository;
+
+import java.util.Optional;
+
+import com.thbs.lms.dto.UploadJobDTO;
+
+/**
+ * The {@code UploadJobStore} interface stores the state of asynchronous bulk
+ * upload jobs so that clients can poll their progress.
+ * Implementations must be safe for use from multiple threads.
+ */
+public interface UploadJobStore {
+    /**
+     * Saves the specified job, replacing any job with the same ID.
+     *
+     * @param job The job to save.
+     * @return The saved job.
+     */
+    UploadJobDTO save(UploadJobDTO job);
+
+    /**
+     * Retrieves a job by its ID.
+     *
+     * @param jobId The ID of the job.
+     * @return An optional containing the job, if found.
+     */
+    Optional<UploadJobDTO> findById(String jobId);
+}
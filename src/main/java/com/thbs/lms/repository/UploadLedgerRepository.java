@@ -0,0 +1,30 @@
+package com.thbs.lms.repository;
+
+import java.time.Instant;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.thbs.lms.model.UploadLedgerEntry;
+
+/**
+ * The {@code UploadLedgerRepository} interface provides methods to interact with
+ * the upload ledger in the database.
+ */
+@Repository
+public interface UploadLedgerRepository extends JpaRepository<UploadLedgerEntry, String> {
+
+    /**
+     * Deletes the entries of the uploads that started before the given time in
+     * a single statement.
+     *
+     * @param cutoff The time before which entries are deleted.
+     * @return The number of entries deleted.
+     */
+    @Modifying
+    @Query("DELETE FROM UploadLedgerEntry e WHERE e.startedAt < :cutoff")
+    int deleteStartedBefore(@Param("cutoff") Instant cutoff);
+}
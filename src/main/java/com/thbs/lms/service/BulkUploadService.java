@@ -7,60 +7,151 @@ import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.ss.usermodel.WorkbookFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import io.micrometer.core.annotation.Timed;
+
+import com.thbs.lms.config.MetricsConfig;
+import com.thbs.lms.dto.SheetDeltaDTO;
+import com.thbs.lms.dto.UploadDeltaDTO;
+import com.thbs.lms.dto.UploadFailureMode;
+import com.thbs.lms.dto.UploadResultDTO;
 import com.thbs.lms.exception.DuplicateEntryException;
 import com.thbs.lms.exception.FileProcessingException;
+import com.thbs.lms.exception.InvalidDataException;
 import com.thbs.lms.exception.InvalidSheetFormatException;
 import com.thbs.lms.model.Course;
 import com.thbs.lms.model.Topic;
 import com.thbs.lms.repository.CourseRepository;
+import com.thbs.lms.repository.TopicFingerprint;
 import com.thbs.lms.repository.TopicRepository;
+import com.thbs.lms.utility.IngestFormat;
 import com.thbs.lms.utility.SheetValidator;
+import com.thbs.lms.utility.StreamedRow;
+import com.thbs.lms.utility.StreamedSheet;
+import com.thbs.lms.utility.StreamingWorkbookReader;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 
 /**
  * The {@code BulkUploadService} class provides methods for processing bulk
  * upload of topics from an Excel file.
+ * Workbooks can be read either fully into memory or, for large files, with a
+ * streaming reader that processes one sheet at a time. A workbook can also be
+ * applied as a delta, writing only the topics that differ from the stored
+ * ones. Topics can also be ingested from CSV and NDJSON documents through the
+ * registered {@link IngestFormat} parsers.
  */
 @Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
 public class BulkUploadService {
 
+    private static final String FILE_PROCESSING_ERROR_MSG = "Error processing the uploaded file.";
+    private static final String INVALID_DATA_MSG = "Sheet may have extra cells or invalid data.";
+    private static final String MISSING_COURSE_MSG = "Course name is missing.";
+    private static final String UNSUPPORTED_FORMAT_MSG = "Unsupported file format.";
+
+    /**
+     * The number of leading rows in each sheet that hold the header rather than
+     * topics.
+     */
+    private static final int HEADER_ROWS = 3;
+
     private final CourseRepository courseRepository;
     private final TopicRepository topicRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor sheetProcessingPool;
+    private final CatalogCache catalogCache;
+    private final UploadMetrics uploadMetrics;
+    private final TopicSearchIndex topicSearchIndex;
+    private final List<IngestFormat> ingestFormats;
 
     /**
      * Constructs a new instance of {@code BulkUploadService} with the specified
      * repositories.
      *
-     * @param courseRepository The repository for managing courses.
-     * @param topicRepository  The repository for managing topics.
+     * @param courseRepository    The repository for managing courses.
+     * @param topicRepository     The repository for managing topics.
+     * @param transactionTemplate The template for the transactions of parallel
+     *                            uploads.
+     * @param sheetProcessingPool The pool that reads sheets in parallel.
+     * @param catalogCache        The cache evictor for courses and topics.
+     * @param uploadMetrics       The counters of uploaded sheets and rows.
+     * @param topicSearchIndex    The search index of topic names and
+     *                            descriptions.
+     * @param ingestFormats       The parsers of the supported upload formats.
      */
     @Autowired
-    public BulkUploadService(CourseRepository courseRepository, TopicRepository topicRepository) {
+    public BulkUploadService(CourseRepository courseRepository, TopicRepository topicRepository,
+            TransactionTemplate transactionTemplate, @Qualifier("sheetProcessingPool") Executor sheetProcessingPool,
+            CatalogCache catalogCache, UploadMetrics uploadMetrics, TopicSearchIndex topicSearchIndex,
+            List<IngestFormat> ingestFormats) {
         this.courseRepository = courseRepository;
         this.topicRepository = topicRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.sheetProcessingPool = sheetProcessingPool;
+        this.catalogCache = catalogCache;
+        this.uploadMetrics = uploadMetrics;
+        this.topicSearchIndex = topicSearchIndex;
+        this.ingestFormats = ingestFormats;
     }
 
     /**
      * Processes the uploaded Excel file and saves the topics to the database.
+     * The workbook is opened from a temporary file rather than from the upload
+     * stream, which would make POI buffer the whole file in memory as well.
      *
      * @param file The uploaded Excel file containing topics.
+     * @return The numbers of sheets and rows processed, inserted and skipped.
+     * @throws FileProcessingException     If an error occurs while processing the
+     *                                     file.
+     * @throws InvalidSheetFormatException If the format of the Excel sheet is
+     *                                     invalid.
+     */
+    public UploadResultDTO uploadFile(MultipartFile file) {
+        return withTempCopy(file, this::uploadFile);
+    }
+
+    /**
+     * Processes an Excel file stored on disk and saves the topics to the
+     * database.
+     *
+     * @param file The Excel file containing topics.
+     * @return The numbers of sheets and rows processed, inserted and skipped.
      * @throws FileProcessingException     If an error occurs while processing the
      *                                     file.
      * @throws InvalidSheetFormatException If the format of the Excel sheet is
      *                                     invalid.
      */
-    public void uploadFile(MultipartFile file) {
-        try (Workbook workbook = WorkbookFactory.create(file.getInputStream())) {
+    public UploadResultDTO uploadFile(File file) {
+        UploadResultDTO result = new UploadResultDTO();
+        try (Workbook workbook = WorkbookFactory.create(file, null, true)) {
             // Process each sheet
             for (int i = 0; i < workbook.getNumberOfSheets(); i++) {
                 Sheet sheet = workbook.getSheetAt(i);
@@ -71,51 +162,580 @@ public class BulkUploadService {
 
                 String level = headerRow.getCell(1).getStringCellValue();
                 // Extract course name from the sheet name
-                String courseName = sheet.getSheetName();
-
-                // Check if the course already exists in the database
-                Optional<Course> existingCourseOptional = courseRepository.findByCourseNameIgnoreCaseAndLevel(courseName,level);
-                Course course;
-                if (existingCourseOptional.isPresent()) {
-                    course = existingCourseOptional.get();
-                } else {
-                    // Create a new course and save it to the database
-                    Course newCourse = new Course();
-                    newCourse.setCourseName(courseName);
-                    newCourse.setLevel(level);
-                    course = courseRepository.save(newCourse);
-                }
+                Course course = findOrCreateCourse(sheet.getSheetName(), level);
 
-                List<Topic> topics = processTopics(sheet, course);
+                List<Topic> topics = processTopics(sheet, course, result);
 
                 topicRepository.saveAll(topics);
+                catalogCache.evictTopicsOfCourse(course.getCourseId());
+                topicSearchIndex.record(topics);
+                result.sheetProcessed(topics.size());
+                uploadMetrics.sheetProcessed(topics.size());
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            e.printStackTrace();
+            throw new FileProcessingException(FILE_PROCESSING_ERROR_MSG);
+        }
+        return result;
+    }
+
+    /**
+     * Copies an uploaded file to a temporary file, which is deleted once the
+     * action has run. Callers that both hash and process an upload use it to
+     * copy the upload once and read every other time from disk. When the
+     * container has already spooled the upload to disk, the copy is usually a
+     * rename.
+     *
+     * @param <T>    The type of the result of the action.
+     * @param file   The uploaded file.
+     * @param action The action that reads the temporary file.
+     * @return The result of the action.
+     * @throws FileProcessingException If the file cannot be copied.
+     */
+    public <T> T withTempCopy(MultipartFile file, Function<File, T> action) {
+        File tempFile = copyToTempFile(file);
+        try {
+            return action.apply(tempFile);
+        } finally {
+            deleteTempFile(tempFile);
+        }
+    }
+
+    /**
+     * Computes the SHA-256 hash of an uploaded file. The file is read as a
+     * stream, so it is never held in memory as a whole.
+     *
+     * @param file The uploaded file.
+     * @return The hash of the file content, in hexadecimal.
+     * @throws FileProcessingException If the file cannot be read.
+     */
+    public String fingerprint(MultipartFile file) {
+        try (InputStream inputStream = file.getInputStream()) {
+            return fingerprint(inputStream);
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new FileProcessingException(FILE_PROCESSING_ERROR_MSG);
+        }
+    }
+
+    /**
+     * Computes the SHA-256 hash of a file stored on disk.
+     *
+     * @param file The file.
+     * @return The hash of the file content, in hexadecimal.
+     * @throws FileProcessingException If the file cannot be read.
+     */
+    public String fingerprint(File file) {
+        try (InputStream inputStream = Files.newInputStream(file.toPath())) {
+            return fingerprint(inputStream);
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new FileProcessingException(FILE_PROCESSING_ERROR_MSG);
+        }
+    }
+
+    /**
+     * Processes the uploaded Excel file with the streaming (SAX) reader and saves
+     * the topics to the database.
+     * Unlike {@link #uploadFile(MultipartFile)}, the workbook is never loaded into
+     * memory as a whole: it is spilled to a temporary file and read one sheet at
+     * a time. Only .xlsx workbooks are supported.
+     *
+     * @param file The uploaded Excel file containing topics.
+     * @return The numbers of sheets and rows processed, inserted and skipped.
+     * @throws FileProcessingException     If an error occurs while processing the
+     *                                     file.
+     * @throws InvalidSheetFormatException If the format of the Excel sheet is
+     *                                     invalid.
+     */
+    public UploadResultDTO uploadFileStreaming(MultipartFile file) {
+        UploadResultDTO result = new UploadResultDTO();
+        File tempFile = copyToTempFile(file);
+        try {
+            uploadFileStreaming(tempFile, result);
+        } finally {
+            deleteTempFile(tempFile);
+        }
+        return result;
+    }
+
+    /**
+     * Processes an uploaded Excel, CSV or NDJSON file and saves the topics to the
+     * database.
+     * The parser is chosen by the content type of the file or, if no parser
+     * handles it, by the file extension. Every format is read as a stream, one
+     * course at a time, and validated with the same rules as Excel sheets.
+     *
+     * @param file The uploaded file containing topics.
+     * @return The numbers of courses and rows processed, inserted and skipped.
+     * @throws InvalidDataException        If the format of the file is not
+     *                                     supported.
+     * @throws FileProcessingException     If an error occurs while processing the
+     *                                     file.
+     * @throws InvalidSheetFormatException If the format of a course is invalid.
+     * @throws DuplicateEntryException     If duplicate topics are found in a
+     *                                     course.
+     */
+    public UploadResultDTO uploadFileIngest(MultipartFile file) {
+        IngestFormat format = selectIngestFormat(file.getContentType(), file.getOriginalFilename());
+        UploadResultDTO result = new UploadResultDTO();
+        try (InputStream inputStream = file.getInputStream()) {
+            format.readSheets(inputStream, sheet -> processStreamedSheet(sheet, result));
+        } catch (IOException | IllegalArgumentException e) {
+            e.printStackTrace();
+            throw new FileProcessingException(FILE_PROCESSING_ERROR_MSG);
+        }
+        return result;
+    }
+
+    /**
+     * Processes the uploaded Excel file by reading and validating its sheets in
+     * parallel, then saves the topics to the database.
+     * Sheets are saved in workbook order on the calling thread, either in a
+     * single transaction or in one transaction per sheet depending on the
+     * failure mode. The counts of a transaction are added to the result only
+     * once it commits. Only .xlsx workbooks are supported.
+     *
+     * @param file        The uploaded Excel file containing topics.
+     * @param failureMode How sheets that fail validation or saving are handled.
+     * @return The numbers of sheets and rows processed, inserted and skipped,
+     *         and the errors of any skipped sheets.
+     * @throws FileProcessingException     If the file cannot be opened, or a
+     *                                     sheet cannot be read and the failure
+     *                                     mode is
+     *                                     {@link UploadFailureMode#ALL_OR_NOTHING}.
+     * @throws InvalidSheetFormatException If a sheet is invalid and the failure
+     *                                     mode is
+     *                                     {@link UploadFailureMode#ALL_OR_NOTHING}.
+     * @throws DuplicateEntryException     If a sheet contains duplicate topics and
+     *                                     the failure mode is
+     *                                     {@link UploadFailureMode#ALL_OR_NOTHING}.
+     */
+    public UploadResultDTO uploadFileParallel(MultipartFile file, UploadFailureMode failureMode) {
+        UploadResultDTO result = new UploadResultDTO();
+        File tempFile = copyToTempFile(file);
+        try {
+            List<CompletableFuture<StreamedSheet>> sheets = new ArrayList<>();
+            for (CompletableFuture<StreamedSheet> sheet : StreamingWorkbookReader.readSheetsAsync(tempFile,
+                    sheetProcessingPool)) {
+                sheets.add(sheet.thenApply(this::validateStreamedSheet));
+            }
+            // Wait for every sheet, so that no task is still reading the file
+            CompletableFuture.allOf(sheets.toArray(new CompletableFuture[0])).exceptionally(e -> null).join();
+
+            if (failureMode == UploadFailureMode.ALL_OR_NOTHING) {
+                List<StreamedSheet> validSheets = new ArrayList<>();
+                for (CompletableFuture<StreamedSheet> sheet : sheets) {
+                    validSheets.add(getSheet(sheet));
+                }
+                UploadResultDTO uploadResult = new UploadResultDTO();
+                transactionTemplate.executeWithoutResult(
+                        status -> validSheets.forEach(sheet -> saveStreamedSheet(sheet, uploadResult)));
+                result.add(uploadResult);
+            } else {
+                for (int i = 0; i < sheets.size(); i++) {
+                    // Counted separately, so that the rows of a sheet rolled back are not reported
+                    UploadResultDTO sheetResult = new UploadResultDTO();
+                    try {
+                        StreamedSheet sheet = getSheet(sheets.get(i));
+                        transactionTemplate.executeWithoutResult(status -> saveStreamedSheet(sheet, sheetResult));
+                        result.add(sheetResult);
+                    } catch (InvalidSheetFormatException | DuplicateEntryException | FileProcessingException e) {
+                        result.addError("Sheet " + (i + 1) + ": " + e.getMessage());
+                    }
+                }
             }
         } catch (IOException | IllegalArgumentException e) {
             e.printStackTrace();
-            throw new FileProcessingException("Error processing the uploaded file.");
+            throw new FileProcessingException(FILE_PROCESSING_ERROR_MSG);
+        } finally {
+            deleteTempFile(tempFile);
+        }
+        return result;
+    }
+
+    /**
+     * Applies the uploaded Excel file as a delta against the stored topics of
+     * each course, reading it with the streaming (SAX) reader.
+     * Each row is hashed and compared with the hash stored for the topic of the
+     * same name: new topics are inserted, changed topics are updated and
+     * unchanged topics are not written. Topics that a sheet no longer lists are
+     * deleted only if requested. Each sheet is applied in its own transaction.
+     * Only .xlsx workbooks are supported.
+     *
+     * @param file          The uploaded .xlsx file containing topics.
+     * @param deleteMissing Whether to delete the topics of a course that its
+     *                      sheet no longer lists.
+     * @return The changes made to each course.
+     * @throws FileProcessingException     If an error occurs while processing the
+     *                                     file.
+     * @throws InvalidSheetFormatException If the format of a sheet is invalid.
+     * @throws DuplicateEntryException     If a sheet lists the same topic twice.
+     */
+    public UploadDeltaDTO uploadFileDelta(MultipartFile file, boolean deleteMissing) {
+        UploadDeltaDTO result = new UploadDeltaDTO();
+        File tempFile = copyToTempFile(file);
+        try {
+            StreamingWorkbookReader.readSheets(tempFile, sheet -> {
+                StreamedSheet validSheet = validateStreamedSheet(sheet);
+                result.addSheet(transactionTemplate.execute(status -> applySheetDelta(validSheet, deleteMissing)));
+            });
+        } catch (IOException | IllegalArgumentException e) {
+            e.printStackTrace();
+            throw new FileProcessingException(FILE_PROCESSING_ERROR_MSG);
+        } finally {
+            deleteTempFile(tempFile);
+        }
+        return result;
+    }
+
+    /**
+     * Applies a validated streamed sheet as a delta against the stored topics
+     * of its course. The stored topics are read with a single query of their
+     * names and hashes, so an unchanged sheet is applied without any write.
+     *
+     * @param sheet         The validated sheet.
+     * @param deleteMissing Whether to delete the topics the sheet no longer
+     *                      lists.
+     * @return The changes made to the course.
+     * @throws DuplicateEntryException If the sheet lists the same topic twice.
+     */
+    private SheetDeltaDTO applySheetDelta(StreamedSheet sheet, boolean deleteMissing) {
+        String level = sheet.getRow(0).getSecondCell();
+        Course course = findOrCreateCourse(sheet.getSheetName(), level);
+        SheetDeltaDTO delta = new SheetDeltaDTO(course.getCourseId(), course.getCourseName());
+
+        // Stored topics not yet matched by a row, by normalized name
+        Map<String, TopicFingerprint> unmatched = new LinkedHashMap<>();
+        for (TopicFingerprint fingerprint : topicRepository.findTopicFingerprintsByCourse(course)) {
+            unmatched.put(normalizeTopicName(fingerprint.getTopicName()), fingerprint);
+        }
+        Set<String> topicNames = new HashSet<>();
+        List<Topic> newTopics = new ArrayList<>();
+        Map<Long, StreamedRow> changedRows = new HashMap<>();
+        for (StreamedRow row : getTopicRows(sheet)) {
+            if (row.isEmpty()) {
+                continue;
+            }
+            String topicName = row.getFirstCell();
+            String description = row.getSecondCell();
+            if (!topicNames.add(normalizeTopicName(topicName))) {
+                throw new DuplicateEntryException("Duplicate entries present in sheet.");
+            }
+            TopicFingerprint fingerprint = unmatched.remove(normalizeTopicName(topicName));
+            if (fingerprint == null) {
+                newTopics.add(new Topic(null, topicName, description, course));
+                delta.topicInserted(topicName);
+            } else if (Topic.toContentHash(topicName, description).equals(fingerprint.getContentHash())) {
+                delta.rowUnchanged();
+            } else {
+                changedRows.put(fingerprint.getTopicId(), row);
+            }
+        }
+
+        List<Topic> savedTopics = updateChangedTopics(changedRows, delta);
+        savedTopics.addAll(topicRepository.saveAll(newTopics));
+        List<Long> deletedTopicIds = new ArrayList<>();
+        if (deleteMissing && !unmatched.isEmpty()) {
+            for (TopicFingerprint fingerprint : unmatched.values()) {
+                deletedTopicIds.add(fingerprint.getTopicId());
+                delta.topicDeleted(fingerprint.getTopicName());
+            }
+            topicRepository.deleteTopicsByIdIn(deletedTopicIds);
+        }
+        if (!savedTopics.isEmpty() || !deletedTopicIds.isEmpty()) {
+            catalogCache.evictTopicsOfCourse(course.getCourseId());
+            topicSearchIndex.record(savedTopics);
+            topicSearchIndex.forget(deletedTopicIds);
+        }
+        uploadMetrics.sheetProcessed(newTopics.size());
+        return delta;
+    }
+
+    /**
+     * Updates the stored topics whose hash differs from their row. Topics
+     * saved before hashes were stored are compared field by field, and only
+     * have their hash stored if they are unchanged.
+     *
+     * @param changedRows The rows whose hash differs, keyed by topic ID.
+     * @param delta       The changes to record the updated topics in.
+     * @return The updated topics.
+     */
+    private List<Topic> updateChangedTopics(Map<Long, StreamedRow> changedRows, SheetDeltaDTO delta) {
+        List<Topic> updatedTopics = new ArrayList<>();
+        if (changedRows.isEmpty()) {
+            return updatedTopics;
+        }
+        for (Topic topic : topicRepository.findAllById(changedRows.keySet())) {
+            StreamedRow row = changedRows.get(topic.getTopicId());
+            if (row.getFirstCell().equals(topic.getTopicName())
+                    && row.getSecondCell().equals(topic.getDescription())) {
+                topic.updateContentHash();
+                delta.rowUnchanged();
+            } else {
+                // Changes to the managed topic are written when the transaction commits
+                topic.setTopicName(row.getFirstCell());
+                topic.setDescription(row.getSecondCell());
+                updatedTopics.add(topic);
+                delta.topicUpdated(topic.getTopicName());
+            }
+        }
+        return updatedTopics;
+    }
+
+    /**
+     * Processes an Excel file already stored on disk with the streaming (SAX)
+     * reader and saves the topics to the database.
+     * The given result is updated after every row and sheet, so it can be read
+     * by other threads to follow the progress of the upload.
+     *
+     * @param file   The .xlsx file containing topics.
+     * @param result The result to update as the upload progresses.
+     * @throws FileProcessingException     If an error occurs while processing the
+     *                                     file.
+     * @throws InvalidSheetFormatException If the format of the Excel sheet is
+     *                                     invalid.
+     */
+    public void uploadFileStreaming(File file, UploadResultDTO result) {
+        try {
+            StreamingWorkbookReader.readSheets(file, sheet -> processStreamedSheet(sheet, result));
+        } catch (IOException | IllegalArgumentException e) {
+            e.printStackTrace();
+            throw new FileProcessingException(FILE_PROCESSING_ERROR_MSG);
+        }
+    }
+
+    /**
+     * Validates a streamed sheet and saves its topics to the database.
+     *
+     * @param sheet  The sheet read by the streaming reader.
+     * @param result The result to update with the rows processed.
+     * @throws DuplicateEntryException     If duplicate topics are found in the
+     *                                     sheet.
+     * @throws InvalidSheetFormatException If the format of the sheet is invalid.
+     */
+    private void processStreamedSheet(StreamedSheet sheet, UploadResultDTO result) {
+        saveStreamedSheet(validateStreamedSheet(sheet), result);
+    }
+
+    /**
+     * Validates the header and topic rows of a streamed sheet. This does not
+     * access the database, so sheets can be validated concurrently.
+     *
+     * @param sheet The sheet read by the streaming reader.
+     * @return The validated sheet.
+     * @throws InvalidSheetFormatException If the format of the sheet is invalid.
+     */
+    private StreamedSheet validateStreamedSheet(StreamedSheet sheet) {
+        SheetValidator.isValidSheetFormat(sheet);
+        // Sheet names are never blank, but CSV and NDJSON documents name the course in a cell
+        if (sheet.getSheetName() == null || sheet.getSheetName().isBlank()) {
+            throw new InvalidSheetFormatException(MISSING_COURSE_MSG);
+        }
+        for (StreamedRow row : getTopicRows(sheet)) {
+            if (!row.isEmpty() && (row.getFirstCell() == null || row.getSecondCell() == null)) {
+                throw new InvalidSheetFormatException(INVALID_DATA_MSG);
+            }
+        }
+        return sheet;
+    }
+
+    /**
+     * Saves the topics of a validated streamed sheet to the database.
+     *
+     * @param sheet  The validated sheet.
+     * @param result The result to update with the rows processed.
+     * @throws DuplicateEntryException If duplicate topics are found in the sheet.
+     */
+    private void saveStreamedSheet(StreamedSheet sheet, UploadResultDTO result) {
+        String level = sheet.getRow(0).getSecondCell();
+        Course course = findOrCreateCourse(sheet.getSheetName(), level);
+
+        List<Topic> topics = new ArrayList<>();
+        Set<String> topicNames = new HashSet<>();
+        Set<String> existingTopicNames = loadExistingTopicNames(course);
+        for (StreamedRow row : getTopicRows(sheet)) {
+            if (row.isEmpty()) {
+                continue;
+            }
+            Topic topic = createTopic(row.getFirstCell(), row.getSecondCell(), course, topicNames,
+                    existingTopicNames, result);
+            if (topic != null) {
+                topics.add(topic);
+            }
+        }
+
+        topicRepository.saveAll(topics);
+        catalogCache.evictTopicsOfCourse(course.getCourseId());
+        topicSearchIndex.record(topics);
+        result.sheetProcessed(topics.size());
+        uploadMetrics.sheetProcessed(topics.size());
+    }
+
+    /**
+     * Retrieves the rows of a streamed sheet that follow the header rows.
+     *
+     * @param sheet The sheet read by the streaming reader.
+     * @return The topic rows of the sheet.
+     */
+    private List<StreamedRow> getTopicRows(StreamedSheet sheet) {
+        List<StreamedRow> rows = sheet.getRows();
+        return rows.subList(Math.min(HEADER_ROWS, rows.size()), rows.size());
+    }
+
+    /**
+     * Selects the parser for an uploaded file, preferring the content type over
+     * the file extension.
+     *
+     * @param contentType The content type of the file, if any.
+     * @param fileName    The original name of the file, if any.
+     * @return The parser of the file.
+     * @throws InvalidDataException If no parser handles the file.
+     */
+    private IngestFormat selectIngestFormat(String contentType, String fileName) {
+        if (contentType != null) {
+            try {
+                MediaType mediaType = MediaType.parseMediaType(contentType);
+                String type = (mediaType.getType() + "/" + mediaType.getSubtype()).toLowerCase(Locale.ROOT);
+                for (IngestFormat format : ingestFormats) {
+                    if (format.getContentTypes().contains(type)) {
+                        return format;
+                    }
+                }
+            } catch (InvalidMediaTypeException e) {
+                // Fall back to the file extension
+            }
+        }
+        int dot = fileName == null ? -1 : fileName.lastIndexOf('.');
+        if (dot >= 0) {
+            String extension = fileName.substring(dot + 1).toLowerCase(Locale.ROOT);
+            for (IngestFormat format : ingestFormats) {
+                if (format.getFileExtensions().contains(extension)) {
+                    return format;
+                }
+            }
+        }
+        throw new InvalidDataException(UNSUPPORTED_FORMAT_MSG);
+    }
+
+    /**
+     * Waits for a sheet read in parallel and returns it, rethrowing the error
+     * that stopped it from being read or validated.
+     *
+     * @param sheet The future of the sheet.
+     * @return The validated sheet.
+     * @throws FileProcessingException If the sheet could not be read.
+     */
+    private StreamedSheet getSheet(CompletableFuture<StreamedSheet> sheet) {
+        try {
+            return sheet.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw new FileProcessingException(FILE_PROCESSING_ERROR_MSG);
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Computes the SHA-256 hash of a stream.
+     *
+     * @param inputStream The stream to hash.
+     * @return The hash of the stream content, in hexadecimal.
+     * @throws IOException If the stream cannot be read.
+     */
+    private static String fingerprint(InputStream inputStream) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+    }
+
+    /**
+     * Copies an uploaded file to a temporary file so that it can be read from
+     * disk.
+     *
+     * @param file The uploaded file.
+     * @return The temporary file.
+     * @throws FileProcessingException If the file cannot be copied.
+     */
+    private File copyToTempFile(MultipartFile file) {
+        try {
+            File tempFile = Files.createTempFile("lms-upload-", ".xlsx").toFile();
+            file.transferTo(tempFile);
+            return tempFile;
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new FileProcessingException(FILE_PROCESSING_ERROR_MSG);
+        }
+    }
+
+    /**
+     * Deletes a temporary file, falling back to deletion on exit.
+     *
+     * @param tempFile The file to delete.
+     */
+    private void deleteTempFile(File tempFile) {
+        try {
+            Files.deleteIfExists(tempFile.toPath());
+        } catch (IOException e) {
+            tempFile.deleteOnExit();
         }
     }
 
+    /**
+     * Retrieves the course with the specified name and level, creating it if it
+     * does not exist yet.
+     *
+     * @param courseName The name of the course, taken from the sheet name.
+     * @param level      The level of the course, taken from header cell B1.
+     * @return The existing or newly created course.
+     */
+    private Course findOrCreateCourse(String courseName, String level) {
+        // Check if the course already exists in the database
+        Optional<Course> existingCourseOptional = courseRepository.findByCourseNameIgnoreCaseAndLevel(courseName,
+                level);
+        if (existingCourseOptional.isPresent()) {
+            return existingCourseOptional.get();
+        }
+        // Create a new course and save it to the database
+        Course newCourse = new Course();
+        newCourse.setCourseName(courseName);
+        newCourse.setLevel(level);
+        return courseRepository.save(newCourse);
+    }
+
     /**
      * Processes the topics from the specified sheet and returns a list of topics.
+     * Package-private so that the row parsing can be benchmarked on its own.
      *
      * @param sheet  The Excel sheet containing topics.
      * @param course The course associated with the topics.
+     * @param result The result to update with the rows processed.
      * @return A list of topics extracted from the sheet.
      * @throws DuplicateEntryException     If duplicate topics are found in the
      *                                     sheet.
      * @throws InvalidSheetFormatException If the format of the Excel sheet is
      *                                     invalid.
      */
-    private List<Topic> processTopics(Sheet sheet, Course course) {
+    List<Topic> processTopics(Sheet sheet, Course course, UploadResultDTO result) {
         List<Topic> topics = new ArrayList<>();
         Set<String> topicNames = new HashSet<>();
+        Set<String> existingTopicNames = loadExistingTopicNames(course);
         Iterator<Row> iterator = sheet.iterator();
 
-        // Skip header row
-        if (iterator.hasNext()) {
-            iterator.next();
-            iterator.next();
+        // Skip header rows
+        for (int i = 0; i < HEADER_ROWS && iterator.hasNext(); i++) {
             iterator.next();
         }
         while (iterator.hasNext()) {
@@ -127,29 +747,82 @@ public class BulkUploadService {
                 String topicName = currentRow.getCell(0).getStringCellValue();
                 String description = currentRow.getCell(1).getStringCellValue();
 
-                // Check if the topic already exists in the course
-                if (topicRepository.existsByTopicNameAndCourse(topicName, course)) {
-                    continue; // Skip adding existing topics
-                }
-                if (topicNames.contains(topicName)) {
-                    throw new DuplicateEntryException("Duplicate entries present in sheet.");
+                Topic topic = createTopic(topicName, description, course, topicNames, existingTopicNames,
+                        result);
+                if (topic != null) {
+                    topics.add(topic);
                 }
-                topicNames.add(topicName);
-
-                Topic topic = new Topic();
-                topic.setTopicName(topicName);
-                topic.setDescription(description);
-                topic.setCourse(course);
-                topics.add(topic);
             } catch (DuplicateEntryException e) {
                 throw e; // Re-throw DuplicateEntryException
             } catch (Exception e) {
-                throw new InvalidSheetFormatException("Sheet may have extra cells or invalid data.");
+                throw new InvalidSheetFormatException(INVALID_DATA_MSG);
             }
         }
         return topics;
     }
 
+    /**
+     * Creates a topic for a spreadsheet row, unless the course already has a
+     * topic with that name.
+     *
+     * @param topicName   The name of the topic.
+     * @param description The description of the topic.
+     * @param course      The course associated with the topic.
+     * @param topicNames         The topic names already seen in the current sheet.
+     * @param existingTopicNames The normalized names of the topics already stored
+     *                           for the course.
+     * @param result             The result to update with the row outcome.
+     * @return The new topic, or {@code null} if the topic already exists in the
+     *         course.
+     * @throws DuplicateEntryException If the topic name appears twice in the
+     *                                 sheet.
+     */
+    private Topic createTopic(String topicName, String description, Course course, Set<String> topicNames,
+            Set<String> existingTopicNames, UploadResultDTO result) {
+        result.rowProcessed();
+        // Check if the topic already exists in the course
+        if (existingTopicNames.contains(normalizeTopicName(topicName))) {
+            result.rowSkipped();
+            uploadMetrics.rowSkipped();
+            return null; // Skip adding existing topics
+        }
+        if (!topicNames.add(normalizeTopicName(topicName))) {
+            throw new DuplicateEntryException("Duplicate entries present in sheet.");
+        }
+
+        Topic topic = new Topic();
+        topic.setTopicName(topicName);
+        topic.setDescription(description);
+        topic.setCourse(course);
+        return topic;
+    }
+
+    /**
+     * Loads the names of the topics already stored for a course with a single
+     * query, so that existing topics can be skipped without a lookup per row.
+     *
+     * @param course The course whose topics are loaded.
+     * @return The normalized names of the existing topics.
+     */
+    private Set<String> loadExistingTopicNames(Course course) {
+        Set<String> existingTopicNames = new HashSet<>();
+        for (String topicName : topicRepository.findTopicNamesByCourse(course)) {
+            existingTopicNames.add(normalizeTopicName(topicName));
+        }
+        return existingTopicNames;
+    }
+
+    /**
+     * Normalizes a topic name for comparison against existing topics.
+     * Names are compared case-insensitively, as the database collation does.
+     *
+     * @param topicName The topic name to normalize.
+     * @return The normalized topic name.
+     */
+    private String normalizeTopicName(String topicName) {
+        return topicName.toLowerCase(Locale.ROOT);
+    }
+
     /**
      * Checks if the specified row is empty.
      *
@@ -0,0 +1,163 @@
+package com.thbs.lms.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.thbs.lms.config.CacheConfig;
+import com.thbs.lms.model.Course;
+import com.thbs.lms.model.Topic;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * The {@code CatalogCache} class reads courses and topics through their caches
+ * and evicts entries of the course, topic and batch caches when the
+ * underlying data changes.
+ * The caches hold immutable snapshots rather than entities, and every read
+ * returns new entities, so that a caller changing a returned course or topic
+ * cannot change what other callers read.
+ * Evictions made inside a transaction are repeated after it commits, so that a
+ * read racing with the transaction cannot leave the old value cached.
+ */
+@Component
+public class CatalogCache {
+
+    private final CacheManager cacheManager;
+
+    /**
+     * Constructs a new instance of {@code CatalogCache} with the specified cache
+     * manager.
+     *
+     * @param cacheManager The manager of the course and topic caches.
+     */
+    @Autowired
+    public CatalogCache(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Retrieves a course from the cache, loading and caching it on a miss.
+     *
+     * @param courseId The ID of the course.
+     * @param loader   The loader of the course, which may throw if it does not
+     *                 exist.
+     * @return A new copy of the course.
+     */
+    public Course getCourse(Long courseId, Supplier<Course> loader) {
+        Cache cache = cacheManager.getCache(CacheConfig.COURSES);
+        Cache.ValueWrapper cached = cache == null ? null : cache.get(courseId);
+        CachedCourse course = cached == null ? null : (CachedCourse) cached.get();
+        if (course == null) {
+            course = CachedCourse.of(loader.get());
+            if (cache != null) {
+                cache.put(courseId, course);
+            }
+        }
+        return course.toCourse();
+    }
+
+    /**
+     * Retrieves the topics of a course from the cache, loading and caching them
+     * on a miss.
+     *
+     * @param courseId The ID of the course.
+     * @param loader   The loader of the topics.
+     * @return New copies of the topics, each with a copy of its course.
+     */
+    public List<Topic> getTopicsOfCourse(Long courseId, Supplier<List<Topic>> loader) {
+        Cache cache = cacheManager.getCache(CacheConfig.TOPICS_BY_COURSE);
+        Cache.ValueWrapper cached = cache == null ? null : cache.get(courseId);
+        @SuppressWarnings("unchecked")
+        List<CachedTopic> topics = cached == null ? null : (List<CachedTopic>) cached.get();
+        if (topics == null) {
+            topics = loader.get().stream().map(CachedTopic::of).toList();
+            if (cache != null) {
+                cache.put(courseId, topics);
+            }
+        }
+        List<Topic> copies = new ArrayList<>(topics.size());
+        for (CachedTopic topic : topics) {
+            copies.add(topic.toTopic());
+        }
+        return copies;
+    }
+
+    /**
+     * Evicts a course and its topics. The topics are evicted too because each
+     * cached topic embeds its course.
+     *
+     * @param courseId The ID of the course.
+     */
+    public void evictCourse(Long courseId) {
+        evict(CacheConfig.COURSES, courseId);
+        evict(CacheConfig.TOPICS_BY_COURSE, courseId);
+    }
+
+    /**
+     * Evicts the topics of a course.
+     *
+     * @param courseId The ID of the course.
+     */
+    public void evictTopicsOfCourse(Long courseId) {
+        evict(CacheConfig.TOPICS_BY_COURSE, courseId);
+    }
+
+    /**
+     * Evicts the learning plan IDs of batches.
+     *
+     * @param batchIds The IDs of the batches.
+     */
+    public void evictBatches(Collection<Long> batchIds) {
+        if (batchIds == null) {
+            return;
+        }
+        for (Long batchId : batchIds) {
+            evict(CacheConfig.LEARNING_PLAN_IDS_BY_BATCH, batchId);
+        }
+    }
+
+    private record CachedCourse(Long courseId, String courseName, String level) {
+        static CachedCourse of(Course course) {
+            return course == null ? null
+                    : new CachedCourse(course.getCourseId(), course.getCourseName(), course.getLevel());
+        }
+
+        Course toCourse() {
+            return new Course(courseId, courseName, level);
+        }
+    }
+
+    private record CachedTopic(Long topicId, String topicName, String description, CachedCourse course) {
+        static CachedTopic of(Topic topic) {
+            return new CachedTopic(topic.getTopicId(), topic.getTopicName(), topic.getDescription(),
+                    CachedCourse.of(topic.getCourse()));
+        }
+
+        Topic toTopic() {
+            return new Topic(topicId, topicName, description, course == null ? null : course.toCourse());
+        }
+    }
+
+    private void evict(String cacheName, Long key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null || key == null) {
+            return;
+        }
+        cache.evict(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.evict(key);
+                }
+            });
+        }
+    }
+}
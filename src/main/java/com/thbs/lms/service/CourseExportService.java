@@ -0,0 +1,107 @@
+package com.thbs.lms.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.thbs.lms.dto.CourseDTO;
+import com.thbs.lms.dto.TopicDTO;
+import com.thbs.lms.repository.CourseRepository;
+import com.thbs.lms.repository.CourseTopicRow;
+
+/**
+ * The {@code CourseExportService} class exports the course catalog as
+ * newline-delimited JSON (NDJSON), one {@link CourseDTO} per line.
+ * Rows are read through a forward-only cursor and each course is written as
+ * soon as its last topic has been read, so memory use does not grow with the
+ * size of the catalog.
+ */
+@Service
+public class CourseExportService {
+
+    private static final byte[] LINE_SEPARATOR = { '\n' };
+
+    private final CourseRepository courseRepository;
+    private final ObjectWriter courseWriter;
+    private final TransactionTemplate readOnlyTransaction;
+
+    /**
+     * Constructs a new instance of {@code CourseExportService} with the
+     * specified dependencies.
+     *
+     * @param courseRepository    The repository for managing courses.
+     * @param objectMapper        The mapper used to serialize course DTOs.
+     * @param transactionTemplate The template whose transaction manager keeps
+     *                            the cursor open while it is read.
+     */
+    @Autowired
+    public CourseExportService(CourseRepository courseRepository, ObjectMapper objectMapper,
+            TransactionTemplate transactionTemplate) {
+        this.courseRepository = courseRepository;
+        this.courseWriter = objectMapper.writerFor(CourseDTO.class);
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Writes every course with its topics to the given stream as NDJSON.
+     * The stream is flushed but not closed.
+     *
+     * @param out The stream to write to.
+     * @return The number of courses written.
+     * @throws IOException If writing to the stream fails.
+     */
+    public long exportCourseDTOs(OutputStream out) throws IOException {
+        try {
+            Long exported = readOnlyTransaction.execute(status -> {
+                try (Stream<CourseTopicRow> rows = courseRepository.streamAllWithTopics()) {
+                    return writeCourses(rows.iterator(), out);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.flush();
+            return exported == null ? 0 : exported;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private long writeCourses(Iterator<CourseTopicRow> rows, OutputStream out) throws IOException {
+        long exported = 0;
+        CourseDTO current = null;
+        while (rows.hasNext()) {
+            CourseTopicRow row = rows.next();
+            // Rows are ordered by course ID, so a new ID means the previous course is complete
+            if (current == null || !current.getCourseId().equals(row.getCourseId())) {
+                if (current != null) {
+                    writeCourse(current, out);
+                    exported++;
+                }
+                current = new CourseDTO(row.getCourseId(), row.getCourseName(), new ArrayList<>());
+            }
+            if (row.getTopicId() != null) {
+                current.getTopics().add(new TopicDTO(row.getTopicId(), row.getTopicName()));
+            }
+        }
+        if (current != null) {
+            writeCourse(current, out);
+            exported++;
+        }
+        return exported;
+    }
+
+    private void writeCourse(CourseDTO course, OutputStream out) throws IOException {
+        out.write(courseWriter.writeValueAsBytes(course));
+        out.write(LINE_SEPARATOR);
+    }
+}
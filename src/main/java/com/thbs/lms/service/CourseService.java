@@ -1,17 +1,32 @@
 package com.thbs.lms.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import io.micrometer.core.annotation.Timed;
+
+import com.thbs.lms.config.MetricsConfig;
 import com.thbs.lms.model.Course;
 import com.thbs.lms.repository.CourseRepository;
+import com.thbs.lms.dto.BatchResultDTO;
 import com.thbs.lms.dto.CourseDTO;
+import com.thbs.lms.dto.PageDTO;
 import com.thbs.lms.dto.TopicDTO;
 import com.thbs.lms.exception.*;
+import com.thbs.lms.utility.BatchValidation;
+import com.thbs.lms.utility.Pagination;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -19,11 +34,13 @@ import java.util.stream.Collectors;
  * their associated topics.
  */
 @Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
 public class CourseService {
 
     private static final String NOT_FOUND_MSG = "Course not found.";
     private CourseRepository courseRepository;
     private TopicService topicService;
+    private CatalogCache catalogCache;
 
     /**
      * Constructs a new instance of {@code CourseService} with the specified
@@ -31,11 +48,23 @@ public class CourseService {
      *
      * @param courseRepository The repository for managing courses.
      * @param topicService     The service for managing topics.
+     * @param catalogCache     The cache evictor for courses and topics.
      */
     @Autowired
-    public CourseService(CourseRepository courseRepository, TopicService topicService) {
+    public CourseService(CourseRepository courseRepository, TopicService topicService, CatalogCache catalogCache) {
         this.courseRepository = courseRepository;
         this.topicService = topicService;
+        this.catalogCache = catalogCache;
+    }
+
+    /**
+     * Fills in the lower-cased name key of the courses stored before it was
+     * introduced, so that the case-insensitive lookup finds them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillCourseNameKeys() {
+        courseRepository.backfillCourseNameKeys();
     }
 
     /**
@@ -66,16 +95,76 @@ public class CourseService {
 
     /**
      * Saves multiple courses.
+     * Every course is validated before any is saved, and the courses are then
+     * inserted together in one transaction, so either all of them are saved or
+     * none.
      * 
      * @param courses The list of courses to be saved.
      * @return The list of saved courses.
+     * @throws InvalidDataException    If any course name or level is null or
+     *                                 empty.
+     * @throws DuplicateEntryException If any course already exists or appears
+     *                                 twice in the list.
      */
+    @Transactional
     public List<Course> saveCourses(List<Course> courses) {
-        List<Course> savedCourses = new ArrayList<>();
+        validateCourses(courses).throwFirstRejection();
+        return courseRepository.saveAll(courses);
+    }
+
+    /**
+     * Saves multiple courses in one transaction, reporting the outcome of each
+     * course.
+     * If any course is rejected, none is saved and the result lists why each
+     * rejected course was refused.
+     *
+     * @param courses The list of courses to be saved.
+     * @return The outcome of each course.
+     */
+    @Transactional
+    public BatchResultDTO<Course> saveCoursesInBatch(List<Course> courses) {
+        BatchValidation validation = validateCourses(courses);
+        if (validation.hasRejections()) {
+            return validation.toRejectedResult(courses);
+        }
+        return BatchResultDTO.saved(courseRepository.saveAll(courses));
+    }
+
+    /**
+     * Validates a list of courses against the stored courses, read with a
+     * single query, and against each other. Names are compared ignoring case.
+     *
+     * @param courses The courses to validate.
+     * @return The failures of the rejected courses.
+     */
+    private BatchValidation validateCourses(List<Course> courses) {
+        BatchValidation validation = new BatchValidation(courses.size());
+        Set<String> levels = new HashSet<>();
+        Set<String> nameKeys = new HashSet<>();
         for (Course course : courses) {
-            savedCourses.add(saveCourse(course));
+            if (course.getCourseName() != null && course.getLevel() != null) {
+                levels.add(course.getLevel());
+                nameKeys.add(Course.toNameKey(course.getCourseName()));
+            }
         }
-        return savedCourses;
+        // Keys of the courses already stored and of those accepted so far
+        Set<List<String>> courseKeys = new HashSet<>();
+        if (!nameKeys.isEmpty()) {
+            for (Course existing : courseRepository.findByLevelInAndCourseNameKeyIn(levels, nameKeys)) {
+                courseKeys.add(List.of(existing.getCourseNameKey(), existing.getLevel()));
+            }
+        }
+        for (int i = 0; i < courses.size(); i++) {
+            Course course = courses.get(i);
+            if (course.getCourseName() == null || course.getCourseName().isEmpty() ||
+                    course.getLevel() == null || course.getLevel().isEmpty()) {
+                validation.reject(i, new InvalidDataException("Course name or level cannot be null or empty."));
+            } else if (!courseKeys.add(List.of(Course.toNameKey(course.getCourseName()), course.getLevel()))) {
+                validation.reject(i,
+                        new DuplicateEntryException("Course with same name and level of difficulty already exists."));
+            }
+        }
+        return validation;
     }
 
     /**
@@ -87,22 +176,53 @@ public class CourseService {
         return courseRepository.findAll();
     }
 
+    /**
+     * Retrieves one page of courses from the database, ordered by ID.
+     *
+     * @param page The zero-based page number.
+     * @param size The page size.
+     * @return The requested page of courses.
+     * @throws InvalidDataException If the page number or size is invalid.
+     */
+    public PageDTO<Course> getCoursesPage(int page, int size) {
+        return Pagination.toPageDTO(
+                courseRepository.findAll(Pagination.pageRequest(page, size, "courseId")), Course::getCourseId);
+    }
+
+    /**
+     * Retrieves the courses following the given ID from the database, ordered
+     * by ID. Unlike {@link #getCoursesPage(int, int)}, this seeks directly to
+     * the cursor instead of skipping rows with an offset.
+     *
+     * @param after The ID after which the page starts.
+     * @param size  The page size.
+     * @return The courses after the given ID.
+     * @throws InvalidDataException If the cursor or size is invalid.
+     */
+    public PageDTO<Course> getCoursesAfter(long after, int size) {
+        return Pagination.toPageDTO(courseRepository.findByCourseIdGreaterThanOrderByCourseIdAsc(
+                after, Pagination.keysetLimit(after, size)), size, Course::getCourseId);
+    }
+
     /**
      * Retrieves a course by its ID from the database.
      *
      * @param courseId The ID of the course to retrieve.
-     * @return The course with the specified ID.
+     * @return A copy of the course with the specified ID, read through the
+     *         course cache.
      * @throws NotFoundException If the course with the specified ID is not
      *                           found.
      */
     public Course getCourseById(Long courseId) {
-        Optional<Course> optionalCourse = courseRepository.findById(courseId);
-        // Retrieves a course by ID or throws exception if not found
-        if (optionalCourse.isPresent()) {
-            return optionalCourse.get();
-        } else {
-            throw new NotFoundException(NOT_FOUND_MSG);
-        }
+        return catalogCache.getCourse(courseId, () -> {
+            Optional<Course> optionalCourse = courseRepository.findById(courseId);
+            // Retrieves a course by ID or throws exception if not found
+            if (optionalCourse.isPresent()) {
+                return optionalCourse.get();
+            } else {
+                throw new NotFoundException(NOT_FOUND_MSG);
+            }
+        });
     }
 
     /**
@@ -123,14 +243,17 @@ public class CourseService {
 
     /**
      * Retrieves all courses as DTOs (Data Transfer Objects) from the database.
+     * Courses and topics are each loaded with a single query and joined in
+     * memory, instead of querying the topics of every course separately.
      *
      * @return The list of course DTOs.
      */
     public List<CourseDTO> getAllCourseDTOs() {
-        // Converts each course to DTO and returns a list of DTOs
         List<Course> courses = courseRepository.findAll();
+        Map<Long, List<TopicDTO>> topicsByCourse = topicService.getAllTopicDTOsByCourseId();
         return courses.stream()
-                .map(this::convertToDTO)
+                .map(course -> new CourseDTO(course.getCourseId(), course.getCourseName(),
+                        topicsByCourse.getOrDefault(course.getCourseId(), new ArrayList<>())))
                 .collect(Collectors.toList());
     }
 
@@ -164,7 +287,9 @@ public class CourseService {
         if (optionalCourse.isPresent()) {
             Course course = optionalCourse.get();
             course.setCourseName(newCourseName);
-            return courseRepository.save(course);
+            Course updatedCourse = courseRepository.save(course);
+            catalogCache.evictCourse(courseId);
+            return updatedCourse;
         } else {
             throw new NotFoundException(NOT_FOUND_MSG);
         }
@@ -178,35 +303,50 @@ public class CourseService {
      * @throws NotFoundException If the course with the specified ID is not
      *                           found.
      */
+    @Transactional
     public void deleteCourseById(Long courseId) {
-        Optional<Course> optionalCourse = courseRepository.findById(courseId);
-        if (optionalCourse.isPresent()) {
-            Course course = optionalCourse.get();
-            topicService.deleteTopicsByCourse(course);
-            courseRepository.delete(course);
-        } else {
+        if (!courseRepository.existsById(courseId)) {
             throw new NotFoundException(NOT_FOUND_MSG + courseId);
         }
+        deleteCoursesWithTopics(List.of(courseId));
     }
 
     /**
      * Deletes multiple courses by their IDs from the database along with their
      * associated topics.
+     * The IDs are checked with a single query before anything is deleted, and
+     * the topics and courses are then removed with one statement each, so
+     * either all of the courses are deleted or none of them.
      *
      * @param courses The list of courses to delete.
+     * @return The number of courses deleted.
      * @throws NotFoundException If any of the courses with the specified IDs
      *                           are not found.
      */
-    public void deleteMultipleCourses(List<Course> courses) {
+    @Transactional
+    public int deleteMultipleCourses(List<Course> courses) {
+        Set<Long> courseIds = new LinkedHashSet<>();
         for (Course course : courses) {
-            Long courseId = course.getCourseId();
-            Optional<Course> optionalCourse = courseRepository.findById(courseId);
-            if (optionalCourse.isPresent()) {
-                topicService.deleteTopicsByCourse(course);
-                courseRepository.delete(course);
-            } else {
+            courseIds.add(course.getCourseId());
+        }
+        if (courseIds.isEmpty()) {
+            return 0;
+        }
+        Set<Long> existingIds = new HashSet<>(courseRepository.findExistingCourseIds(courseIds));
+        for (Long courseId : courseIds) {
+            if (!existingIds.contains(courseId)) {
                 throw new NotFoundException(NOT_FOUND_MSG + courseId);
             }
         }
+        return deleteCoursesWithTopics(courseIds);
+    }
+
+    private int deleteCoursesWithTopics(Collection<Long> courseIds) {
+        topicService.deleteTopicsByCourseIds(courseIds);
+        int deleted = courseRepository.deleteCoursesByIdIn(courseIds);
+        for (Long courseId : courseIds) {
+            catalogCache.evictCourse(courseId);
+        }
+        return deleted;
     }
 }
@@ -1,34 +1,58 @@
 package com.thbs.lms.service;
 
+import com.thbs.lms.config.CacheConfig;
+import com.thbs.lms.config.MetricsConfig;
+import com.thbs.lms.dto.PageDTO;
 import com.thbs.lms.exception.*;
 import com.thbs.lms.model.LearningPlan;
+import com.thbs.lms.repository.BatchAssignment;
 import com.thbs.lms.repository.LearningPlanRepository;
+import com.thbs.lms.utility.Pagination;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 
+import io.micrometer.core.annotation.Timed;
+
 /**
  * The {@code LearningPlanService} class provides methods for managing learning
  * plans.
  */
 @Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
 public class LearningPlanService {
 
     private static final String NOT_FOUND_MSG = "Learning plan not found.";
+    private static final int MAX_BATCH_LOOKUP = 1000;
     private final LearningPlanRepository learningPlanRepository;
+    private final CacheManager cacheManager;
+    private final CatalogCache catalogCache;
 
     /**
      * Constructs a new instance of {@code LearningPlanService} with the specified
      * dependencies.
      *
      * @param learningPlanRepository The repository for managing learning plans.
+     * @param cacheManager           The manager of the batch cache.
+     * @param catalogCache           The cache evictor for batches.
      */
     @Autowired
-    public LearningPlanService(LearningPlanRepository learningPlanRepository) {
+    public LearningPlanService(LearningPlanRepository learningPlanRepository, CacheManager cacheManager,
+            CatalogCache catalogCache) {
         this.learningPlanRepository = learningPlanRepository;
+        this.cacheManager = cacheManager;
+        this.catalogCache = catalogCache;
     }
 
     /**
@@ -50,8 +74,7 @@ public class LearningPlanService {
         }
 
         // Check if the batch ID is already attached to a learning plan
-        LearningPlan existingLearningPlan = learningPlanRepository.findByBatchIdsContaining(learningPlan.getBatchIds());
-        if (existingLearningPlan != null) {
+        if (!findLearningPlanIdsByBatchIds(learningPlan.getBatchIds()).isEmpty()) {
             throw new DuplicateEntryException("Learning plan for this batch already exists");
         }
 
@@ -63,13 +86,17 @@ public class LearningPlanService {
             if (!duplicateLearningPlan.getBatchIds().equals(learningPlan.getBatchIds())) {
                 // Add batch ID to existing learning plan
                 duplicateLearningPlan.addBatchId(learningPlan.getBatchIds());
-                return learningPlanRepository.save(duplicateLearningPlan);
+                LearningPlan savedLearningPlan = learningPlanRepository.save(duplicateLearningPlan);
+                catalogCache.evictBatches(learningPlan.getBatchIds());
+                return savedLearningPlan;
             }
             return duplicateLearningPlan; // Return existing learning plan without creating duplicate
         }
 
         // No duplicate learning plan found, save the new learning plan
-        return learningPlanRepository.save(learningPlan);
+        LearningPlan savedLearningPlan = learningPlanRepository.save(learningPlan);
+        catalogCache.evictBatches(learningPlan.getBatchIds());
+        return savedLearningPlan;
     }
 
     /**
@@ -81,6 +108,34 @@ public class LearningPlanService {
         return learningPlanRepository.findAll();
     }
 
+    /**
+     * Retrieves one page of learning plans from the database, ordered by ID.
+     *
+     * @param page The zero-based page number.
+     * @param size The page size.
+     * @return The requested page of learning plans.
+     * @throws InvalidDataException If the page number or size is invalid.
+     */
+    public PageDTO<LearningPlan> getLearningPlansPage(int page, int size) {
+        return Pagination.toPageDTO(
+                learningPlanRepository.findAll(Pagination.pageRequest(page, size, "learningPlanId")), LearningPlan::getLearningPlanId);
+    }
+
+    /**
+     * Retrieves the learning plans following the given ID from the database, ordered
+     * by ID. Unlike {@link #getLearningPlansPage(int, int)}, this seeks directly to
+     * the cursor instead of skipping rows with an offset.
+     *
+     * @param after The ID after which the page starts.
+     * @param size  The page size.
+     * @return The learning plans after the given ID.
+     * @throws InvalidDataException If the cursor or size is invalid.
+     */
+    public PageDTO<LearningPlan> getLearningPlansAfter(long after, int size) {
+        return Pagination.toPageDTO(learningPlanRepository.findByLearningPlanIdGreaterThanOrderByLearningPlanIdAsc(
+                after, Pagination.keysetLimit(after, size)), size, LearningPlan::getLearningPlanId);
+    }
+
     /**
      * Retrieves a learning plan by its ID from the database.
      *
@@ -119,6 +174,7 @@ public class LearningPlanService {
 
     /**
      * Retrieves learning plan associated with the batch ID from the database.
+     * The learning plan ID of each batch is cached.
      *
      * @param batchID The ID of the batch.
      * @return The learning plan associated with the specified batch ID.
@@ -132,14 +188,87 @@ public class LearningPlanService {
             // Throws exception if batch ID is invalid or no learning plans found
             throw new InvalidDataException("Batch ID cannot be null");
         }
-        LearningPlan learningPlan = learningPlanRepository.findByBatchIdsContaining(batchId);
-        if (learningPlan != null) {
-            return learningPlan;
+        Map<Long, LearningPlan> learningPlans = getLearningPlansByBatchIds(batchId);
+        if (!learningPlans.isEmpty()) {
+            return learningPlans.values().iterator().next();
         } else {
             throw new NotFoundException(NOT_FOUND_MSG);
         }
     }
 
+    /**
+     * Retrieves the learning plans of many batches at once. The learning plan
+     * ID of each batch is cached; the batches missing from the cache are
+     * resolved with one query, and the learning plans are loaded with one more.
+     *
+     * @param batchIds The IDs of the batches.
+     * @return The learning plan of each batch that has one, keyed by batch ID
+     *         in the order of the request.
+     * @throws InvalidDataException If the batch IDs are null, contain null or
+     *                              are more than 1000.
+     */
+    public Map<Long, LearningPlan> getLearningPlansByBatchIds(Collection<Long> batchIds) {
+        if (batchIds == null || batchIds.stream().anyMatch(Objects::isNull)) {
+            throw new InvalidDataException("Batch ID cannot be null");
+        }
+        if (batchIds.size() > MAX_BATCH_LOOKUP) {
+            throw new InvalidDataException("At most " + MAX_BATCH_LOOKUP + " batch IDs can be looked up at once.");
+        }
+        Map<Long, Long> learningPlanIds = findLearningPlanIdsByBatchIds(batchIds);
+        Map<Long, LearningPlan> learningPlansById = new LinkedHashMap<>();
+        if (!learningPlanIds.isEmpty()) {
+            for (LearningPlan learningPlan : learningPlanRepository
+                    .findWithBatchIdsByLearningPlanIdIn(new HashSet<>(learningPlanIds.values()))) {
+                learningPlansById.put(learningPlan.getLearningPlanId(), learningPlan);
+            }
+        }
+
+        Map<Long, LearningPlan> learningPlans = new LinkedHashMap<>();
+        for (Map.Entry<Long, Long> entry : learningPlanIds.entrySet()) {
+            LearningPlan learningPlan = learningPlansById.get(entry.getValue());
+            if (learningPlan != null) {
+                learningPlans.put(entry.getKey(), learningPlan);
+            }
+        }
+        return learningPlans;
+    }
+
+    /**
+     * Resolves batch IDs to learning plan IDs, reading the cache first and
+     * querying the missing batches at once. Batches without a learning plan
+     * are cached as such too, so that repeated lookups of unassigned batches
+     * do not query the database; saving a learning plan evicts its batches.
+     *
+     * @param batchIds The IDs of the batches.
+     * @return The learning plan ID of each batch that has one, in the order of
+     *         the batch IDs.
+     */
+    private Map<Long, Long> findLearningPlanIdsByBatchIds(Collection<Long> batchIds) {
+        Cache cache = cacheManager.getCache(CacheConfig.LEARNING_PLAN_IDS_BY_BATCH);
+        Map<Long, Long> learningPlanIds = new LinkedHashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long batchId : batchIds) {
+            Cache.ValueWrapper cached = cache == null ? null : cache.get(batchId);
+            learningPlanIds.put(batchId, cached == null ? null : (Long) cached.get());
+            if (cached == null) {
+                missing.add(batchId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (BatchAssignment assignment : learningPlanRepository.findBatchAssignments(missing)) {
+                learningPlanIds.put(assignment.getBatchId(), assignment.getLearningPlanId());
+            }
+            if (cache != null) {
+                // Misses are cached as null, which the cache managers allow by default
+                for (Long batchId : missing) {
+                    cache.put(batchId, learningPlanIds.get(batchId));
+                }
+            }
+        }
+        learningPlanIds.values().removeIf(learningPlanId -> learningPlanId == null);
+        return learningPlanIds;
+    }
+
     /**
      * Updates the name of a learning plan.
      *
@@ -168,7 +297,9 @@ public class LearningPlanService {
         if (!learningPlanRepository.existsById(id)) {
             throw new NotFoundException(NOT_FOUND_MSG);
         }
+        List<Long> batchIds = learningPlanRepository.findBatchIdsByLearningPlanId(id);
         learningPlanRepository.deleteById(id);
+        catalogCache.evictBatches(batchIds);
     }
 }
 
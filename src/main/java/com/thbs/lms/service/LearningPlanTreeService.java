@@ -0,0 +1,161 @@
+package com.thbs.lms.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.annotation.Timed;
+
+import com.thbs.lms.config.MetricsConfig;
+import com.thbs.lms.dto.CourseDTO;
+import com.thbs.lms.dto.LearningPlanDTO;
+import com.thbs.lms.dto.PageDTO;
+import com.thbs.lms.dto.PathDTO;
+import com.thbs.lms.dto.TopicDTO;
+import com.thbs.lms.exception.InvalidDataException;
+import com.thbs.lms.model.LearningPlan;
+import com.thbs.lms.repository.LearningPlanRepository;
+import com.thbs.lms.repository.ModulePathRow;
+import com.thbs.lms.repository.ModuleRepository;
+import com.thbs.lms.utility.Pagination;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * The {@code LearningPlanTreeService} class assembles learning plans into
+ * {@link LearningPlanDTO} trees: each plan with its modules as paths, the
+ * course of every path and the topics of every course.
+ * A tree is built with three queries whatever its size: one for the learning
+ * plans and their batches, one for the modules joined with their courses, and
+ * one for the topics of all those courses. The rows are joined in memory.
+ * At most 1000 learning plans are assembled at once; further plans are read
+ * page by page.
+ */
+@Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
+public class LearningPlanTreeService {
+
+    private static final String COURSE_PATH_TYPE = "Course";
+    private static final int MAX_LEARNING_PLAN_IDS = 1000;
+
+    private final LearningPlanRepository learningPlanRepository;
+    private final ModuleRepository moduleRepository;
+    private final TopicService topicService;
+
+    /**
+     * Constructs a new instance of {@code LearningPlanTreeService} with the
+     * specified dependencies.
+     *
+     * @param learningPlanRepository The repository for managing learning plans.
+     * @param moduleRepository       The repository for managing modules.
+     * @param topicService           The service for managing topics.
+     */
+    @Autowired
+    public LearningPlanTreeService(LearningPlanRepository learningPlanRepository, ModuleRepository moduleRepository,
+            TopicService topicService) {
+        this.learningPlanRepository = learningPlanRepository;
+        this.moduleRepository = moduleRepository;
+        this.topicService = topicService;
+    }
+
+    /**
+     * Retrieves the trees of the given learning plans, or of the first 1000
+     * learning plans when no IDs are given. Unknown IDs are ignored.
+     *
+     * @param learningPlanIds The IDs of the learning plans, or {@code null} or
+     *                        empty for the first 1000 learning plans.
+     * @return The learning plan trees, ordered by learning plan ID.
+     * @throws InvalidDataException If the IDs contain null or are more than
+     *                              1000.
+     */
+    public List<LearningPlanDTO> getLearningPlanTrees(Collection<Long> learningPlanIds) {
+        if (learningPlanIds == null || learningPlanIds.isEmpty()) {
+            return getLearningPlanTreesAfter(0, MAX_LEARNING_PLAN_IDS).getContent();
+        }
+        if (learningPlanIds.stream().anyMatch(Objects::isNull)) {
+            throw new InvalidDataException("Learning plan ID cannot be null");
+        }
+        if (learningPlanIds.size() > MAX_LEARNING_PLAN_IDS) {
+            throw new InvalidDataException(
+                    "At most " + MAX_LEARNING_PLAN_IDS + " learning plans can be retrieved at once.");
+        }
+        return buildTrees(new HashSet<>(learningPlanIds));
+    }
+
+    /**
+     * Retrieves the trees of the learning plans following the given ID, ordered
+     * by ID. The page of IDs is read with one more query before the tree.
+     *
+     * @param after The learning plan ID after which the page starts.
+     * @param size  The page size.
+     * @return The page of learning plan trees.
+     * @throws InvalidDataException If the cursor or size is invalid.
+     */
+    public PageDTO<LearningPlanDTO> getLearningPlanTreesAfter(long after, int size) {
+        PageDTO<Long> ids = Pagination.toPageDTO(
+                learningPlanRepository.findLearningPlanIdsAfter(after, Pagination.keysetLimit(after, size)), size,
+                Function.identity());
+        List<LearningPlanDTO> trees = ids.getContent().isEmpty() ? new ArrayList<>()
+                : buildTrees(new HashSet<>(ids.getContent()));
+        return new PageDTO<>(trees, null, size, ids.isHasNext(), ids.getNextCursor());
+    }
+
+    /**
+     * Builds the trees of the given learning plans with three queries.
+     *
+     * @param ids The IDs of the learning plans, at most 1000.
+     * @return The learning plan trees, ordered by learning plan ID.
+     */
+    private List<LearningPlanDTO> buildTrees(Set<Long> ids) {
+        List<LearningPlan> learningPlans = new ArrayList<>(
+                learningPlanRepository.findWithBatchIdsByLearningPlanIdIn(ids));
+        learningPlans.sort(Comparator.comparing(LearningPlan::getLearningPlanId));
+        List<ModulePathRow> modules = learningPlans.isEmpty() ? new ArrayList<>()
+                : moduleRepository.findModulePathsByLearningPlanIdIn(ids);
+
+        Set<Long> courseIds = new LinkedHashSet<>();
+        for (ModulePathRow module : modules) {
+            if (module.getCourseId() != null) {
+                courseIds.add(module.getCourseId());
+            }
+        }
+        Map<Long, List<TopicDTO>> topicsByCourse = topicService.getTopicDTOsByCourseIds(courseIds);
+
+        // Each course appears once in the tree however many modules teach it
+        Map<Long, CourseDTO> coursesById = new HashMap<>();
+        Map<Long, List<PathDTO>> pathsByLearningPlan = new HashMap<>();
+        for (ModulePathRow module : modules) {
+            CourseDTO course = null;
+            if (module.getCourseId() != null) {
+                course = coursesById.computeIfAbsent(module.getCourseId(),
+                        courseId -> new CourseDTO(courseId, module.getCourseName(),
+                                topicsByCourse.getOrDefault(courseId, new ArrayList<>())));
+            }
+            pathsByLearningPlan.computeIfAbsent(module.getLearningPlanId(), learningPlanId -> new ArrayList<>())
+                    .add(new PathDTO(module.getModuleId(), COURSE_PATH_TYPE, module.getTrainer(),
+                            module.getStartDate(), module.getEndDate(), course));
+        }
+
+        List<LearningPlanDTO> trees = new ArrayList<>();
+        for (LearningPlan learningPlan : learningPlans) {
+            Set<Long> batchIds = learningPlan.getBatchIds();
+            LearningPlanDTO tree = new LearningPlanDTO(batchIds.size() == 1 ? batchIds.iterator().next() : null,
+                    learningPlan.getLearningPlanId(),
+                    pathsByLearningPlan.getOrDefault(learningPlan.getLearningPlanId(), new ArrayList<>()));
+            tree.setLearningPlanName(learningPlan.getLearningPlanName());
+            tree.setType(learningPlan.getType());
+            tree.setBatchIds(new HashSet<>(batchIds));
+            trees.add(tree);
+        }
+        return trees;
+    }
+}
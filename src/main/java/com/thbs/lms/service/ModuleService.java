@@ -1,25 +1,44 @@
 package com.thbs.lms.service;
 
+import com.thbs.lms.config.MetricsConfig;
+import com.thbs.lms.dto.BatchResultDTO;
+import com.thbs.lms.dto.PageDTO;
 import com.thbs.lms.exception.*;
 import com.thbs.lms.model.Module;
 import com.thbs.lms.repository.ModuleRepository;
+import com.thbs.lms.repository.ModuleSchedule;
+import com.thbs.lms.utility.BatchValidation;
+import com.thbs.lms.utility.Pagination;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.micrometer.core.annotation.Timed;
 
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * The {@code moduleService} class provides methods for managing
  * modules.
  */
 @Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
 public class ModuleService {
 
     private static final String NOT_FOUND_MSG = "Module not found.";
+    private static final String INVALID_DATA_MSG = "Invalid or incomplete data provided for creating module";
+    private static final String DUPLICATE_MSG = "A module with the same start date and end date for this course, attached to the same learning plan already exists.";
     private ModuleRepository moduleRepository;
+    private TrainerSchedule trainerSchedule;
+    private ReminderService reminderService;
 
     /**
      * Constructs a new instance of {@code LearningPlanPathService} with the
@@ -27,10 +46,15 @@ public class ModuleService {
      *
      * @param moduleRepository The repository for managing learning plan
      *                         paths.
+     * @param trainerSchedule  The index of the bookings of each trainer.
+     * @param reminderService  The queue of reminders of modules ending soon.
      */
     @Autowired
-    public ModuleService(ModuleRepository moduleRepository) {
+    public ModuleService(ModuleRepository moduleRepository, TrainerSchedule trainerSchedule,
+            ReminderService reminderService) {
         this.moduleRepository = moduleRepository;
+        this.trainerSchedule = trainerSchedule;
+        this.reminderService = reminderService;
     }
 
     /**
@@ -40,46 +64,190 @@ public class ModuleService {
      * @return The saved module.
      * @throws InvalidDataException    If the module data is invalid.
      * @throws DuplicateEntryException If a module with the same details already
-     *                                 exists.
+     *                                 exists, or if the trainer is already
+     *                                 booked in the period of the module.
      */
+    @Transactional
     public Module saveModule(Module module) {
         // Validates data and checks for duplicates before saving
-        if (module.getStartDate() == null || module.getEndDate() == null
-                || module.getTrainer() == null || module.getTrainer().isEmpty()
-                || module.getCourse() == null) {
-            // Throws exceptions if path data is invalid or duplicate
-            throw new InvalidDataException("Invalid or incomplete data provided for creating module");
-        }
+        validateModule(module);
         Long learningPlanId = module.getLearningPlan().getLearningPlanId();
 
         Optional<Module> existingEntry = moduleRepository
                 .findByLearningPlanLearningPlanIdAndCourseAndStartDateAndEndDate(learningPlanId,
                         module.getCourse(), module.getStartDate(), module.getEndDate());
         if (existingEntry.isPresent()) {
-            throw new DuplicateEntryException(
-                    "A module with the same start date and end date for this course, attached to the same learning plan already exists.");
+            throw new DuplicateEntryException(DUPLICATE_MSG);
         }
+        trainerSchedule.checkAvailable(module.getTrainer(), module.getStartDate(), module.getEndDate(), null);
 
-        return moduleRepository.save(module);
+        Module savedModule = moduleRepository.save(module);
+        trainerSchedule.record(savedModule);
+        reminderService.record(List.of(savedModule));
+        return savedModule;
     }
 
     /**
      * Saves a list of modules to the database with validation.
+     * The modules are checked against the existing modules of their learning
+     * plans with one query per learning plan and against each other in
+     * memory, then inserted together in one transaction. Nothing is saved if
+     * any module is invalid or duplicate.
      *
      * @param modules The list of modules to be saved.
      * @return The list of saved modules.
      * @throws InvalidDataException    If any module in the list has invalid data.
-     * @throws DuplicateEntryException If any module in the list already exists.
+     * @throws DuplicateEntryException If any module in the list already exists,
+     *                                 or if any trainer would be double-booked.
      */
+    @Transactional
     public List<Module> saveAllModules(List<Module> modules) {
-        List<Module> savedModules = new ArrayList<>();
-        // Validate input modules
-        for (Module module : modules) {
-            savedModules.add(saveModule(module));
+        if (modules.isEmpty()) {
+            return new ArrayList<>();
+        }
+        validateModules(modules).throwFirstRejection();
+        return insertModules(modules);
+    }
+
+    /**
+     * Saves a list of modules in one transaction, reporting the outcome of
+     * each module.
+     * If any module is rejected, none is saved and the result lists why each
+     * rejected module was refused.
+     *
+     * @param modules The list of modules to be saved.
+     * @return The outcome of each module.
+     */
+    @Transactional
+    public BatchResultDTO<Module> saveModulesInBatch(List<Module> modules) {
+        BatchValidation validation = validateModules(modules);
+        if (validation.hasRejections()) {
+            return validation.toRejectedResult(modules);
         }
+        return BatchResultDTO.saved(insertModules(modules));
+    }
+
+    /**
+     * Validates a list of modules against the modules of their learning plans,
+     * read with one query per learning plan, against the bookings of their
+     * trainers, and against each other.
+     *
+     * @param modules The modules to validate.
+     * @return The failures of the rejected modules.
+     */
+    private BatchValidation validateModules(List<Module> modules) {
+        BatchValidation validation = new BatchValidation(modules.size());
+        // Validate input modules and group them by learning plan
+        Map<Long, List<Integer>> indexesByLearningPlan = new LinkedHashMap<>();
+        for (int i = 0; i < modules.size(); i++) {
+            Module module = modules.get(i);
+            try {
+                validateModule(module);
+            } catch (InvalidDataException e) {
+                validation.reject(i, e);
+                continue;
+            }
+            indexesByLearningPlan
+                    .computeIfAbsent(module.getLearningPlan().getLearningPlanId(), id -> new ArrayList<>())
+                    .add(i);
+        }
+
+        for (Map.Entry<Long, List<Integer>> entry : indexesByLearningPlan.entrySet()) {
+            // Keys of the modules already scheduled in this learning plan
+            Set<List<Object>> scheduled = new HashSet<>();
+            for (ModuleSchedule existing : moduleRepository.findSchedulesByLearningPlanId(entry.getKey())) {
+                scheduled.add(scheduleKey(existing.getCourseId(), existing.getStartDate(), existing.getEndDate()));
+            }
+            for (int i : entry.getValue()) {
+                Module module = modules.get(i);
+                // Rejects modules that exist already or appear twice in the request
+                if (!scheduled.add(scheduleKey(module.getCourse().getCourseId(), module.getStartDate(),
+                        module.getEndDate()))) {
+                    validation.reject(i, new DuplicateEntryException(DUPLICATE_MSG));
+                }
+            }
+        }
+
+        // Only the modules accepted so far take a trainer's time
+        List<Module> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        for (int i = 0; i < modules.size(); i++) {
+            if (!validation.isRejected(i)) {
+                accepted.add(modules.get(i));
+                acceptedIndexes.add(i);
+            }
+        }
+        for (int conflict : trainerSchedule.findConflicts(accepted)) {
+            validation.reject(acceptedIndexes.get(conflict), TrainerSchedule.conflictException());
+        }
+        return validation;
+    }
+
+    /**
+     * Inserts validated modules in JDBC batches and records their bookings and
+     * reminders.
+     *
+     * @param modules The validated modules.
+     * @return The saved modules, in the same order.
+     */
+    private List<Module> insertModules(List<Module> modules) {
+        List<Module> savedModules = moduleRepository.saveAll(modules);
+        savedModules.forEach(trainerSchedule::record);
+        reminderService.record(savedModules);
         return savedModules;
     }
 
+    /**
+     * Retrieves the trainers who have modules but none overlapping the given
+     * period.
+     *
+     * @param startDate The first day of the period.
+     * @param endDate   The last day of the period.
+     * @return The free trainers, sorted by name.
+     * @throws InvalidDataException If the dates are missing or the end date is
+     *                              before the start date.
+     */
+    public List<String> getFreeTrainers(Date startDate, Date endDate) {
+        if (startDate == null || endDate == null) {
+            throw new InvalidDataException("Invalid or incomplete date provided for finding free trainers");
+        }
+        if (endDate.before(startDate)) {
+            throw new InvalidDataException("End date must be after start date");
+        }
+        return trainerSchedule.findFreeTrainers(startDate, endDate);
+    }
+
+    /**
+     * Checks that a module has dates, a trainer, a course and a learning plan.
+     *
+     * @param module The module to validate.
+     * @throws InvalidDataException If the module data is invalid.
+     */
+    private void validateModule(Module module) {
+        if (module.getStartDate() == null || module.getEndDate() == null
+                || module.getTrainer() == null || module.getTrainer().isEmpty()
+                || module.getCourse() == null || module.getLearningPlan() == null) {
+            // Throws exceptions if path data is invalid or duplicate
+            throw new InvalidDataException(INVALID_DATA_MSG);
+        }
+    }
+
+    /**
+     * Builds the key under which a module is unique within its learning plan:
+     * its course and its start and end days. The dates are compared as
+     * calendar days, the same way the {@code DATE} columns store them.
+     *
+     * @param courseId  The ID of the course of the module.
+     * @param startDate The start date of the module.
+     * @param endDate   The end date of the module.
+     * @return The course ID, start day and end day of the module.
+     */
+    private static List<Object> scheduleKey(Long courseId, Date startDate, Date endDate) {
+        return List.of(Objects.requireNonNullElse(courseId, -1L),
+                new java.sql.Date(startDate.getTime()).toLocalDate(),
+                new java.sql.Date(endDate.getTime()).toLocalDate());
+    }
+
     /**
      * Retrieves all modules from the database.
      *
@@ -89,6 +257,34 @@ public class ModuleService {
         return moduleRepository.findAll();
     }
 
+    /**
+     * Retrieves one page of modules from the database, ordered by ID.
+     *
+     * @param page The zero-based page number.
+     * @param size The page size.
+     * @return The requested page of modules.
+     * @throws InvalidDataException If the page number or size is invalid.
+     */
+    public PageDTO<Module> getModulesPage(int page, int size) {
+        return Pagination.toPageDTO(
+                moduleRepository.findAll(Pagination.pageRequest(page, size, "moduleId")), Module::getModuleId);
+    }
+
+    /**
+     * Retrieves the modules following the given ID from the database, ordered
+     * by ID. Unlike {@link #getModulesPage(int, int)}, this seeks directly to
+     * the cursor instead of skipping rows with an offset.
+     *
+     * @param after The ID after which the page starts.
+     * @param size  The page size.
+     * @return The modules after the given ID.
+     * @throws InvalidDataException If the cursor or size is invalid.
+     */
+    public PageDTO<Module> getModulesAfter(long after, int size) {
+        return Pagination.toPageDTO(moduleRepository.findByModuleIdGreaterThanOrderByModuleIdAsc(
+                after, Pagination.keysetLimit(after, size)), size, Module::getModuleId);
+    }
+
     /**
      * Retrieves modules by learning plan ID from the database.
      *
@@ -124,7 +320,10 @@ public class ModuleService {
      * @throws InvalidDataException If the trainer is invalid or incomplete.
      * @throws NotFoundException    If the module with the specified ID is not
      *                              found.
+     * @throws DuplicateEntryException If the new trainer is already booked in
+     *                                 the period of the module.
      */
+    @Transactional
     public Module updateModuleTrainer(Long moduleId, String newTrainer) {
         // Validates and updates the trainer of the path
         if (newTrainer == null || newTrainer.isEmpty()) {
@@ -133,8 +332,13 @@ public class ModuleService {
         }
         Module module = moduleRepository.findById(moduleId)
                 .orElseThrow(() -> new NotFoundException(NOT_FOUND_MSG));
+        if (module.getStartDate() != null && module.getEndDate() != null) {
+            trainerSchedule.checkAvailable(newTrainer, module.getStartDate(), module.getEndDate(), moduleId);
+        }
         module.setTrainer(newTrainer);
-        return moduleRepository.save(module);
+        Module savedModule = moduleRepository.save(module);
+        trainerSchedule.record(savedModule);
+        return savedModule;
     }
 
     /**
@@ -148,7 +352,10 @@ public class ModuleService {
      *                              incomplete.
      * @throws NotFoundException    If the module with
      *                              the specified ID is not found.
+     * @throws DuplicateEntryException If the trainer of the module is already
+     *                                 booked in the new period.
      */
+    @Transactional
     public Optional<Module> updateModuleDates(Long moduleId, Date startDate,
             Date endDate) {
         if (startDate == null || endDate == null) {
@@ -165,9 +372,15 @@ public class ModuleService {
                 .findById(moduleId);
         if (optionalmodule.isPresent()) {
             Module module = optionalmodule.get();
+            if (module.getTrainer() != null) {
+                trainerSchedule.checkAvailable(module.getTrainer(), startDate, endDate, moduleId);
+            }
             module.setStartDate(startDate);
             module.setEndDate(endDate);
-            return Optional.of(moduleRepository.save(module));
+            Module savedModule = moduleRepository.save(module);
+            trainerSchedule.record(savedModule);
+            reminderService.record(List.of(savedModule));
+            return Optional.of(savedModule);
         } else {
             throw new NotFoundException(NOT_FOUND_MSG);
         }
@@ -175,16 +388,23 @@ public class ModuleService {
 
     /**
      * Deletes all modules associated with a learning plan from the
-     * database.
+     * database with a single statement.
      *
      * @param learningPlanId The ID of the learning plan.
+     * @return The number of modules deleted.
      */
-    public void deleteModulesByLearningPlanId(Long learningPlanId) {
-        List<Module> modules = moduleRepository
-                .findByLearningPlanLearningPlanId(learningPlanId);
-        for (Module path : modules) {
-            deleteModule(path.getModuleId());
+    @Transactional
+    public int deleteModulesByLearningPlanId(Long learningPlanId) {
+        List<Long> moduleIds = moduleRepository.findModuleIdsByLearningPlanId(learningPlanId);
+        if (moduleIds.isEmpty()) {
+            return 0;
+        }
+        int deleted = moduleRepository.deleteModulesByLearningPlanId(learningPlanId);
+        for (Long moduleId : moduleIds) {
+            trainerSchedule.forget(moduleId);
         }
+        reminderService.forget(moduleIds);
+        return deleted;
     }
 
     /**
@@ -194,6 +414,12 @@ public class ModuleService {
      */
     public void deleteModules(List<Module> modules) {
         moduleRepository.deleteAll(modules);
+        List<Long> moduleIds = new ArrayList<>();
+        for (Module module : modules) {
+            trainerSchedule.forget(module.getModuleId());
+            moduleIds.add(module.getModuleId());
+        }
+        reminderService.forget(moduleIds);
     }
 
     /**
@@ -208,6 +434,8 @@ public class ModuleService {
         Optional<Module> module = moduleRepository.findById(moduleId);
         if (module.isPresent()) {
             moduleRepository.delete(module.get());
+            trainerSchedule.forget(moduleId);
+            reminderService.forget(List.of(moduleId));
         } else {
             throw new NotFoundException(NOT_FOUND_MSG);
         }
@@ -1,79 +1,269 @@
-// package com.thbs.lms.service;
-
-// import com.thbs.lms.dto.CourseDTO;
-// import com.thbs.lms.dto.ReminderDTO;
-// import com.thbs.lms.model.Module;
-// import com.thbs.lms.repository.LearningPlanPathRepository;
-// import org.springframework.beans.factory.annotation.Autowired;
-// import org.springframework.stereotype.Service;
-
-// import java.time.LocalDate;
-// import java.util.ArrayList;
-// import java.util.Date;
-// import java.util.HashMap;
-// import java.util.List;
-// import java.util.Map;
-
-// @Service
-// public class ReminderService {
-
-//     @Autowired
-//     private LearningPlanPathRepository learningPlanPathRepository;
-
-//     @Autowired
-//     private LearningPlanService learningPlanService;
-
-//     @Autowired
-//     private CourseService courseService;
-
-//     public List<ReminderDTO> generateReminders() {
-//         List<ReminderDTO> reminders = new ArrayList<>();
-//         Date currentDate = new Date(); // Get the current date
-
-//         // Fetch LearningPlanPaths with type MCQ
-//         List<Module> mcqPaths = learningPlanPathRepository.findByType("MCQ");
-//         for (Module mcqPath : mcqPaths) {
-//             if (mcqPath.getEndDate().after(currentDate) || mcqPath.getEndDate().equals(currentDate)) { // Check if end date is after or equal to current date
-//                 Long batchId = learningPlanService.getBatchIdByLearningPlanId(mcqPath.getLearningPlan().getBatchId());
-//                 CourseDTO courseDTO = courseService.convertToDTO(courseService.getCourseById(mcqPath.getCourse().getCourseId()));
-//                 List<CourseDTO> dtocourselist = new ArrayList<>();
-//                 dtocourselist.add(courseDTO);
-//                 ReminderDTO reminderDTO = new ReminderDTO();
-//                 reminderDTO.setType(mcqPath.getType());
-//                 reminderDTO.setStartDate(mcqPath.getStartDate());
-//                 reminderDTO.setEndDate(mcqPath.getEndDate());
-//                 reminderDTO.setBatchId(batchId);
-//                 reminderDTO.setCourseDTO(dtocourselist);
-//                 reminders.add(reminderDTO);
-//             }
-//         }
-
-//         // Fetch LearningPlanPaths with type evaluation
-//         List<Module> evaluationPaths = learningPlanPathRepository.findByType("Evaluation");
-//         Map<String, ReminderDTO> evaluationReminderMap = new HashMap<>();
-//         for (Module evaluationPath : evaluationPaths) {
-//             if (evaluationPath.getEndDate().after(currentDate) || evaluationPath.getEndDate().equals(currentDate)) { // Check if end date is after or equal to current date
-//                 String key = evaluationPath.getStartDate().toString() + "_" + evaluationPath.getEndDate().toString();
-//                 ReminderDTO reminderDTO = evaluationReminderMap.get(key);
-//                 if (reminderDTO == null) {
-//                     reminderDTO = new ReminderDTO();
-//                     reminderDTO.setType("Evaluation");
-//                     reminderDTO.setStartDate(evaluationPath.getStartDate());
-//                     reminderDTO.setEndDate(evaluationPath.getEndDate());
-//                     reminderDTO.setCourseDTO(new ArrayList<>());
-//                     Long batchId = learningPlanService.getBatchIdByLearningPlanId(evaluationPath.getLearningPlan().getBatchId());
-//                     reminderDTO.setBatchId(batchId);
-//                     evaluationReminderMap.put(key, reminderDTO);
-//                 }
-//                 if (!reminderDTO.getCourseDTO().stream().anyMatch(courseDTO -> evaluationPath.getCourse().getCourseId().equals(courseDTO.getCourseId()))) {
-//                     CourseDTO courseDTO = courseService.convertToDTO(courseService.getCourseById(evaluationPath.getCourse().getCourseId()));
-//                     reminderDTO.getCourseDTO().add(courseDTO);
-//                 }
-//             }
-//         }
-//         reminders.addAll(evaluationReminderMap.values());
-
-//         return reminders;
-//     }
-
-// }
+package com.thbs.lms.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.thbs.lms.dto.CourseDTO;
+import com.thbs.lms.dto.ReminderDTO;
+import com.thbs.lms.dto.TopicDTO;
+import com.thbs.lms.model.Course;
+import com.thbs.lms.model.Module;
+import com.thbs.lms.repository.CourseRepository;
+import com.thbs.lms.repository.ModuleReminderRow;
+import com.thbs.lms.repository.ModuleRepository;
+import com.thbs.lms.utility.RebuildLog;
+import com.thbs.lms.utility.TransactionHooks;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The {@code ReminderService} class reminds batches of the modules that end
+ * soon.
+ * It keeps the modules that have not ended yet in a queue ordered by end date,
+ * built from the database when the application starts and updated whenever a
+ * module is saved, rescheduled or deleted. The reminders due within the
+ * configured horizon are precomputed into a snapshot, so reading them does not
+ * query the database. The snapshot is also refreshed on a schedule, which
+ * drops ended modules and picks up course and topic changes.
+ */
+@Service
+public class ReminderService {
+
+    private static final String COURSE_REMINDER_TYPE = "Course";
+
+    private final ModuleRepository moduleRepository;
+    private final CourseRepository courseRepository;
+    private final TopicService topicService;
+    private final int horizonDays;
+
+    private final TreeSet<Upcoming> queue = new TreeSet<>(
+            Comparator.comparingLong(Upcoming::endDay).thenComparingLong(Upcoming::moduleId));
+    private final Map<Long, Upcoming> upcomingByModule = new HashMap<>();
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private final RebuildLog rebuildLog = new RebuildLog();
+    private volatile List<ReminderDTO> snapshot = List.of();
+
+    /**
+     * Constructs a new instance of {@code ReminderService} with the specified
+     * dependencies.
+     *
+     * @param moduleRepository The repository the queue is built from.
+     * @param courseRepository The repository for reading the courses of due
+     *                         modules.
+     * @param topicService     The service for reading the topics of due modules.
+     * @param horizonDays      The number of days ahead for which reminders are
+     *                         due.
+     */
+    @Autowired
+    public ReminderService(ModuleRepository moduleRepository, CourseRepository courseRepository,
+            TopicService topicService, @Value("${lms.reminder.horizon-days:7}") int horizonDays) {
+        this.moduleRepository = moduleRepository;
+        this.courseRepository = courseRepository;
+        this.topicService = topicService;
+        this.horizonDays = horizonDays;
+    }
+
+    /**
+     * Retrieves the reminders of the modules ending between today and the end
+     * of the horizon, ordered by end date, from the precomputed snapshot.
+     *
+     * @return The due reminders.
+     */
+    public List<ReminderDTO> generateReminders() {
+        return snapshot;
+    }
+
+    /**
+     * Rebuilds the queue from the modules stored in the database and
+     * recomputes the snapshot. Modules saved or deleted while the database is
+     * read are applied again on top of the rows read.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Date today = toDate(today());
+        rebuildLog.rebuild(() -> moduleRepository.findReminderRowsEndingOnOrAfter(today), this::runLocked, rows -> {
+            queue.clear();
+            upcomingByModule.clear();
+            for (ModuleReminderRow row : rows) {
+                add(new Upcoming(row.getModuleId(), toDay(row.getEndDate()), row.getBatchId(), row.getStartDate(),
+                        row.getEndDate(), row.getCourseId()));
+            }
+        });
+        refresh();
+    }
+
+    /**
+     * Drops the modules that have ended and recomputes the snapshot from the
+     * head of the queue, reading the courses and topics of the due modules.
+     * Refreshes run one at a time, so that an older snapshot never replaces a
+     * newer one. They hold a lock rather than the monitor while reading, so
+     * that virtual threads waiting on the database do not pin their carrier.
+     */
+    @Scheduled(cron = "${lms.reminder.refresh-cron:0 0 * * * *}")
+    public void refresh() {
+        refreshLock.lock();
+        try {
+            long today = today().toEpochDay();
+            List<Upcoming> due = new ArrayList<>();
+            synchronized (this) {
+                while (!queue.isEmpty() && queue.first().endDay() < today) {
+                    upcomingByModule.remove(queue.pollFirst().moduleId());
+                }
+                for (Upcoming upcoming : queue) {
+                    if (upcoming.endDay() > today + horizonDays) {
+                        break;
+                    }
+                    due.add(upcoming);
+                }
+            }
+            snapshot = toReminders(due);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Records the current dates of saved modules, replacing their previous
+     * entries, and recomputes the snapshot if any of them is due.
+     *
+     * @param modules The saved modules.
+     */
+    public void record(Collection<Module> modules) {
+        List<Upcoming> changes = new ArrayList<>();
+        List<Long> moduleIds = new ArrayList<>();
+        for (Module module : modules) {
+            if (module.getModuleId() == null) {
+                continue;
+            }
+            moduleIds.add(module.getModuleId());
+            if (module.getStartDate() != null && module.getEndDate() != null && module.getCourse() != null
+                    && module.getCourse().getCourseId() != null) {
+                changes.add(new Upcoming(module.getModuleId(), toDay(module.getEndDate()), module.getBatchId(),
+                        module.getStartDate(), module.getEndDate(), module.getCourse().getCourseId()));
+            }
+        }
+        TransactionHooks.afterCommit(() -> {
+            boolean dueChanged = false;
+            long today = today().toEpochDay();
+            synchronized (this) {
+                for (Long moduleId : moduleIds) {
+                    dueChanged |= isDue(upcomingByModule.get(moduleId), today);
+                }
+                for (Upcoming upcoming : changes) {
+                    dueChanged |= isDue(upcoming, today);
+                }
+                rebuildLog.apply(() -> {
+                    moduleIds.forEach(this::remove);
+                    for (Upcoming upcoming : changes) {
+                        if (upcoming.endDay() >= today) {
+                            add(upcoming);
+                        }
+                    }
+                });
+            }
+            if (dueChanged) {
+                refresh();
+            }
+        });
+    }
+
+    /**
+     * Removes the entries of deleted modules and recomputes the snapshot if
+     * any of them was due.
+     *
+     * @param moduleIds The IDs of the deleted modules.
+     */
+    public void forget(Collection<Long> moduleIds) {
+        List<Long> ids = new ArrayList<>(moduleIds);
+        TransactionHooks.afterCommit(() -> {
+            boolean dueChanged = false;
+            long today = today().toEpochDay();
+            synchronized (this) {
+                for (Long moduleId : ids) {
+                    dueChanged |= isDue(upcomingByModule.get(moduleId), today);
+                }
+                rebuildLog.apply(() -> ids.forEach(this::remove));
+            }
+            if (dueChanged) {
+                refresh();
+            }
+        });
+    }
+
+    private List<ReminderDTO> toReminders(List<Upcoming> due) {
+        if (due.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> courseIds = new LinkedHashSet<>();
+        for (Upcoming upcoming : due) {
+            courseIds.add(upcoming.courseId());
+        }
+        Map<Long, List<TopicDTO>> topicsByCourse = topicService.getTopicDTOsByCourseIds(courseIds);
+        Map<Long, CourseDTO> coursesById = new HashMap<>();
+        for (Course course : courseRepository.findAllById(courseIds)) {
+            coursesById.put(course.getCourseId(), new CourseDTO(course.getCourseId(), course.getCourseName(),
+                    topicsByCourse.getOrDefault(course.getCourseId(), new ArrayList<>())));
+        }
+
+        List<ReminderDTO> reminders = new ArrayList<>();
+        for (Upcoming upcoming : due) {
+            CourseDTO course = coursesById.get(upcoming.courseId());
+            if (course != null) {
+                reminders.add(new ReminderDTO(upcoming.batchId(), COURSE_REMINDER_TYPE, upcoming.startDate(),
+                        upcoming.endDate(), List.of(course)));
+            }
+        }
+        return List.copyOf(reminders);
+    }
+
+    private synchronized void runLocked(Runnable task) {
+        task.run();
+    }
+
+    private boolean isDue(Upcoming upcoming, long today) {
+        return upcoming != null && upcoming.endDay() >= today && upcoming.endDay() <= today + horizonDays;
+    }
+
+    private void add(Upcoming upcoming) {
+        queue.add(upcoming);
+        upcomingByModule.put(upcoming.moduleId(), upcoming);
+    }
+
+    private Upcoming remove(Long moduleId) {
+        Upcoming upcoming = upcomingByModule.remove(moduleId);
+        if (upcoming != null) {
+            queue.remove(upcoming);
+        }
+        return upcoming;
+    }
+
+    private static LocalDate today() {
+        return LocalDate.now();
+    }
+
+    private static long toDay(Date date) {
+        return new java.sql.Date(date.getTime()).toLocalDate().toEpochDay();
+    }
+
+    private static Date toDate(LocalDate day) {
+        return java.sql.Date.valueOf(day);
+    }
+
+    private record Upcoming(long moduleId, long endDay, Long batchId, Date startDate, Date endDate, Long courseId) {
+    }
+}
@@ -0,0 +1,333 @@
+package com.thbs.lms.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import com.thbs.lms.dto.PageDTO;
+import com.thbs.lms.dto.TopicSearchHitDTO;
+import com.thbs.lms.exception.InvalidDataException;
+import com.thbs.lms.model.Topic;
+import com.thbs.lms.repository.TopicDocument;
+import com.thbs.lms.repository.TopicRepository;
+import com.thbs.lms.utility.Pagination;
+import com.thbs.lms.utility.RebuildLog;
+import com.thbs.lms.utility.TransactionHooks;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * The {@code TopicSearchIndex} class keeps an in-memory inverted index of the
+ * words in the names and descriptions of all topics, so that topics can be
+ * searched by keyword without scanning the topic table.
+ * It is built from the database when the application starts and kept current
+ * as topics are saved and deleted.
+ * A topic matches when it contains every word of the query, ignoring case.
+ * Matches are ranked with BM25, a word in the name counting as much as
+ * {@value #NAME_WEIGHT} occurrences in the description.
+ */
+@Component
+public class TopicSearchIndex {
+
+    private static final String EMPTY_QUERY_MSG = "Search query must contain at least one word.";
+    private static final int NAME_WEIGHT = 3;
+    private static final int REBUILD_BATCH_SIZE = 5000;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Comparator<TopicSearchHitDTO> RANKING = Comparator
+            .comparingDouble(TopicSearchHitDTO::getScore).reversed()
+            .thenComparing(TopicSearchHitDTO::getTopicId);
+
+    private final TopicRepository topicRepository;
+    // Searches share the read lock, so that they do not wait for each other
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final Map<Long, Document> documentsByTopic = new HashMap<>();
+    private final Map<Long, Set<Long>> topicIdsByCourse = new HashMap<>();
+    private long totalLength;
+    private final RebuildLog rebuildLog = new RebuildLog();
+
+    /**
+     * Constructs a new instance of {@code TopicSearchIndex} with the specified
+     * repository.
+     *
+     * @param topicRepository The repository the index is built from.
+     */
+    @Autowired
+    public TopicSearchIndex(TopicRepository topicRepository) {
+        this.topicRepository = topicRepository;
+    }
+
+    /**
+     * Rebuilds the index from the topics stored in the database, reading them
+     * in batches ordered by ID. The topics are read and tokenized before
+     * taking the write lock, so that searches are not blocked during the
+     * queries; topics saved or deleted in the meantime are indexed again
+     * once the read topics are installed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        rebuildLog.rebuild(this::readDocuments, this::runWriteLocked, documents -> {
+            postings.clear();
+            documentsByTopic.clear();
+            topicIdsByCourse.clear();
+            totalLength = 0;
+            for (Document document : documents) {
+                add(document);
+            }
+        });
+    }
+
+    /**
+     * Searches the names and descriptions of the topics for every word of a
+     * query, returning one page of the matches, most relevant first.
+     *
+     * @param query The words to search for.
+     * @param page  The zero-based page number.
+     * @param size  The page size.
+     * @return The requested page of matching topics.
+     * @throws InvalidDataException If the query has no words, or the page
+     *                              number or size is invalid.
+     */
+    public PageDTO<TopicSearchHitDTO> search(String query, int page, int size) {
+        Pagination.validatePage(page, size);
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty()) {
+            throw new InvalidDataException(EMPTY_QUERY_MSG);
+        }
+        long end = (long) (page + 1) * size;
+        // Keep one hit more than the page needs, to detect the next page
+        int limit = (int) Math.min(end + 1, Integer.MAX_VALUE);
+
+        List<TopicSearchHitDTO> hits;
+        lock.readLock().lock();
+        try {
+            hits = findTopHits(terms, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+        int from = (int) Math.min((long) page * size, hits.size());
+        int to = (int) Math.min(end, hits.size());
+        return new PageDTO<>(new ArrayList<>(hits.subList(from, to)), page, size, hits.size() > end, null);
+    }
+
+    /**
+     * Records the current name and description of saved topics, replacing
+     * their previous entries.
+     *
+     * @param topics The saved topics.
+     */
+    public void record(Collection<Topic> topics) {
+        List<Document> changes = new ArrayList<>();
+        for (Topic topic : topics) {
+            if (topic.getTopicId() != null) {
+                Long courseId = topic.getCourse() == null ? null : topic.getCourse().getCourseId();
+                changes.add(toDocument(topic.getTopicId(), courseId, topic.getTopicName(), topic.getDescription()));
+            }
+        }
+        TransactionHooks.afterCommit(() -> runWriteLocked(() -> rebuildLog.apply(() -> {
+            for (Document document : changes) {
+                add(document);
+            }
+        })));
+    }
+
+    /**
+     * Removes the entries of deleted topics.
+     *
+     * @param topicIds The IDs of the deleted topics.
+     */
+    public void forget(Collection<Long> topicIds) {
+        List<Long> ids = new ArrayList<>(topicIds);
+        TransactionHooks.afterCommit(() -> runWriteLocked(() -> rebuildLog.apply(() -> {
+            for (Long topicId : ids) {
+                remove(topicId);
+            }
+        })));
+    }
+
+    /**
+     * Removes the entries of every topic of the given courses, after their
+     * topics were deleted together.
+     *
+     * @param courseIds The IDs of the courses whose topics were deleted.
+     */
+    public void forgetCourses(Collection<Long> courseIds) {
+        List<Long> ids = new ArrayList<>(courseIds);
+        TransactionHooks.afterCommit(() -> runWriteLocked(() -> rebuildLog.apply(() -> {
+            for (Long courseId : ids) {
+                for (Long topicId : new ArrayList<>(topicIdsByCourse.getOrDefault(courseId, Set.of()))) {
+                    remove(topicId);
+                }
+            }
+        })));
+    }
+
+    /**
+     * Scores the topics containing every term and keeps the best ones. The
+     * topics of the rarest term are walked and the other terms looked up.
+     *
+     * @param terms The distinct terms of the query.
+     * @param limit The number of hits to keep.
+     * @return The best hits, most relevant first.
+     */
+    private List<TopicSearchHitDTO> findTopHits(Set<String> terms, int limit) {
+        List<Map<Long, Integer>> termPostings = new ArrayList<>();
+        for (String term : terms) {
+            Map<Long, Integer> topics = postings.get(term);
+            if (topics == null) {
+                return List.of();
+            }
+            termPostings.add(topics);
+        }
+        termPostings.sort(Comparator.comparingInt(Map::size));
+        int topicCount = documentsByTopic.size();
+        double[] idf = new double[termPostings.size()];
+        for (int t = 0; t < idf.length; t++) {
+            int matching = termPostings.get(t).size();
+            idf[t] = Math.log(1 + (topicCount - matching + 0.5) / (matching + 0.5));
+        }
+        double averageLength = (double) totalLength / topicCount;
+
+        // The worst of the kept hits is at the head, ready to be replaced
+        PriorityQueue<TopicSearchHitDTO> best = new PriorityQueue<>(RANKING.reversed());
+        for (Map.Entry<Long, Integer> entry : termPostings.get(0).entrySet()) {
+            Document document = documentsByTopic.get(entry.getKey());
+            double score = idf[0] * saturate(entry.getValue(), document.length(), averageLength);
+            boolean matches = true;
+            for (int t = 1; t < termPostings.size() && matches; t++) {
+                Integer frequency = termPostings.get(t).get(document.topicId());
+                if (frequency == null) {
+                    matches = false;
+                } else {
+                    score += idf[t] * saturate(frequency, document.length(), averageLength);
+                }
+            }
+            if (matches) {
+                best.add(new TopicSearchHitDTO(document.topicId(), document.topicName(), document.courseId(), score));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        }
+        List<TopicSearchHitDTO> hits = new ArrayList<>(best);
+        hits.sort(RANKING);
+        return hits;
+    }
+
+    private List<Document> readDocuments() {
+        List<Document> documents = new ArrayList<>();
+        long after = Long.MIN_VALUE;
+        List<TopicDocument> batch;
+        do {
+            batch = topicRepository.findTopicDocumentsAfter(after, Limit.of(REBUILD_BATCH_SIZE));
+            for (TopicDocument topic : batch) {
+                documents.add(toDocument(topic.getTopicId(), topic.getCourseId(), topic.getTopicName(),
+                        topic.getDescription()));
+                after = topic.getTopicId();
+            }
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+        return documents;
+    }
+
+    private void runWriteLocked(Runnable task) {
+        lock.writeLock().lock();
+        try {
+            task.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static double saturate(int frequency, int length, double averageLength) {
+        return frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * length / averageLength));
+    }
+
+    private void add(Document document) {
+        remove(document.topicId());
+        for (Map.Entry<String, Integer> entry : document.frequencies().entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), term -> new HashMap<>()).put(document.topicId(), entry.getValue());
+        }
+        documentsByTopic.put(document.topicId(), document);
+        if (document.courseId() != null) {
+            topicIdsByCourse.computeIfAbsent(document.courseId(), courseId -> new HashSet<>()).add(document.topicId());
+        }
+        totalLength += document.length();
+    }
+
+    private void remove(Long topicId) {
+        Document document = documentsByTopic.remove(topicId);
+        if (document == null) {
+            return;
+        }
+        for (String term : document.frequencies().keySet()) {
+            Map<Long, Integer> topics = postings.get(term);
+            topics.remove(topicId);
+            if (topics.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        Set<Long> courseTopics = topicIdsByCourse.get(document.courseId());
+        if (courseTopics != null) {
+            courseTopics.remove(topicId);
+            if (courseTopics.isEmpty()) {
+                topicIdsByCourse.remove(document.courseId());
+            }
+        }
+        totalLength -= document.length();
+    }
+
+    private static Document toDocument(Long topicId, Long courseId, String topicName, String description) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : tokenize(topicName)) {
+            frequencies.merge(term, NAME_WEIGHT, Integer::sum);
+        }
+        for (String term : tokenize(description)) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        int length = 0;
+        for (int frequency : frequencies.values()) {
+            length += frequency;
+        }
+        return new Document(topicId, courseId, topicName, frequencies, length);
+    }
+
+    /**
+     * Splits text into lower-case words of letters and digits.
+     *
+     * @param text The text to split, or {@code null}.
+     * @return The words, in order and with repetitions.
+     */
+    private static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        for (String term : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    private record Document(Long topicId, Long courseId, String topicName, Map<String, Integer> frequencies,
+            int length) {
+    }
+}
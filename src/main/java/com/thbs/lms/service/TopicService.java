@@ -2,28 +2,54 @@ package com.thbs.lms.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import io.micrometer.core.annotation.Timed;
+
+import com.thbs.lms.config.MetricsConfig;
+import com.thbs.lms.dto.BatchResultDTO;
+import com.thbs.lms.dto.PageDTO;
+import com.thbs.lms.dto.TopicDTO;
+import com.thbs.lms.dto.TopicSearchHitDTO;
 import com.thbs.lms.exception.*;
 import com.thbs.lms.model.Course;
 import com.thbs.lms.model.Topic;
 import com.thbs.lms.repository.TopicRepository;
+import com.thbs.lms.repository.TopicSummary;
+import com.thbs.lms.utility.BatchValidation;
+import com.thbs.lms.utility.Pagination;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * The {@code TopicService} class provides methods for managing topics.
  */
 @Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
 public class TopicService {
 
     private static final String NOT_FOUND_MSG = "Topic not found.";
+    private static final int COURSE_ID_CHUNK_SIZE = 1000;
     private final TopicRepository topicRepository;
+    private final CatalogCache catalogCache;
+    private final TopicSearchIndex topicSearchIndex;
 
     @Autowired
-    public TopicService(TopicRepository topicRepository) {
+    public TopicService(TopicRepository topicRepository, CatalogCache catalogCache,
+            TopicSearchIndex topicSearchIndex) {
         this.topicRepository = topicRepository;
+        this.catalogCache = catalogCache;
+        this.topicSearchIndex = topicSearchIndex;
     }
 
     /**
@@ -57,21 +83,120 @@ public class TopicService {
         newTopic.setTopicName(topicName);
         newTopic.setDescription(description);
         newTopic.setCourse(course);
-        return topicRepository.save(newTopic);
+        Topic savedTopic = topicRepository.save(newTopic);
+        catalogCache.evictTopicsOfCourse(courseIdOf(savedTopic));
+        topicSearchIndex.record(List.of(savedTopic));
+        return savedTopic;
     }
 
     /**
      * Adds multiple topics to the database with validation.
+     * Every topic is validated before any is saved, and the topics are then
+     * inserted together in one transaction, so either all of them are added or
+     * none.
      *
      * @param topics The list of topics to be added.
      * @return The list of added topics.
+     * @throws DuplicateEntryException If any topic already exists for its
+     *                                 course or appears twice in the list.
+     * @throws InvalidDataException    If any topic name or description is null
+     *                                 or empty.
      */
+    @Transactional
     public List<Topic> addTopicsWithValidation(List<Topic> topics) {
-        List<Topic> addedTopics = new ArrayList<>();
+        validateTopics(topics).throwFirstRejection();
+        return insertTopics(topics);
+    }
+
+    /**
+     * Adds multiple topics to the database in one transaction, reporting the
+     * outcome of each topic.
+     * If any topic is rejected, none is saved and the result lists why each
+     * rejected topic was refused.
+     *
+     * @param topics The list of topics to be added.
+     * @return The outcome of each topic.
+     */
+    @Transactional
+    public BatchResultDTO<Topic> addTopicsInBatch(List<Topic> topics) {
+        BatchValidation validation = validateTopics(topics);
+        if (validation.hasRejections()) {
+            return validation.toRejectedResult(topics);
+        }
+        return BatchResultDTO.saved(insertTopics(topics));
+    }
+
+    /**
+     * Validates a list of topics against the topics already stored for their
+     * courses, read with a single query, and against each other.
+     *
+     * @param topics The topics to validate.
+     * @return The failures of the rejected topics.
+     */
+    private BatchValidation validateTopics(List<Topic> topics) {
+        BatchValidation validation = new BatchValidation(topics.size());
+        Set<Long> courseIds = new HashSet<>();
         for (Topic topic : topics) {
-            addedTopics.add(addTopicWithValidation(topic));
+            if (courseIdOf(topic) != null) {
+                courseIds.add(courseIdOf(topic));
+            }
+        }
+        // Keys of the topics already stored and of those accepted so far
+        Set<List<Object>> topicKeys = new HashSet<>();
+        if (!courseIds.isEmpty()) {
+            for (TopicSummary summary : topicRepository.findTopicSummariesByCourseIdIn(courseIds)) {
+                topicKeys.add(topicKey(summary.getCourseId(), summary.getTopicName()));
+            }
         }
-        return addedTopics;
+        for (int i = 0; i < topics.size(); i++) {
+            Topic topic = topics.get(i);
+            String topicName = topic.getTopicName();
+            String description = topic.getDescription();
+            if (topicName != null && topicKeys.contains(topicKey(courseIdOf(topic), topicName))) {
+                validation.reject(i,
+                        new DuplicateEntryException("Topic '" + topicName + "' already exists for this course."));
+            } else if (topicName == null || topicName.isEmpty() || description == null || description.isEmpty()) {
+                validation.reject(i, new InvalidDataException("Topic name and description cannot be null or empty."));
+            } else {
+                topicKeys.add(topicKey(courseIdOf(topic), topicName));
+            }
+        }
+        return validation;
+    }
+
+    /**
+     * Inserts copies of validated topics in JDBC batches and evicts the
+     * cached topics of their courses.
+     *
+     * @param topics The validated topics.
+     * @return The saved topics, in the same order.
+     */
+    private List<Topic> insertTopics(List<Topic> topics) {
+        List<Topic> newTopics = new ArrayList<>(topics.size());
+        Set<Long> courseIds = new HashSet<>();
+        for (Topic topic : topics) {
+            newTopics.add(new Topic(null, topic.getTopicName(), topic.getDescription(), topic.getCourse()));
+            courseIds.add(courseIdOf(topic));
+        }
+        List<Topic> savedTopics = topicRepository.saveAll(newTopics);
+        for (Long courseId : courseIds) {
+            catalogCache.evictTopicsOfCourse(courseId);
+        }
+        topicSearchIndex.record(savedTopics);
+        return savedTopics;
+    }
+
+    /**
+     * Builds the key under which a topic name is unique. Names are compared
+     * ignoring case, as the case-insensitive collation of the database and
+     * the bulk upload do.
+     *
+     * @param courseId  The ID of the course of the topic.
+     * @param topicName The name of the topic.
+     * @return The key of the topic.
+     */
+    private static List<Object> topicKey(Long courseId, String topicName) {
+        return List.of(Objects.requireNonNullElse(courseId, -1L), topicName.toLowerCase(Locale.ROOT));
     }
 
     /**
@@ -83,6 +208,49 @@ public class TopicService {
         return topicRepository.findAll();
     }
 
+    /**
+     * Retrieves one page of topics from the database, ordered by ID.
+     *
+     * @param page The zero-based page number.
+     * @param size The page size.
+     * @return The requested page of topics.
+     * @throws InvalidDataException If the page number or size is invalid.
+     */
+    public PageDTO<Topic> getTopicsPage(int page, int size) {
+        return Pagination.toPageDTO(
+                topicRepository.findAll(Pagination.pageRequest(page, size, "topicId")), Topic::getTopicId);
+    }
+
+    /**
+     * Retrieves the topics following the given ID from the database, ordered
+     * by ID. Unlike {@link #getTopicsPage(int, int)}, this seeks directly to
+     * the cursor instead of skipping rows with an offset.
+     *
+     * @param after The ID after which the page starts.
+     * @param size  The page size.
+     * @return The topics after the given ID.
+     * @throws InvalidDataException If the cursor or size is invalid.
+     */
+    public PageDTO<Topic> getTopicsAfter(long after, int size) {
+        return Pagination.toPageDTO(topicRepository.findByTopicIdGreaterThanOrderByTopicIdAsc(
+                after, Pagination.keysetLimit(after, size)), size, Topic::getTopicId);
+    }
+
+    /**
+     * Searches the names and descriptions of all topics for every word of a
+     * query, using the in-memory search index.
+     *
+     * @param query The words to search for.
+     * @param page  The zero-based page number.
+     * @param size  The page size.
+     * @return The requested page of matching topics, most relevant first.
+     * @throws InvalidDataException If the query has no words, or the page
+     *                              number or size is invalid.
+     */
+    public PageDTO<TopicSearchHitDTO> searchTopics(String query, int page, int size) {
+        return topicSearchIndex.search(query, page, size);
+    }
+
     /**
      * Retrieves a topic by its ID from the database.
      *
@@ -103,10 +271,53 @@ public class TopicService {
      * Retrieves topics associated with a course from the database.
      *
      * @param course The course associated with the topics.
-     * @return The list of topics associated with the specified course.
+     * @return Copies of the topics associated with the specified course, read
+     *         through the topic cache.
      */
     public List<Topic> getTopicsByCourse(Course course) {
-        return topicRepository.findByCourse(course);
+        if (course == null || course.getCourseId() == null) {
+            return topicRepository.findByCourse(course);
+        }
+        return catalogCache.getTopicsOfCourse(course.getCourseId(), () -> topicRepository.findByCourse(course));
+    }
+
+    /**
+     * Retrieves the topic DTOs of every course with a single query, grouped by
+     * course ID.
+     *
+     * @return A map from course ID to the DTOs of the topics of that course,
+     *         ordered by topic ID.
+     */
+    public Map<Long, List<TopicDTO>> getAllTopicDTOsByCourseId() {
+        Map<Long, List<TopicDTO>> topicsByCourse = new HashMap<>();
+        for (TopicSummary topic : topicRepository.findAllTopicSummaries()) {
+            if (topic.getCourseId() != null) {
+                topicsByCourse.computeIfAbsent(topic.getCourseId(), courseId -> new ArrayList<>())
+                        .add(new TopicDTO(topic.getTopicId(), topic.getTopicName()));
+            }
+        }
+        return topicsByCourse;
+    }
+
+    /**
+     * Retrieves the topics of the given courses as DTOs, grouped by course ID,
+     * with one query per 1000 courses, so that the {@code IN} list of a query
+     * stays bounded.
+     *
+     * @param courseIds The IDs of the courses.
+     * @return The topic DTOs of each course that has topics, keyed by course ID.
+     */
+    public Map<Long, List<TopicDTO>> getTopicDTOsByCourseIds(Collection<Long> courseIds) {
+        Map<Long, List<TopicDTO>> topicsByCourse = new HashMap<>();
+        List<Long> ids = new ArrayList<>(courseIds);
+        for (int from = 0; from < ids.size(); from += COURSE_ID_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + COURSE_ID_CHUNK_SIZE, ids.size()));
+            for (TopicSummary topic : topicRepository.findTopicSummariesByCourseIdIn(chunk)) {
+                topicsByCourse.computeIfAbsent(topic.getCourseId(), courseId -> new ArrayList<>())
+                        .add(new TopicDTO(topic.getTopicId(), topic.getTopicName()));
+            }
+        }
+        return topicsByCourse;
     }
 
     /**
@@ -131,6 +342,8 @@ public class TopicService {
 
             topic.setDescription(newDescription);
             topicRepository.save(topic);
+            catalogCache.evictTopicsOfCourse(courseIdOf(topic));
+            topicSearchIndex.record(List.of(topic));
             return "Description updated successfully";
         } else {
             throw new NotFoundException(NOT_FOUND_MSG);
@@ -148,6 +361,8 @@ public class TopicService {
         Optional<Topic> optionalTopic = topicRepository.findById(topicId);
         if (optionalTopic.isPresent()) {
             topicRepository.delete(optionalTopic.get());
+            catalogCache.evictTopicsOfCourse(courseIdOf(optionalTopic.get()));
+            topicSearchIndex.forget(List.of(topicId));
         } else {
             // Throws exception if topic not found
             throw new NotFoundException(NOT_FOUND_MSG);
@@ -156,33 +371,76 @@ public class TopicService {
 
     /**
      * Deletes multiple topics from the database by their IDs.
+     * The IDs are checked with a single query before anything is deleted, and
+     * the topics are then removed with one statement, so either all of the
+     * topics are deleted or none of them.
      *
      * @param topics The list of topics to be deleted.
+     * @return The number of topics deleted.
      * @throws NotFoundException If any topic in the list is not found.
      */
-    public void deleteTopics(List<Topic> topics) {
+    @Transactional
+    public int deleteTopics(List<Topic> topics) {
+        Set<Long> topicIds = new LinkedHashSet<>();
         for (Topic topic : topics) {
-            Long topicId = topic.getTopicId();
-            Optional<Topic> optionalTopic = topicRepository.findById(topicId);
-            if (optionalTopic.isPresent()) {
-                topicRepository.delete(topic);
-            } else {
+            topicIds.add(topic.getTopicId());
+        }
+        if (topicIds.isEmpty()) {
+            return 0;
+        }
+        Map<Long, Long> courseIdsByTopic = new HashMap<>();
+        for (TopicSummary summary : topicRepository.findTopicSummariesByTopicIdIn(topicIds)) {
+            courseIdsByTopic.put(summary.getTopicId(), summary.getCourseId());
+        }
+        for (Long topicId : topicIds) {
+            if (!courseIdsByTopic.containsKey(topicId)) {
                 // Throws exception if topic not found
                 throw new NotFoundException(NOT_FOUND_MSG + topicId);
             }
         }
+        int deleted = topicRepository.deleteTopicsByIdIn(topicIds);
+        for (Long courseId : new HashSet<>(courseIdsByTopic.values())) {
+            catalogCache.evictTopicsOfCourse(courseId);
+        }
+        topicSearchIndex.forget(topicIds);
+        return deleted;
     }
 
     /**
-     * Deletes all topics associated with a course from the database.
+     * Deletes all topics associated with a course from the database. The
+     * method is transactional itself, as the call to
+     * {@link #deleteTopicsByCourseIds(Collection)} does not pass through the
+     * transactional proxy.
      *
      * @param course The course whose associated topics are to be deleted.
+     * @return The number of topics deleted.
      */
-    public void deleteTopicsByCourse(Course course) {
-        List<Topic> topics = topicRepository.findByCourse(course);
-        for (Topic topic : topics) {
-            topicRepository.delete(topic);
+    @Transactional
+    public int deleteTopicsByCourse(Course course) {
+        if (course.getCourseId() == null) {
+            return 0;
         }
+        return deleteTopicsByCourseIds(List.of(course.getCourseId()));
+    }
+
+    /**
+     * Deletes all topics associated with the given courses from the database
+     * with a single statement.
+     *
+     * @param courseIds The IDs of the courses whose topics are to be deleted.
+     * @return The number of topics deleted.
+     */
+    @Transactional
+    public int deleteTopicsByCourseIds(Collection<Long> courseIds) {
+        if (courseIds.isEmpty()) {
+            return 0;
+        }
+        int deleted = topicRepository.deleteTopicsByCourseIdIn(courseIds);
+        for (Long courseId : courseIds) {
+            catalogCache.evictTopicsOfCourse(courseId);
+        }
+        topicSearchIndex.forgetCourses(courseIds);
+        return deleted;
     }
 
     /**
@@ -208,9 +466,15 @@ public class TopicService {
 
             topic.setTopicName(newName);
             topicRepository.save(topic);
+            catalogCache.evictTopicsOfCourse(courseIdOf(topic));
+            topicSearchIndex.record(List.of(topic));
             return "Topic name updated successfully";
         } else {
             throw new NotFoundException(NOT_FOUND_MSG);
         }
     }
+
+    private Long courseIdOf(Topic topic) {
+        return topic.getCourse() == null ? null : topic.getCourse().getCourseId();
+    }
 }
@@ -0,0 +1,255 @@
+package com.thbs.lms.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.thbs.lms.exception.DuplicateEntryException;
+import com.thbs.lms.model.Module;
+import com.thbs.lms.repository.ModuleRepository;
+import com.thbs.lms.repository.TrainerBooking;
+import com.thbs.lms.utility.IntervalTree;
+import com.thbs.lms.utility.RebuildLog;
+import com.thbs.lms.utility.TransactionHooks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code TrainerSchedule} class keeps an in-memory interval tree of the
+ * modules of each trainer, so that double bookings can be rejected and free
+ * trainers found without scanning the trainer's modules.
+ * It is built from the database when the application starts and kept current
+ * as modules are saved and deleted.
+ * Dates are compared as calendar days and both ends are inclusive, so a module
+ * ending on the day another one starts overlaps it.
+ * A period that passes the availability check is reserved for the trainer
+ * until the transaction that checked it completes, so that two requests
+ * saving at the same time cannot both book the trainer; on commit the saved
+ * module's booking takes its place.
+ */
+@Component
+public class TrainerSchedule {
+
+    private static final String CONFLICT_MSG = "The trainer is already scheduled for another module in this period.";
+
+    private final ModuleRepository moduleRepository;
+    private final Map<String, IntervalTree> treesByTrainer = new HashMap<>();
+    private final Map<Long, Booking> bookingsByModule = new HashMap<>();
+    private final Map<String, IntervalTree> reservationsByTrainer = new HashMap<>();
+    // Reservations have negative IDs, which no module has
+    private long lastReservationId;
+    private final RebuildLog rebuildLog = new RebuildLog();
+
+    /**
+     * Constructs a new instance of {@code TrainerSchedule} with the specified
+     * repository.
+     *
+     * @param moduleRepository The repository the schedule is built from.
+     */
+    @Autowired
+    public TrainerSchedule(ModuleRepository moduleRepository) {
+        this.moduleRepository = moduleRepository;
+    }
+
+    /**
+     * Rebuilds the schedule from the modules stored in the database.
+     * The bookings are read without holding the monitor, so that no thread
+     * waits on it during the query; modules saved or deleted meanwhile are
+     * applied again on top of the bookings read.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        rebuildLog.rebuild(moduleRepository::findAllTrainerBookings, this::runLocked, bookings -> {
+            treesByTrainer.clear();
+            bookingsByModule.clear();
+            for (TrainerBooking booking : bookings) {
+                add(booking.getModuleId(),
+                        new Booking(booking.getTrainer(), toDay(booking.getStartDate()), toDay(booking.getEndDate())));
+            }
+        });
+    }
+
+    /**
+     * Checks that a trainer has no module or reservation overlapping the given
+     * period, and reserves the period until the current transaction
+     * completes.
+     *
+     * @param trainer   The trainer.
+     * @param startDate The first day of the period.
+     * @param endDate   The last day of the period.
+     * @param moduleId  The ID of a module to ignore, for example the one being
+     *                  rescheduled, or {@code null}.
+     * @throws DuplicateEntryException If the trainer is already booked in the
+     *                                 period.
+     */
+    public synchronized void checkAvailable(String trainer, Date startDate, Date endDate, Long moduleId) {
+        long startDay = toDay(startDate);
+        long endDay = toDay(endDate);
+        if (isBooked(trainer, startDay, endDay, moduleId)) {
+            throw new DuplicateEntryException(CONFLICT_MSG);
+        }
+        reserve(trainer, startDay, endDay);
+    }
+
+    /**
+     * Checks that the trainers of new modules are free for them, both against
+     * their existing modules and against the other new modules, and reserves
+     * their periods until the current transaction completes.
+     *
+     * @param modules The new modules.
+     * @throws DuplicateEntryException If any trainer would be double-booked.
+     */
+    public synchronized void checkAvailable(List<Module> modules) {
+        if (!findConflicts(modules).isEmpty()) {
+            throw new DuplicateEntryException(CONFLICT_MSG);
+        }
+    }
+
+    /**
+     * Finds the new modules whose trainer is not free for them, either because
+     * of an existing module or reservation or because of an earlier new module
+     * that is free. The periods of the free modules are reserved until the
+     * current transaction completes.
+     *
+     * @param modules The new modules.
+     * @return The positions of the conflicting modules in the list, in
+     *         ascending order.
+     */
+    public synchronized List<Integer> findConflicts(List<Module> modules) {
+        List<Integer> conflicts = new ArrayList<>();
+        Map<String, IntervalTree> requested = new HashMap<>();
+        for (int i = 0; i < modules.size(); i++) {
+            Module module = modules.get(i);
+            long startDay = toDay(module.getStartDate());
+            long endDay = toDay(module.getEndDate());
+            IntervalTree tree = requested.computeIfAbsent(module.getTrainer(), trainer -> new IntervalTree());
+            if (isBooked(module.getTrainer(), startDay, endDay, null)
+                    || tree.findOverlap(startDay, endDay, null) != null) {
+                conflicts.add(i);
+            } else {
+                tree.insert(startDay, endDay, i);
+                reserve(module.getTrainer(), startDay, endDay);
+            }
+        }
+        return conflicts;
+    }
+
+    /**
+     * Builds the exception reported for a module whose trainer is not free.
+     *
+     * @return The exception describing the conflict.
+     */
+    public static DuplicateEntryException conflictException() {
+        return new DuplicateEntryException(CONFLICT_MSG);
+    }
+
+    /**
+     * Retrieves the trainers that have modules but none overlapping the given
+     * period.
+     *
+     * @param startDate The first day of the period.
+     * @param endDate   The last day of the period.
+     * @return The free trainers, sorted by name.
+     */
+    public synchronized List<String> findFreeTrainers(Date startDate, Date endDate) {
+        long startDay = toDay(startDate);
+        long endDay = toDay(endDate);
+        List<String> freeTrainers = new ArrayList<>();
+        for (Map.Entry<String, IntervalTree> entry : treesByTrainer.entrySet()) {
+            if (entry.getValue().findOverlap(startDay, endDay, null) == null) {
+                freeTrainers.add(entry.getKey());
+            }
+        }
+        Collections.sort(freeTrainers);
+        return freeTrainers;
+    }
+
+    /**
+     * Records the current trainer and dates of a saved module, replacing its
+     * previous booking.
+     *
+     * @param module The saved module.
+     */
+    public void record(Module module) {
+        if (module.getModuleId() == null || module.getTrainer() == null
+                || module.getStartDate() == null || module.getEndDate() == null) {
+            return;
+        }
+        Long moduleId = module.getModuleId();
+        Booking booking = new Booking(module.getTrainer(), toDay(module.getStartDate()),
+                toDay(module.getEndDate()));
+        TransactionHooks.afterCommit(() -> runLocked(() -> rebuildLog.apply(() -> {
+            remove(moduleId);
+            add(moduleId, booking);
+        })));
+    }
+
+    /**
+     * Removes the booking of a deleted module.
+     *
+     * @param moduleId The ID of the deleted module.
+     */
+    public void forget(Long moduleId) {
+        TransactionHooks.afterCommit(() -> runLocked(() -> rebuildLog.apply(() -> remove(moduleId))));
+    }
+
+    private synchronized void runLocked(Runnable task) {
+        task.run();
+    }
+
+    private boolean isBooked(String trainer, long startDay, long endDay, Long moduleId) {
+        IntervalTree tree = treesByTrainer.get(trainer);
+        IntervalTree reservations = reservationsByTrainer.get(trainer);
+        return (tree != null && tree.findOverlap(startDay, endDay, moduleId) != null)
+                || (reservations != null && reservations.findOverlap(startDay, endDay, null) != null);
+    }
+
+    /**
+     * Reserves a period for a trainer until the current transaction completes,
+     * or releases it at once outside a transaction. Must be called while
+     * holding the monitor.
+     */
+    private void reserve(String trainer, long startDay, long endDay) {
+        long reservationId = --lastReservationId;
+        reservationsByTrainer.computeIfAbsent(trainer, key -> new IntervalTree())
+                .insert(startDay, endDay, reservationId);
+        TransactionHooks.afterCompletion(() -> runLocked(() -> {
+            IntervalTree reservations = reservationsByTrainer.get(trainer);
+            reservations.remove(startDay, endDay, reservationId);
+            if (reservations.isEmpty()) {
+                reservationsByTrainer.remove(trainer);
+            }
+        }));
+    }
+
+    private void add(Long moduleId, Booking booking) {
+        treesByTrainer.computeIfAbsent(booking.trainer(), trainer -> new IntervalTree())
+                .insert(booking.startDay(), booking.endDay(), moduleId);
+        bookingsByModule.put(moduleId, booking);
+    }
+
+    private void remove(Long moduleId) {
+        Booking booking = bookingsByModule.remove(moduleId);
+        if (booking == null) {
+            return;
+        }
+        IntervalTree tree = treesByTrainer.get(booking.trainer());
+        tree.remove(booking.startDay(), booking.endDay(), moduleId);
+        if (tree.isEmpty()) {
+            treesByTrainer.remove(booking.trainer());
+        }
+    }
+
+    private static long toDay(Date date) {
+        return new java.sql.Date(date.getTime()).toLocalDate().toEpochDay();
+    }
+
+    private record Booking(String trainer, long startDay, long endDay) {
+    }
+}
@@ -0,0 +1,171 @@
+package com.thbs.lms.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.thbs.lms.dto.UploadJobDTO;
+import com.thbs.lms.dto.UploadJobStatus;
+import com.thbs.lms.exception.FileProcessingException;
+import com.thbs.lms.exception.NotFoundException;
+import com.thbs.lms.exception.TooManyUploadsException;
+import com.thbs.lms.repository.UploadJobStore;
+
+/**
+ * The {@code UploadJobService} class runs bulk uploads as background jobs.
+ * The uploaded file is copied to a temporary file, processed on a bounded
+ * executor with the streaming reader, and its progress is recorded in an
+ * {@link UploadJobStore} for clients to poll.
+ * The caller can pass a task to run once the job has finished, such as the
+ * release of the admission permit of the upload.
+ */
+@Service
+public class UploadJobService {
+
+    private static final String NOT_FOUND_MSG = "Upload job not found.";
+
+    private final BulkUploadService bulkUploadService;
+    private final UploadJobStore uploadJobStore;
+    private final Executor uploadExecutor;
+
+    /**
+     * Constructs a new instance of {@code UploadJobService} with the specified
+     * dependencies.
+     *
+     * @param bulkUploadService The service that processes uploaded workbooks.
+     * @param uploadJobStore    The store for job state.
+     * @param uploadExecutor    The bounded executor that runs the jobs.
+     */
+    @Autowired
+    public UploadJobService(BulkUploadService bulkUploadService, UploadJobStore uploadJobStore,
+            @Qualifier("uploadExecutor") Executor uploadExecutor) {
+        this.bulkUploadService = bulkUploadService;
+        this.uploadJobStore = uploadJobStore;
+        this.uploadExecutor = uploadExecutor;
+    }
+
+    /**
+     * Accepts an uploaded workbook and schedules it for processing.
+     *
+     * @param file The uploaded .xlsx file containing topics.
+     * @return The queued job.
+     * @throws FileProcessingException If the file cannot be stored for
+     *                                 processing.
+     * @throws TooManyUploadsException If the upload queue is full.
+     */
+    public UploadJobDTO submit(MultipartFile file) {
+        return submit(file, () -> {
+        });
+    }
+
+    /**
+     * Accepts an uploaded workbook and schedules it for processing, running a
+     * task once the job has finished or could not be scheduled.
+     *
+     * @param file       The uploaded .xlsx file containing topics.
+     * @param onFinished The task to run once the job has finished.
+     * @return The queued job.
+     * @throws FileProcessingException If the file cannot be stored for
+     *                                 processing.
+     * @throws TooManyUploadsException If the upload queue is full.
+     */
+    public UploadJobDTO submit(MultipartFile file, Runnable onFinished) {
+        File tempFile;
+        try {
+            tempFile = Files.createTempFile("lms-upload-", ".xlsx").toFile();
+        } catch (IOException e) {
+            onFinished.run();
+            throw new FileProcessingException("Error storing the uploaded file.");
+        }
+        boolean stored = false;
+        try {
+            file.transferTo(tempFile);
+            stored = true;
+        } catch (IOException e) {
+            throw new FileProcessingException("Error storing the uploaded file.");
+        } finally {
+            if (!stored) {
+                deleteQuietly(tempFile);
+                onFinished.run();
+            }
+        }
+
+        UploadJobDTO job = new UploadJobDTO();
+        job.setJobId(UUID.randomUUID().toString());
+        job.setFileName(file.getOriginalFilename());
+        job.setStatus(UploadJobStatus.QUEUED);
+        job.setSubmittedAt(new Date());
+        uploadJobStore.save(job);
+
+        try {
+            uploadExecutor.execute(() -> run(job, tempFile, onFinished));
+        } catch (RejectedExecutionException e) {
+            job.setStatus(UploadJobStatus.FAILED);
+            job.getErrors().add("Upload queue is full.");
+            job.setFinishedAt(new Date());
+            uploadJobStore.save(job);
+            deleteQuietly(tempFile);
+            onFinished.run();
+            throw new TooManyUploadsException("Too many uploads in progress. Please retry later.");
+        }
+        return job;
+    }
+
+    /**
+     * Retrieves an upload job by its ID.
+     *
+     * @param jobId The ID of the job.
+     * @return The job with its current progress.
+     * @throws NotFoundException If no job with the specified ID exists.
+     */
+    public UploadJobDTO getJob(String jobId) {
+        return uploadJobStore.findById(jobId)
+                .orElseThrow(() -> new NotFoundException(NOT_FOUND_MSG));
+    }
+
+    /**
+     * Processes the stored file and records the outcome on the job.
+     *
+     * @param job        The job being processed.
+     * @param tempFile   The temporary copy of the uploaded file.
+     * @param onFinished The task to run once the job has finished.
+     */
+    private void run(UploadJobDTO job, File tempFile, Runnable onFinished) {
+        job.setStatus(UploadJobStatus.RUNNING);
+        uploadJobStore.save(job);
+        try {
+            bulkUploadService.uploadFileStreaming(tempFile, job.getResult());
+            job.setStatus(UploadJobStatus.COMPLETED);
+        } catch (RuntimeException e) {
+            job.getErrors().add(e.getMessage());
+            job.setStatus(UploadJobStatus.FAILED);
+        } finally {
+            job.setFinishedAt(new Date());
+            uploadJobStore.save(job);
+            deleteQuietly(tempFile);
+            onFinished.run();
+        }
+    }
+
+    /**
+     * Deletes a temporary file, falling back to deletion on exit.
+     *
+     * @param file The file to delete.
+     */
+    private void deleteQuietly(File file) {
+        try {
+            Files.deleteIfExists(file.toPath());
+        } catch (IOException e) {
+            file.deleteOnExit();
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.thbs.lms.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.thbs.lms.dto.UploadResultDTO;
+import com.thbs.lms.exception.DuplicateEntryException;
+import com.thbs.lms.exception.InvalidDataException;
+import com.thbs.lms.model.UploadLedgerEntry;
+import com.thbs.lms.model.UploadLedgerStatus;
+import com.thbs.lms.repository.UploadLedgerRepository;
+
+import java.io.File;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@code UploadLedgerService} class makes bulk uploads idempotent.
+ * Each upload is recorded in the upload ledger under the client's
+ * idempotency key or, without one, under the SHA-256 hash of the file. A
+ * retried upload then costs only the hash: it returns the stored result if
+ * the first upload completed, or waits for it if it is still running on this
+ * instance.
+ * Keyed uploads return the stored result for the whole retention period.
+ * Uploads without a key return it only within the short content window, as
+ * the same file uploaded again later, for example after its course was
+ * deleted, is meant to be processed again.
+ */
+@Service
+public class UploadLedgerService {
+
+    private static final int MAX_KEY_LENGTH = 128;
+    private static final String INVALID_KEY_MSG = "Idempotency key cannot be longer than " + MAX_KEY_LENGTH
+            + " characters.";
+    private static final String KEY_REUSED_MSG = "Idempotency key was already used for a different file.";
+    private static final String IN_PROGRESS_MSG = "An upload of this file is already in progress.";
+
+    private final BulkUploadService bulkUploadService;
+    private final UploadLedgerRepository uploadLedgerRepository;
+    private final Duration retention;
+    private final Duration staleAfter;
+    private final Duration contentWindow;
+    private final Map<String, InFlightUpload> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new instance of {@code UploadLedgerService} with the
+     * specified services and repository.
+     *
+     * @param bulkUploadService      The service that processes uploaded
+     *                               workbooks.
+     * @param uploadLedgerRepository The repository for the upload ledger.
+     * @param retention              How long the result of an upload is
+     *                               returned to retries.
+     * @param staleAfter             How long an upload may stay in progress
+     *                               before another instance takes it over.
+     * @param contentWindow          How long the result of an upload without
+     *                               an idempotency key is returned to uploads
+     *                               of the same file.
+     */
+    @Autowired
+    public UploadLedgerService(BulkUploadService bulkUploadService, UploadLedgerRepository uploadLedgerRepository,
+            @Value("${lms.upload.ledger.retention:PT1H}") Duration retention,
+            @Value("${lms.upload.ledger.stale-after:PT30M}") Duration staleAfter,
+            @Value("${lms.upload.ledger.content-window:PT1M}") Duration contentWindow) {
+        this.bulkUploadService = bulkUploadService;
+        this.uploadLedgerRepository = uploadLedgerRepository;
+        this.retention = retention;
+        this.staleAfter = staleAfter;
+        this.contentWindow = contentWindow;
+    }
+
+    /**
+     * Processes an uploaded Excel file once per idempotency key, or once per
+     * file content within the content window when no key is given.
+     *
+     * @param file           The uploaded Excel file containing topics.
+     * @param idempotencyKey The client's key for the upload, or {@code null}.
+     * @return The result of the upload, stored or shared if the upload was
+     *         already processed or is in progress.
+     * @throws InvalidDataException    If the key is too long or was used for a
+     *                                 different file.
+     * @throws DuplicateEntryException If the same upload is in progress on
+     *                                 another instance.
+     */
+    public UploadResultDTO upload(MultipartFile file, String idempotencyKey) {
+        if (idempotencyKey != null && idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new InvalidDataException(INVALID_KEY_MSG);
+        }
+        // Copy the upload once, then hash and process the copy
+        return bulkUploadService.withTempCopy(file, tempFile -> upload(tempFile, idempotencyKey));
+    }
+
+    /**
+     * Processes an uploaded Excel file, copied to disk, once.
+     *
+     * @param file           The copy of the uploaded file.
+     * @param idempotencyKey The client's key for the upload, or {@code null}.
+     * @return The result of the upload.
+     */
+    private UploadResultDTO upload(File file, String idempotencyKey) {
+        String fileHash = bulkUploadService.fingerprint(file);
+        boolean keyed = idempotencyKey != null && !idempotencyKey.isBlank();
+        String ledgerKey = keyed ? idempotencyKey : fileHash;
+
+        InFlightUpload upload = new InFlightUpload(fileHash, new CompletableFuture<>());
+        InFlightUpload running = inFlight.putIfAbsent(ledgerKey, upload);
+        if (running != null) {
+            checkSameFile(running.fileHash(), fileHash);
+            return join(running.result());
+        }
+        try {
+            UploadResultDTO result = uploadOnce(ledgerKey, fileHash, file, keyed ? retention : contentWindow);
+            upload.result().complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            upload.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(ledgerKey, upload);
+        }
+    }
+
+    /**
+     * Deletes the ledger entries older than the retention period.
+     */
+    @Scheduled(fixedDelayString = "${lms.upload.ledger.purge-interval:PT10M}")
+    @Transactional
+    public void purgeExpiredEntries() {
+        uploadLedgerRepository.deleteStartedBefore(Instant.now().minus(retention));
+    }
+
+    /**
+     * Returns the stored result of an upload, or records the upload in the
+     * ledger and processes the file.
+     *
+     * @param ledgerKey The key of the upload in the ledger.
+     * @param fileHash  The hash of the uploaded file.
+     * @param file      The copy of the uploaded file.
+     * @param replayFor How long after completing the upload its stored result
+     *                  is returned.
+     * @return The result of the upload.
+     */
+    private UploadResultDTO uploadOnce(String ledgerKey, String fileHash, File file, Duration replayFor) {
+        Instant now = Instant.now();
+        UploadLedgerEntry entry = uploadLedgerRepository.findById(ledgerKey).orElse(null);
+        if (entry == null) {
+            entry = new UploadLedgerEntry(ledgerKey, fileHash, now);
+        } else if (entry.getStartedAt().plus(retention).isBefore(now)) {
+            entry.restart(fileHash, now);
+        } else {
+            checkSameFile(entry.getFileHash(), fileHash);
+            if (entry.getStatus() == UploadLedgerStatus.COMPLETED) {
+                if (entry.getCompletedAt().plus(replayFor).isAfter(now)) {
+                    return entry.toResult();
+                }
+            } else if (entry.getStartedAt().plus(staleAfter).isAfter(now)) {
+                throw new DuplicateEntryException(IN_PROGRESS_MSG);
+            }
+            // The upload is no longer replayed, or the instance that started it
+            // stopped before completing it
+            entry.restart(fileHash, now);
+        }
+        try {
+            entry = uploadLedgerRepository.saveAndFlush(entry);
+        } catch (DataIntegrityViolationException | ObjectOptimisticLockingFailureException e) {
+            // Another instance recorded or took over the same upload first
+            throw new DuplicateEntryException(IN_PROGRESS_MSG);
+        }
+
+        UploadResultDTO result;
+        try {
+            result = bulkUploadService.uploadFile(file);
+        } catch (RuntimeException e) {
+            // Forget the failed upload, so that a retry processes the file again
+            uploadLedgerRepository.delete(entry);
+            throw e;
+        }
+        entry.complete(result, Instant.now());
+        uploadLedgerRepository.save(entry);
+        return result;
+    }
+
+    private static void checkSameFile(String storedHash, String fileHash) {
+        if (!storedHash.equals(fileHash)) {
+            throw new InvalidDataException(KEY_REUSED_MSG);
+        }
+    }
+
+    private static UploadResultDTO join(CompletableFuture<UploadResultDTO> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record InFlightUpload(String fileHash, CompletableFuture<UploadResultDTO> result) {
+    }
+}
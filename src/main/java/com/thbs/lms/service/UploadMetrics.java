@@ -0,0 +1,57 @@
+package com.thbs.lms.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * The {@code UploadMetrics} class counts the sheets and rows handled by bulk
+ * uploads, across all upload modes.
+ */
+@Component
+public class UploadMetrics {
+
+    private final Counter sheetsProcessed;
+    private final Counter rowsInserted;
+    private final Counter rowsSkipped;
+
+    /**
+     * Constructs a new instance of {@code UploadMetrics} and registers its
+     * counters.
+     *
+     * @param meterRegistry The registry to register the counters in.
+     */
+    @Autowired
+    public UploadMetrics(MeterRegistry meterRegistry) {
+        this.sheetsProcessed = Counter.builder("lms.upload.sheets")
+                .description("Sheets saved by bulk uploads")
+                .register(meterRegistry);
+        this.rowsInserted = Counter.builder("lms.upload.rows")
+                .description("Topic rows handled by bulk uploads")
+                .tag("outcome", "inserted")
+                .register(meterRegistry);
+        this.rowsSkipped = Counter.builder("lms.upload.rows")
+                .description("Topic rows handled by bulk uploads")
+                .tag("outcome", "skipped")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records a saved sheet and the number of topics inserted from it.
+     *
+     * @param inserted The number of topics inserted.
+     */
+    public void sheetProcessed(int inserted) {
+        sheetsProcessed.increment();
+        rowsInserted.increment(inserted);
+    }
+
+    /**
+     * Records a row skipped because its topic already exists.
+     */
+    public void rowSkipped() {
+        rowsSkipped.increment();
+    }
+}
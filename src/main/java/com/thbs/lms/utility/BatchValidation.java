@@ -0,0 +1,109 @@
+package com.thbs.lms.utility;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.thbs.lms.dto.BatchItemDTO;
+import com.thbs.lms.dto.BatchItemStatus;
+import com.thbs.lms.dto.BatchResultDTO;
+import com.thbs.lms.exception.DuplicateEntryException;
+import com.thbs.lms.exception.InvalidDataException;
+
+/**
+ * The {@code BatchValidation} class collects the validation failures of the
+ * items of a batch request, so that every item is checked before anything is
+ * saved.
+ * The failures can then either be thrown, for the endpoints that stop at the
+ * first rejected item, or reported item by item.
+ */
+public class BatchValidation {
+
+    private static final String NOT_SAVED_MSG = "Not saved because other items were rejected.";
+
+    private final RuntimeException[] failures;
+    private int rejected;
+
+    /**
+     * Constructs a new validation for a batch of the given size.
+     *
+     * @param size The number of items in the batch.
+     */
+    public BatchValidation(int size) {
+        this.failures = new RuntimeException[size];
+    }
+
+    /**
+     * Records why an item was rejected. Only the first failure of each item is
+     * kept.
+     *
+     * @param index   The position of the item in the batch.
+     * @param failure The exception describing why the item was rejected.
+     */
+    public void reject(int index, RuntimeException failure) {
+        if (failures[index] == null) {
+            failures[index] = failure;
+            rejected++;
+        }
+    }
+
+    /**
+     * Checks whether an item was rejected.
+     *
+     * @param index The position of the item in the batch.
+     * @return {@code true} if the item was rejected, {@code false} otherwise.
+     */
+    public boolean isRejected(int index) {
+        return failures[index] != null;
+    }
+
+    /**
+     * Checks whether any item was rejected.
+     *
+     * @return {@code true} if any item was rejected, {@code false} otherwise.
+     */
+    public boolean hasRejections() {
+        return rejected > 0;
+    }
+
+    /**
+     * Throws the failure of the first rejected item, if any.
+     */
+    public void throwFirstRejection() {
+        for (RuntimeException failure : failures) {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    /**
+     * Builds the result of a batch that was not saved, reporting the failure
+     * of each rejected item.
+     *
+     * @param <T>   the type of the items in the batch
+     * @param items The items as submitted, in request order.
+     * @return The result of the batch.
+     */
+    public <T> BatchResultDTO<T> toRejectedResult(List<T> items) {
+        List<BatchItemDTO<T>> outcomes = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            RuntimeException failure = failures[i];
+            outcomes.add(new BatchItemDTO<>(i, statusOf(failure),
+                    failure == null ? NOT_SAVED_MSG : failure.getMessage(), items.get(i)));
+        }
+        return new BatchResultDTO<>(false, outcomes);
+    }
+
+    private static BatchItemStatus statusOf(RuntimeException failure) {
+        if (failure == null) {
+            return BatchItemStatus.NOT_SAVED;
+        }
+        if (failure instanceof DuplicateEntryException) {
+            return BatchItemStatus.DUPLICATE;
+        }
+        if (failure instanceof InvalidDataException) {
+            return BatchItemStatus.INVALID;
+        }
+        return BatchItemStatus.NOT_SAVED;
+    }
+}
@@ -0,0 +1,172 @@
+package com.thbs.lms.utility;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * The {@code CsvIngestFormat} class reads UTF-8 CSV documents holding a single
+ * course, laid out like an Excel sheet:
+ *
+ * <pre>
+ * Level,BASIC
+ * Course,Java Fundamentals
+ * Topic,Description
+ * Streams,"Lazy, pipelined operations on collections"
+ * </pre>
+ *
+ * Fields follow RFC 4180: they may be enclosed in double quotes, in which case
+ * they can contain commas, line breaks and doubled quotes. Empty fields are
+ * treated as absent cells, and only the first two fields of each record are
+ * kept.
+ * As a document holds one course, its rows are all buffered before the course
+ * is passed on, so that the course is validated in full before any topic is
+ * saved. Memory use is therefore proportional to the document, which is bounded
+ * by {@code lms.upload.max-file-size}.
+ */
+@Component
+public class CsvIngestFormat implements IngestFormat {
+    private static final String UNTERMINATED_QUOTE_MSG = "Quoted field is not terminated.";
+
+    /**
+     * The index of the row whose second cell names the course.
+     */
+    private static final int COURSE_ROW = 1;
+
+    @Override
+    public Set<String> getContentTypes() {
+        return Set.of("text/csv", "application/csv");
+    }
+
+    @Override
+    public Set<String> getFileExtensions() {
+        return Set.of("csv");
+    }
+
+    /**
+     * Reads the document as a single course. Every record is buffered before
+     * the course is passed to the consumer.
+     */
+    @Override
+    public void readSheets(InputStream inputStream, Consumer<StreamedSheet> sheetConsumer) throws IOException {
+        RecordReader reader = new RecordReader(
+                new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8)));
+        List<StreamedRow> rows = new ArrayList<>();
+        while (reader.next()) {
+            rows.add(new StreamedRow(rows.size(), reader.firstCell, reader.secondCell, reader.empty));
+        }
+        String courseName = rows.size() > COURSE_ROW ? rows.get(COURSE_ROW).getSecondCell() : null;
+        sheetConsumer.accept(new StreamedSheet(courseName, rows));
+    }
+
+    /**
+     * Splits a character stream into records, reusing one buffer for every
+     * field. Fields beyond the second are scanned but never turned into
+     * strings.
+     */
+    private static class RecordReader {
+        private static final int BYTE_ORDER_MARK = '\uFEFF';
+        private static final int NONE = -2;
+
+        private final Reader reader;
+        private final StringBuilder field = new StringBuilder();
+        private int pending = NONE;
+        private int column;
+        private String firstCell;
+        private String secondCell;
+        private boolean empty;
+
+        RecordReader(Reader reader) throws IOException {
+            this.reader = reader;
+            int first = reader.read();
+            if (first != BYTE_ORDER_MARK) {
+                pending = first;
+            }
+        }
+
+        /**
+         * Reads the next record.
+         *
+         * @return {@code true} if a record was read, or {@code false} at the end
+         *         of the stream.
+         * @throws IOException If the stream cannot be read or ends inside a quoted
+         *                     field.
+         */
+        boolean next() throws IOException {
+            int c = read();
+            if (c == -1) {
+                return false;
+            }
+            column = 0;
+            firstCell = null;
+            secondCell = null;
+            empty = true;
+            field.setLength(0);
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        throw new IOException(UNTERMINATED_QUOTE_MSG);
+                    }
+                    if (c == '"') {
+                        int next = read();
+                        if (next != '"') {
+                            // Closing quote: handle the following character outside the quotes
+                            quoted = false;
+                            c = next;
+                            continue;
+                        }
+                    }
+                    field.append((char) c);
+                } else if (c == '"' && field.length() == 0) {
+                    quoted = true;
+                } else if (c == ',') {
+                    endField();
+                } else if (c == '\r' || c == '\n' || c == -1) {
+                    endField();
+                    if (c == '\r') {
+                        int next = read();
+                        if (next != '\n') {
+                            pending = next;
+                        }
+                    }
+                    return true;
+                } else {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+        }
+
+        private void endField() {
+            if (field.length() > 0) {
+                empty = false;
+                if (column == 0) {
+                    firstCell = field.toString();
+                } else if (column == 1) {
+                    secondCell = field.toString();
+                }
+            }
+            field.setLength(0);
+            column++;
+        }
+
+        private int read() throws IOException {
+            if (pending != NONE) {
+                int c = pending;
+                pending = NONE;
+                return c;
+            }
+            return reader.read();
+        }
+    }
+}
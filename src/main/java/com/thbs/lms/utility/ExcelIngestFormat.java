@@ -0,0 +1,44 @@
+package com.thbs.lms.utility;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * The {@code ExcelIngestFormat} class reads .xlsx workbooks with the
+ * {@link StreamingWorkbookReader}, one course per sheet.
+ * The workbook is a zip archive that cannot be read front to back, so it is
+ * spilled to a temporary file first.
+ */
+@Component
+public class ExcelIngestFormat implements IngestFormat {
+
+    @Override
+    public Set<String> getContentTypes() {
+        return Set.of("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+    }
+
+    @Override
+    public Set<String> getFileExtensions() {
+        return Set.of("xlsx");
+    }
+
+    @Override
+    public void readSheets(InputStream inputStream, Consumer<StreamedSheet> sheetConsumer) throws IOException {
+        File tempFile = Files.createTempFile("lms-ingest-", ".xlsx").toFile();
+        try {
+            Files.copy(inputStream, tempFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            StreamingWorkbookReader.readSheets(tempFile, sheetConsumer);
+        } finally {
+            if (!tempFile.delete()) {
+                tempFile.deleteOnExit();
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.thbs.lms.utility;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * The {@code IngestFormat} interface parses a bulk upload document of one file
+ * format into {@link StreamedSheet} objects, one per course, so that every
+ * format is validated by the {@link SheetValidator} and saved the same way.
+ * Each sheet holds the header rows of an Excel sheet (Level, Course and
+ * Topic/Description) followed by the topic rows.
+ * Implementations are registered as beans and selected by the content type
+ * or, failing that, by the file extension of the upload.
+ */
+public interface IngestFormat {
+    /**
+     * Retrieves the media types of the documents this format reads.
+     *
+     * @return The media types, without parameters, in lower case.
+     */
+    Set<String> getContentTypes();
+
+    /**
+     * Retrieves the file extensions of the documents this format reads.
+     *
+     * @return The extensions, without the leading dot, in lower case.
+     */
+    Set<String> getFileExtensions();
+
+    /**
+     * Reads every course of the specified document in order and passes each one
+     * to the given consumer.
+     * The stream is read as it is parsed, so that at most one course is held
+     * in memory at a time.
+     *
+     * @param inputStream   The document to read. It is not closed.
+     * @param sheetConsumer The consumer invoked once per course.
+     * @throws IOException If the document cannot be read or is malformed.
+     */
+    void readSheets(InputStream inputStream, Consumer<StreamedSheet> sheetConsumer) throws IOException;
+}
@@ -0,0 +1,212 @@
+package com.thbs.lms.utility;
+
+/**
+ * The {@code IntervalTree} class stores closed intervals of {@code long} values,
+ * each identified by an ID, and finds an interval overlapping a given range in
+ * {@code O(log n)} time.
+ * It is a balanced (AVL) binary search tree ordered by interval start, in which
+ * every node also records the largest end of its subtree. Overlapping intervals
+ * may be stored. The class is not thread-safe.
+ */
+public class IntervalTree {
+
+    private Node root;
+    private int size;
+
+    /**
+     * Adds an interval to the tree.
+     *
+     * @param start The first value of the interval.
+     * @param end   The last value of the interval.
+     * @param id    The ID of the interval.
+     */
+    public void insert(long start, long end, long id) {
+        root = insert(root, new Node(start, end, id));
+        size++;
+    }
+
+    /**
+     * Removes an interval from the tree.
+     *
+     * @param start The first value of the interval.
+     * @param end   The last value of the interval.
+     * @param id    The ID of the interval.
+     * @return {@code true} if the interval was stored, {@code false} otherwise.
+     */
+    public boolean remove(long start, long end, long id) {
+        int sizeBefore = size;
+        root = remove(root, start, end, id);
+        return size < sizeBefore;
+    }
+
+    /**
+     * Finds an interval that overlaps the given range.
+     *
+     * @param start      The first value of the range.
+     * @param end        The last value of the range.
+     * @param excludedId The ID of an interval to ignore, or {@code null}.
+     * @return The ID of an overlapping interval, or {@code null} if there is none.
+     */
+    public Long findOverlap(long start, long end, Long excludedId) {
+        return findOverlap(root, start, end, excludedId);
+    }
+
+    /**
+     * @return the number of intervals in the tree
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return {@code true} if the tree holds no interval
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private Long findOverlap(Node node, long start, long end, Long excludedId) {
+        if (node == null || node.maxEnd < start) {
+            return null;
+        }
+        Long found = findOverlap(node.left, start, end, excludedId);
+        if (found != null) {
+            return found;
+        }
+        // Every interval to the right starts at or after this one
+        if (node.start > end) {
+            return null;
+        }
+        if (node.end >= start && (excludedId == null || node.id != excludedId)) {
+            return node.id;
+        }
+        return findOverlap(node.right, start, end, excludedId);
+    }
+
+    private Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.start, added.end, added.id, node) < 0) {
+            node.left = insert(node.left, added);
+        } else {
+            node.right = insert(node.right, added);
+        }
+        return balance(node);
+    }
+
+    private Node remove(Node node, long start, long end, long id) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = compare(start, end, id, node);
+        if (comparison < 0) {
+            node.left = remove(node.left, start, end, id);
+        } else if (comparison > 0) {
+            node.right = remove(node.right, start, end, id);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            // Replace the node with its in-order successor
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            node.right = removeMin(node.right);
+            successor.left = node.left;
+            successor.right = node.right;
+            node = successor;
+        }
+        return balance(node);
+    }
+
+    private Node removeMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeMin(node.left);
+        return balance(node);
+    }
+
+    private static int compare(long start, long end, long id, Node node) {
+        int comparison = Long.compare(start, node.start);
+        if (comparison == 0) {
+            comparison = Long.compare(end, node.end);
+        }
+        if (comparison == 0) {
+            comparison = Long.compare(id, node.id);
+        }
+        return comparison;
+    }
+
+    private static Node balance(Node node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        node.maxEnd = Math.max(node.end, Math.max(maxEnd(node.left), maxEnd(node.right)));
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static long maxEnd(Node node) {
+        return node == null ? Long.MIN_VALUE : node.maxEnd;
+    }
+
+    private static final class Node {
+        private final long start;
+        private final long end;
+        private final long id;
+        private long maxEnd;
+        private int height = 1;
+        private Node left;
+        private Node right;
+
+        private Node(long start, long end, long id) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.maxEnd = end;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.thbs.lms.utility;
+
+import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.mock.web.MockMultipartFile;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * The {@code LargeExcelFileGenerator} class provides a utility method to
+ * generate a valid Excel file with a configurable number of sheets and topic
+ * rows, for load and comparison testing.
+ */
+public class LargeExcelFileGenerator {
+    // Private constructor to prevent instantiation
+    private LargeExcelFileGenerator() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Generates a valid Excel file and returns it as a
+     * {@code MockMultipartFile}.
+     * Each sheet is named {@code Course<n>} and contains the three header rows
+     * followed by {@code rowsPerSheet} unique topics.
+     *
+     * @param sheetCount   The number of sheets (courses) to generate.
+     * @param rowsPerSheet The number of topic rows in each sheet.
+     * @return A {@code MockMultipartFile} representing the generated Excel file.
+     * @throws IOException If an I/O error occurs.
+     */
+    public static MockMultipartFile generateExcelFile(int sheetCount, int rowsPerSheet) throws IOException {
+        // Use the streaming workbook so that large files can be generated cheaply
+        SXSSFWorkbook workbook = new SXSSFWorkbook(100);
+        try {
+            for (int s = 0; s < sheetCount; s++) {
+                Sheet sheet = workbook.createSheet("Course" + s);
+
+                // Create header rows
+                Row headerRow = sheet.createRow(0);
+                headerRow.createCell(0).setCellValue("Level");
+                headerRow.createCell(1).setCellValue("BASIC");
+
+                Row courseRow = sheet.createRow(1);
+                courseRow.createCell(0).setCellValue("Course");
+                courseRow.createCell(1).setCellValue("Course" + s);
+
+                Row columnRow = sheet.createRow(2);
+                columnRow.createCell(0).setCellValue("Topic");
+                columnRow.createCell(1).setCellValue("Description");
+
+                // Create data rows
+                for (int r = 0; r < rowsPerSheet; r++) {
+                    Row dataRow = sheet.createRow(r + 3);
+                    dataRow.createCell(0).setCellValue("Topic" + r);
+                    dataRow.createCell(1).setCellValue("Description of topic " + r + " in course " + s);
+                }
+            }
+
+            // Write workbook content to ByteArrayOutputStream
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            workbook.write(outputStream);
+            byte[] content = outputStream.toByteArray();
+
+            // Create MockMultipartFile
+            return new MockMultipartFile(
+                    "file",
+                    "large_excel.xlsx",
+                    "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet",
+                    content);
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.thbs.lms.utility;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadFeature;
+
+/**
+ * The {@code NdjsonIngestFormat} class reads newline-delimited JSON documents
+ * with one topic per line:
+ *
+ * <pre>
+ * {"courseName": "Java Fundamentals", "level": "BASIC", "topicName": "Streams", "description": "..."}
+ * </pre>
+ *
+ * Consecutive lines with the same course name and level form one course, for
+ * which the header rows of an Excel sheet are generated, so a document can
+ * hold several courses. Other fields are ignored.
+ * Lines are read with a streaming JSON parser, without building a tree per
+ * line.
+ */
+@Component
+public class NdjsonIngestFormat implements IngestFormat {
+    private static final String INVALID_LINE_MSG = "Each line must hold a JSON object.";
+
+    private final JsonFactory jsonFactory = JsonFactory.builder()
+            .disable(StreamReadFeature.AUTO_CLOSE_SOURCE)
+            .build();
+
+    @Override
+    public Set<String> getContentTypes() {
+        return Set.of(MediaType.APPLICATION_NDJSON_VALUE, "application/jsonl");
+    }
+
+    @Override
+    public Set<String> getFileExtensions() {
+        return Set.of("ndjson", "jsonl");
+    }
+
+    @Override
+    public void readSheets(InputStream inputStream, Consumer<StreamedSheet> sheetConsumer) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(inputStream)) {
+            String courseName = null;
+            String level = null;
+            List<StreamedRow> rows = null;
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token != JsonToken.START_OBJECT) {
+                    throw new IOException(INVALID_LINE_MSG);
+                }
+                TopicLine line = readLine(parser);
+                if (rows == null || !Objects.equals(line.courseName, courseName)
+                        || !Objects.equals(line.level, level)) {
+                    if (rows != null) {
+                        sheetConsumer.accept(new StreamedSheet(courseName, rows));
+                    }
+                    courseName = line.courseName;
+                    level = line.level;
+                    rows = createHeaderRows(courseName, level);
+                }
+                rows.add(new StreamedRow(rows.size(), line.topicName, line.description,
+                        line.topicName == null && line.description == null));
+            }
+            if (rows != null) {
+                sheetConsumer.accept(new StreamedSheet(courseName, rows));
+            }
+        }
+    }
+
+    /**
+     * Reads the fields of one line, positioned on its opening brace.
+     *
+     * @param parser The parser of the document.
+     * @return The fields of the line, with empty strings read as absent.
+     * @throws IOException If the line is not valid JSON.
+     */
+    private static TopicLine readLine(JsonParser parser) throws IOException {
+        TopicLine line = new TopicLine();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (!value.isScalarValue()) {
+                parser.skipChildren();
+                continue;
+            }
+            String text = parser.getValueAsString();
+            if (text == null || text.isEmpty()) {
+                continue;
+            }
+            switch (fieldName) {
+                case "courseName" -> line.courseName = text;
+                case "level" -> line.level = text;
+                case "topicName" -> line.topicName = text;
+                case "description" -> line.description = text;
+                default -> {
+                    // Not part of the upload format
+                }
+            }
+        }
+        return line;
+    }
+
+    /**
+     * Creates the header rows an Excel sheet of the course would start with.
+     *
+     * @param courseName The name of the course.
+     * @param level      The level of the course.
+     * @return The header rows, in a list the topic rows are appended to.
+     */
+    private static List<StreamedRow> createHeaderRows(String courseName, String level) {
+        List<StreamedRow> rows = new ArrayList<>();
+        rows.add(new StreamedRow(0, "Level", level, false));
+        rows.add(new StreamedRow(1, "Course", courseName, false));
+        rows.add(new StreamedRow(2, "Topic", "Description", false));
+        return rows;
+    }
+
+    private static class TopicLine {
+        private String courseName;
+        private String level;
+        private String topicName;
+        private String description;
+    }
+}
@@ -0,0 +1,115 @@
+package com.thbs.lms.utility;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import com.thbs.lms.dto.PageDTO;
+import com.thbs.lms.exception.InvalidDataException;
+
+/**
+ * The {@code Pagination} class provides utility methods for offset and keyset
+ * pagination of the list endpoints.
+ * Keyset requests fetch one row more than the page size, so that the next page
+ * can be detected without a count query or an OFFSET scan.
+ */
+public class Pagination {
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private static final String INVALID_SIZE_MSG = "Page size must be between 1 and " + MAX_PAGE_SIZE + ".";
+    private static final String INVALID_PAGE_MSG = "Page number cannot be negative.";
+    private static final String INVALID_CURSOR_MSG = "Cursor cannot be negative.";
+
+    // Private constructor to prevent instantiation
+    private Pagination() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Builds the page request for an offset page, sorted by the given ID
+     * property.
+     *
+     * @param page       The zero-based page number.
+     * @param size       The page size.
+     * @param idProperty The name of the ID property to sort by.
+     * @return The page request.
+     * @throws InvalidDataException If the page number or size is invalid.
+     */
+    public static Pageable pageRequest(int page, int size, String idProperty) {
+        validatePage(page, size);
+        return PageRequest.of(page, size, Sort.by(idProperty));
+    }
+
+    /**
+     * Checks the page number and size of an offset page, for pages that are
+     * not read from a repository.
+     *
+     * @param page The zero-based page number.
+     * @param size The page size.
+     * @throws InvalidDataException If the page number or size is invalid.
+     */
+    public static void validatePage(int page, int size) {
+        validateSize(size);
+        if (page < 0) {
+            throw new InvalidDataException(INVALID_PAGE_MSG);
+        }
+    }
+
+    /**
+     * Builds the row limit for a keyset page: one more than the page size.
+     *
+     * @param after The ID after which the page starts.
+     * @param size  The page size.
+     * @return The row limit.
+     * @throws InvalidDataException If the cursor or size is invalid.
+     */
+    public static Limit keysetLimit(long after, int size) {
+        validateSize(size);
+        if (after < 0) {
+            throw new InvalidDataException(INVALID_CURSOR_MSG);
+        }
+        return Limit.of(size + 1);
+    }
+
+    /**
+     * Converts an offset page into a page DTO.
+     *
+     * @param <T>  The type of the items.
+     * @param page The page returned by the repository.
+     * @param idOf The function returning the ID of an item.
+     * @return The page DTO.
+     */
+    public static <T> PageDTO<T> toPageDTO(Page<T> page, Function<T, Long> idOf) {
+        List<T> content = page.getContent();
+        Long nextCursor = page.hasNext() ? idOf.apply(content.get(content.size() - 1)) : null;
+        return new PageDTO<>(content, page.getNumber(), page.getSize(), page.hasNext(), nextCursor);
+    }
+
+    /**
+     * Converts the rows of a keyset query into a page DTO, dropping the extra
+     * row that was fetched to detect the next page.
+     *
+     * @param <T>  The type of the items.
+     * @param rows The rows returned by the repository, at most {@code size + 1}.
+     * @param size The page size.
+     * @param idOf The function returning the ID of an item.
+     * @return The page DTO.
+     */
+    public static <T> PageDTO<T> toPageDTO(List<T> rows, int size, Function<T, Long> idOf) {
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+        Long nextCursor = hasNext ? idOf.apply(content.get(size - 1)) : null;
+        return new PageDTO<>(content, null, size, hasNext, nextCursor);
+    }
+
+    private static void validateSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidDataException(INVALID_SIZE_MSG);
+        }
+    }
+}
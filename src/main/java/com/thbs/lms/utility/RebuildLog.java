@@ -0,0 +1,70 @@
+package com.thbs.lms.utility;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * The {@code RebuildLog} class lets an in-memory view be rebuilt from a
+ * database snapshot without holding the view's lock during the query.
+ * Changes applied to the view while the snapshot is read are logged and
+ * applied again once the snapshot has been installed, so that they are not
+ * lost when the view is replaced. Changes must therefore be idempotent, which
+ * holds for the record and forget operations of the views.
+ * The view guards the log with its own lock: {@link #apply(Runnable)} must be
+ * called while holding it, and the {@code underLock} callback of
+ * {@link #rebuild(Supplier, Consumer, Consumer)} must acquire it.
+ */
+public class RebuildLog {
+
+    // Serializes rebuilds without pinning a virtual thread during the query
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private List<Runnable> changes;
+
+    /**
+     * Applies a change to the view, logging it if a rebuild is in progress.
+     * Must be called while holding the view's lock.
+     *
+     * @param change The change to apply.
+     */
+    public void apply(Runnable change) {
+        change.run();
+        if (changes != null) {
+            changes.add(change);
+        }
+    }
+
+    /**
+     * Rebuilds the view from a snapshot. Rebuilds run one at a time.
+     *
+     * @param <T>       The type of the snapshot.
+     * @param snapshot  Reads the snapshot, without the view's lock held.
+     * @param underLock Runs a task while holding the view's lock.
+     * @param install   Replaces the content of the view with the snapshot. It
+     *                  is called while holding the view's lock, before the
+     *                  logged changes are applied again.
+     */
+    public <T> void rebuild(Supplier<T> snapshot, Consumer<Runnable> underLock, Consumer<T> install) {
+        rebuildLock.lock();
+        try {
+            underLock.accept(() -> changes = new ArrayList<>());
+            T content;
+            try {
+                content = snapshot.get();
+            } catch (RuntimeException e) {
+                underLock.accept(() -> changes = null);
+                throw e;
+            }
+            underLock.accept(() -> {
+                install.accept(content);
+                List<Runnable> logged = changes;
+                changes = null;
+                logged.forEach(Runnable::run);
+            });
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+}
@@ -13,6 +13,14 @@ import com.thbs.lms.exception.InvalidSheetFormatException;
  * format of Excel sheets.
  */
 public class SheetValidator {
+    private static final String NO_ROWS_MSG = "Sheet does not contain any rows.";
+    private static final String HEADER_MISSING_MSG = "Header row is missing.";
+    private static final String INVALID_A1_MSG = "Header cell A1 must contain 'Level'.";
+    private static final String MISSING_COLUMN_MSG = "Sheet must have two columns.";
+    private static final String INVALID_B1_MSG = "Header cell B1 must contain 'BASIC', 'INTERMEDIATE', or 'ADVANCED'.";
+    private static final String NO_TOPICS_MSG = "No topics found in the course.";
+    private static final String NO_DESCRIPTION_MSG = "Topic does not have a description.";
+
     // Private constructor to prevent instantiation
     private SheetValidator() {
         throw new UnsupportedOperationException("Utility class");
@@ -28,36 +36,31 @@ public class SheetValidator {
     public static boolean isValidSheetFormat(Sheet sheet) {
         // Check if the sheet has at least one row
         if (sheet.getPhysicalNumberOfRows() < 1) {
-            throw new InvalidSheetFormatException("Sheet does not contain any rows.");
+            throw new InvalidSheetFormatException(NO_ROWS_MSG);
         }
 
         // Check if the first row (header row) has the correct format
         Row headerRow = sheet.getRow(0);
         if (headerRow == null) {
-            throw new InvalidSheetFormatException("Header row is missing.");
+            throw new InvalidSheetFormatException(HEADER_MISSING_MSG);
         }
         // Check if the first cell (A1) contains "Level"
         Cell firstCell = headerRow.getCell(0);
         if (firstCell == null || !firstCell.getStringCellValue().trim().equalsIgnoreCase("Level")) {
-            throw new InvalidSheetFormatException("Header cell A1 must contain 'Level'.");
+            throw new InvalidSheetFormatException(INVALID_A1_MSG);
         }
 
         // Check if the second cell (B1) contains "BASIC", "INTERMEDIATE", or "ADVANCED"
         Cell levelCell = headerRow.getCell(1);
         if (levelCell == null) {
-            throw new InvalidSheetFormatException("Sheet must have two columns.");
+            throw new InvalidSheetFormatException(MISSING_COLUMN_MSG);
         }
 
-        String level = levelCell.getStringCellValue().trim();
-        if (!level.equalsIgnoreCase("BASIC") && !level.equalsIgnoreCase("INTERMEDIATE")
-                && !level.equalsIgnoreCase("ADVANCED")) {
-            throw new InvalidSheetFormatException(
-                    "Header cell B1 must contain 'BASIC', 'INTERMEDIATE', or 'ADVANCED'.");
-        }
+        validateLevel(levelCell.getStringCellValue());
 
         int lastRowNum = sheet.getLastRowNum();
         if (lastRowNum < 1) {
-            throw new InvalidSheetFormatException("No topics found in the course.");
+            throw new InvalidSheetFormatException(NO_TOPICS_MSG);
         }
 
         // Get iterator for the rows in the sheet
@@ -70,10 +73,65 @@ public class SheetValidator {
             Cell topicNameCell = row.getCell(0);
             Cell topicDescriptionCell = row.getCell(1);
             if (topicNameCell != null && topicDescriptionCell == null) {
-                throw new InvalidSheetFormatException("Topic does not have a description.");
+                throw new InvalidSheetFormatException(NO_DESCRIPTION_MSG);
             }
         }
 
         return true;
     }
+
+    /**
+     * Validates the format of a sheet read by the
+     * {@link StreamingWorkbookReader}, applying the same rules and messages as
+     * {@link #isValidSheetFormat(Sheet)}.
+     *
+     * @param sheet The streamed sheet to be validated.
+     * @return {@code true} if the sheet format is valid.
+     * @throws InvalidSheetFormatException If the sheet format is invalid.
+     */
+    public static boolean isValidSheetFormat(StreamedSheet sheet) {
+        if (sheet.getRows().isEmpty()) {
+            throw new InvalidSheetFormatException(NO_ROWS_MSG);
+        }
+
+        StreamedRow headerRow = sheet.getRow(0);
+        if (headerRow == null) {
+            throw new InvalidSheetFormatException(HEADER_MISSING_MSG);
+        }
+        String firstCell = headerRow.getFirstCell();
+        if (firstCell == null || !firstCell.trim().equalsIgnoreCase("Level")) {
+            throw new InvalidSheetFormatException(INVALID_A1_MSG);
+        }
+        if (headerRow.getSecondCell() == null) {
+            throw new InvalidSheetFormatException(MISSING_COLUMN_MSG);
+        }
+        validateLevel(headerRow.getSecondCell());
+
+        if (sheet.getLastRowNum() < 1) {
+            throw new InvalidSheetFormatException(NO_TOPICS_MSG);
+        }
+
+        // Skip the header row, which is always the first physical row here
+        for (StreamedRow row : sheet.getRows().subList(1, sheet.getRows().size())) {
+            if (row.getFirstCell() != null && row.getSecondCell() == null) {
+                throw new InvalidSheetFormatException(NO_DESCRIPTION_MSG);
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks that the level in header cell B1 is one of the supported levels.
+     *
+     * @param level The value of cell B1.
+     * @throws InvalidSheetFormatException If the level is not supported.
+     */
+    private static void validateLevel(String level) {
+        String trimmedLevel = level.trim();
+        if (!trimmedLevel.equalsIgnoreCase("BASIC") && !trimmedLevel.equalsIgnoreCase("INTERMEDIATE")
+                && !trimmedLevel.equalsIgnoreCase("ADVANCED")) {
+            throw new InvalidSheetFormatException(INVALID_B1_MSG);
+        }
+    }
 }
@@ -0,0 +1,36 @@
+package com.thbs.lms.utility;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The {@code StreamedRow} class represents a single physical row read from an
+ * Excel sheet by the {@link StreamingWorkbookReader}.
+ * Only the first two columns are retained, which is all the upload format
+ * uses.
+ */
+@Getter
+@AllArgsConstructor
+public class StreamedRow {
+    /**
+     * The zero-based index of the row within the sheet.
+     */
+    private final int rowNum;
+
+    /**
+     * The value of the first cell (column A), or {@code null} if absent or
+     * not a text cell.
+     */
+    private final String firstCell;
+
+    /**
+     * The value of the second cell (column B), or {@code null} if absent or
+     * not a text cell.
+     */
+    private final String secondCell;
+
+    /**
+     * Whether every cell in the row, including columns beyond B, is blank.
+     */
+    private final boolean empty;
+}
@@ -0,0 +1,53 @@
+package com.thbs.lms.utility;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The {@code StreamedSheet} class holds the rows of a single Excel sheet read
+ * by the {@link StreamingWorkbookReader}.
+ * Only one sheet is held in memory at a time.
+ */
+@Getter
+@AllArgsConstructor
+public class StreamedSheet {
+    /**
+     * The name of the sheet.
+     */
+    private final String sheetName;
+
+    /**
+     * The physical rows of the sheet, in document order.
+     */
+    private final List<StreamedRow> rows;
+
+    /**
+     * Retrieves the row with the specified index.
+     *
+     * @param rowNum The zero-based index of the row.
+     * @return The row, or {@code null} if the sheet has no such row.
+     */
+    public StreamedRow getRow(int rowNum) {
+        for (StreamedRow row : rows) {
+            if (row.getRowNum() == rowNum) {
+                return row;
+            }
+            if (row.getRowNum() > rowNum) {
+                break;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Retrieves the index of the last row in the sheet.
+     *
+     * @return The zero-based index of the last row, or {@code -1} if the sheet is
+     *         empty.
+     */
+    public int getLastRowNum() {
+        return rows.isEmpty() ? -1 : rows.get(rows.size() - 1).getRowNum();
+    }
+}
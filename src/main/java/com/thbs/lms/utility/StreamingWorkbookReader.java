@@ -0,0 +1,216 @@
+package com.thbs.lms.utility;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.XMLFilterImpl;
+
+/**
+ * The {@code StreamingWorkbookReader} class reads Excel (.xlsx) workbooks with
+ * the POI event API instead of building the full workbook in memory.
+ * Sheets are parsed one at a time with a SAX parser and handed to the caller
+ * as {@link StreamedSheet} objects, so memory use is bounded by the largest
+ * sheet rather than the whole workbook. Sheets can also be parsed
+ * concurrently, one task per sheet.
+ * Like the DOM path, which reads cells with {@code getStringCellValue()}, only
+ * text cells are read: numeric, boolean and error cells in the first two
+ * columns are reported as absent, so that the row fails validation.
+ */
+public class StreamingWorkbookReader {
+    private static final String READ_ERROR_MSG = "Unable to read workbook.";
+    // Cell types holding a shared string, an inline string or a formula with a string result
+    private static final Set<String> TEXT_CELL_TYPES = Set.of("s", "inlineStr", "str");
+
+    // Private constructor to prevent instantiation
+    private StreamingWorkbookReader() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Reads every sheet of the specified workbook in order and passes each one to
+     * the given consumer.
+     *
+     * @param file          The .xlsx file to read.
+     * @param sheetConsumer The consumer invoked once per sheet.
+     * @throws IOException If the file cannot be read or is not a valid .xlsx
+     *                     workbook.
+     */
+    public static void readSheets(File file, Consumer<StreamedSheet> sheetConsumer) throws IOException {
+        try (OPCPackage opcPackage = OPCPackage.open(file, PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(opcPackage);
+            ReadOnlySharedStringsTable sharedStrings = new ReadOnlySharedStringsTable(opcPackage, false);
+            StylesTable styles = reader.getStylesTable();
+
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            while (sheets.hasNext()) {
+                try (InputStream sheetStream = sheets.next()) {
+                    sheetConsumer.accept(parseSheet(sheets.getSheetName(), sheetStream, styles, sharedStrings));
+                }
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException(READ_ERROR_MSG, e);
+        }
+    }
+
+    /**
+     * Reads every sheet of the specified workbook concurrently on the given
+     * executor.
+     * Each sheet is parsed from its own handle on the file, while the shared
+     * strings table is parsed once and shared read-only between the tasks.
+     *
+     * @param file     The .xlsx file to read.
+     * @param executor The executor that parses the sheets.
+     * @return One future per sheet, in workbook order. A future completes
+     *         exceptionally with an {@link UncheckedIOException} if its sheet
+     *         cannot be read.
+     * @throws IOException If the file cannot be read or is not a valid .xlsx
+     *                     workbook.
+     */
+    public static List<CompletableFuture<StreamedSheet>> readSheetsAsync(File file, Executor executor)
+            throws IOException {
+        ReadOnlySharedStringsTable sharedStrings;
+        int sheetCount = 0;
+        try (OPCPackage opcPackage = OPCPackage.open(file, PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(opcPackage);
+            sharedStrings = new ReadOnlySharedStringsTable(opcPackage, false);
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            while (sheets.hasNext()) {
+                sheets.next().close();
+                sheetCount++;
+            }
+        } catch (OpenXML4JException | SAXException e) {
+            throw new IOException(READ_ERROR_MSG, e);
+        }
+
+        List<CompletableFuture<StreamedSheet>> futures = new ArrayList<>(sheetCount);
+        for (int i = 0; i < sheetCount; i++) {
+            int sheetIndex = i;
+            futures.add(CompletableFuture.supplyAsync(() -> readSheet(file, sheetIndex, sharedStrings), executor));
+        }
+        return futures;
+    }
+
+    /**
+     * Reads a single sheet of the specified workbook through its own package
+     * handle, so that several sheets can be read at the same time.
+     *
+     * @param file          The .xlsx file to read.
+     * @param sheetIndex    The zero-based index of the sheet.
+     * @param sharedStrings The shared strings table of the workbook.
+     * @return The sheet read from the file.
+     * @throws UncheckedIOException If the sheet cannot be read.
+     */
+    private static StreamedSheet readSheet(File file, int sheetIndex, ReadOnlySharedStringsTable sharedStrings) {
+        try (OPCPackage opcPackage = OPCPackage.open(file, PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(opcPackage);
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            for (int i = 0; i < sheetIndex; i++) {
+                sheets.next().close();
+            }
+            try (InputStream sheetStream = sheets.next()) {
+                return parseSheet(sheets.getSheetName(), sheetStream, reader.getStylesTable(), sharedStrings);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new UncheckedIOException(new IOException(READ_ERROR_MSG, e));
+        }
+    }
+
+    /**
+     * Parses the XML of a single sheet.
+     *
+     * @param sheetName     The name of the sheet.
+     * @param sheetStream   The XML stream of the sheet.
+     * @param styles        The styles table of the workbook.
+     * @param sharedStrings The shared strings table of the workbook.
+     * @return The rows of the sheet.
+     */
+    private static StreamedSheet parseSheet(String sheetName, InputStream sheetStream, StylesTable styles,
+            ReadOnlySharedStringsTable sharedStrings)
+            throws IOException, SAXException, ParserConfigurationException {
+        RowCollector collector = new RowCollector();
+        // The contents handler is not told the cell types, so they are read from the cell elements
+        XMLReader parser = new XMLFilterImpl(XMLHelper.newXMLReader()) {
+            @Override
+            public void startElement(String uri, String localName, String qName, Attributes atts)
+                    throws SAXException {
+                if ("c".equals(localName)) {
+                    collector.textCell = TEXT_CELL_TYPES.contains(atts.getValue("t"));
+                }
+                super.startElement(uri, localName, qName, atts);
+            }
+        };
+        parser.setContentHandler(
+                new XSSFSheetXMLHandler(styles, null, sharedStrings, collector, new DataFormatter(), false));
+        parser.parse(new InputSource(sheetStream));
+        return new StreamedSheet(sheetName, collector.rows);
+    }
+
+    /**
+     * Collects the first two columns of each row emitted by the SAX handler.
+     */
+    private static class RowCollector implements SheetContentsHandler {
+        private final List<StreamedRow> rows = new ArrayList<>();
+        private String firstCell;
+        private String secondCell;
+        private boolean empty;
+        private int currentColumn;
+        private boolean textCell;
+
+        @Override
+        public void startRow(int rowNum) {
+            firstCell = null;
+            secondCell = null;
+            empty = true;
+            currentColumn = -1;
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            rows.add(new StreamedRow(rowNum, firstCell, secondCell, empty));
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            // Cells without a reference are positioned right after the previous one
+            currentColumn = cellReference == null ? currentColumn + 1 : new CellReference(cellReference).getCol();
+            empty = false;
+            if (!textCell) {
+                return;
+            }
+            if (currentColumn == 0) {
+                firstCell = formattedValue;
+            } else if (currentColumn == 1) {
+                secondCell = formattedValue;
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.thbs.lms.utility;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * The {@code TransactionHooks} class runs work tied to the outcome of the
+ * current transaction.
+ * The in-memory views built from the database use it to apply changes made
+ * inside a transaction only once it commits, so that a rolled back change
+ * never becomes visible, and to hold a reservation only for as long as the
+ * transaction that made it.
+ */
+public class TransactionHooks {
+
+    // Private constructor to prevent instantiation
+    private TransactionHooks() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Runs a task after the current transaction commits, or at once when no
+     * transaction is active. The task is dropped if the transaction rolls
+     * back.
+     *
+     * @param task The task to run.
+     */
+    public static void afterCommit(Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+
+    /**
+     * Runs a task after the current transaction commits or rolls back, or at
+     * once when no transaction is active.
+     *
+     * @param task The task to run.
+     */
+    public static void afterCompletion(Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+}
@@ -9,6 +9,8 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import com.jayway.jsonpath.JsonPath;
+import com.thbs.lms.utility.LargeExcelFileGenerator;
 import com.thbs.lms.utility.MockExcelFileGenerator;
 import com.thbs.lms.utility.JPEGFileGenerator;
 import com.thbs.lms.utility.PDFFileGenerator;
@@ -84,4 +86,35 @@ class BulkUploadControllerTest {
                 .andExpect(jsonPath("$.message").value("Error processing the uploaded file."));
     }
 
-}
\ No newline at end of file
+    @Test
+    void testAsyncUploadCompletes() throws Exception {
+        MockMultipartFile file = LargeExcelFileGenerator.generateExcelFile(2, 10);
+
+        String response = mockMvc.perform(MockMvcRequestBuilders.multipart("/course/upload/async").file(file))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.jobId").exists())
+                .andReturn().getResponse().getContentAsString();
+        String jobId = JsonPath.read(response, "$.jobId");
+
+        String status = "QUEUED";
+        for (int attempt = 0; attempt < 100 && !status.equals("COMPLETED") && !status.equals("FAILED"); attempt++) {
+            Thread.sleep(100);
+            String job = mockMvc.perform(MockMvcRequestBuilders.get("/course/upload/jobs/" + jobId))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            status = JsonPath.read(job, "$.status");
+        }
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/course/upload/jobs/" + jobId))
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.result.sheetsProcessed").value(2))
+                .andExpect(jsonPath("$.result.rowsProcessed").value(20));
+    }
+
+    @Test
+    void testUnknownUploadJob() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/course/upload/jobs/unknown"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Upload job not found."));
+    }
+}
@@ -1,6 +1,7 @@
 package com.thbs.lms.testController;
 
 import com.thbs.lms.dto.CourseDTO;
+import com.thbs.lms.dto.PageDTO;
 import com.thbs.lms.controller.CourseController;
 import com.thbs.lms.model.Course;
 import com.thbs.lms.service.CourseService;
@@ -62,6 +63,32 @@ class CourseControllerTest {
         assertEquals(courses, responseEntity.getBody());
     }
 
+    @Test
+    void testGetCoursesPage() {
+        PageDTO<Course> page = new PageDTO<>(new ArrayList<>(), 0, 10, false, null);
+
+        when(courseService.getCoursesPage(0, 10)).thenReturn(page);
+
+        ResponseEntity<?> responseEntity = courseController.getCoursesPage(0, null, 10);
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(page, responseEntity.getBody());
+        verify(courseService, never()).getCoursesAfter(anyLong(), anyInt());
+    }
+
+    @Test
+    void testGetCoursesPage_Keyset() {
+        PageDTO<Course> page = new PageDTO<>(new ArrayList<>(), null, 10, true, 30L);
+
+        when(courseService.getCoursesAfter(20L, 10)).thenReturn(page);
+
+        ResponseEntity<?> responseEntity = courseController.getCoursesPage(0, 20L, 10);
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(page, responseEntity.getBody());
+        verify(courseService, never()).getCoursesPage(anyInt(), anyInt());
+    }
+
     @Test
 
     void testGetCoursesByLevel() {
@@ -191,10 +191,12 @@ class TopicControllerTest {
         topics.add(topic1);
         topics.add(topic2);
 
+        when(topicService.deleteTopics(topics)).thenReturn(2);
+
         ResponseEntity<?> responseEntity = topicController.deleteTopics(topics);
 
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
-        assertEquals("Topics deleted successfully.", responseEntity.getBody());
+        assertEquals("2 topics deleted successfully.", responseEntity.getBody());
 
         verify(topicService, times(1)).deleteTopics(topics);
     }
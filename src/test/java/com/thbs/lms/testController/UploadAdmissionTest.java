@@ -0,0 +1,129 @@
+package com.thbs.lms.testController;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import com.thbs.lms.config.UploadAdmissionInterceptor;
+import com.thbs.lms.exception.TooManyUploadsException;
+import com.thbs.lms.utility.MockExcelFileGenerator;
+import com.thbs.lms.utility.TextFileGenerator;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class UploadAdmissionTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UploadAdmissionInterceptor uploadAdmissionInterceptor;
+
+    private final List<MockHttpServletRequest> heldUploads = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        heldUploads.forEach(this::release);
+        heldUploads.clear();
+    }
+
+    @Test
+    void testUploadsOverTheLimitGet429WithRetryAfter() throws Exception {
+        int permits = uploadAdmissionInterceptor.getAvailablePermits();
+        for (int i = 0; i < permits; i++) {
+            heldUploads.add(admit());
+        }
+        MockMultipartFile file = MockExcelFileGenerator.generateMockExcelFile();
+
+        mockMvc.perform(MockMvcRequestBuilders.multipart("/course/upload/stream").file(file))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "30"))
+                .andExpect(jsonPath("$.message").value("Too many uploads in progress. Please retry later."));
+        // Polling a job is not an upload, so it is still served
+        mockMvc.perform(MockMvcRequestBuilders.get("/course/upload/jobs/missing"))
+                .andExpect(status().isNotFound());
+
+        release(heldUploads.remove(0));
+        mockMvc.perform(MockMvcRequestBuilders.multipart("/course/upload/stream").file(file))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testPermitIsReleasedWhenUploadFails() throws Exception {
+        int permits = uploadAdmissionInterceptor.getAvailablePermits();
+        File textFile = TextFileGenerator.generateTextFile("sample.txt");
+        MockMultipartFile file = TextFileGenerator.convertToMockMultipartFile(textFile);
+
+        for (int i = 0; i <= permits; i++) {
+            mockMvc.perform(MockMvcRequestBuilders.multipart("/course/upload").file(file))
+                    .andExpect(status().isInternalServerError());
+        }
+
+        assertEquals(permits, uploadAdmissionInterceptor.getAvailablePermits());
+    }
+
+    @Test
+    void testInterceptorAdmitsUpToTheLimit() {
+        UploadAdmissionInterceptor interceptor = new UploadAdmissionInterceptor(1, Duration.ofSeconds(5));
+        MockHttpServletRequest first = new MockHttpServletRequest("POST", "/course/upload");
+        MockHttpServletRequest second = new MockHttpServletRequest("POST", "/course/upload");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(first, response, null));
+        TooManyUploadsException rejected = assertThrows(TooManyUploadsException.class,
+                () -> interceptor.preHandle(second, response, null));
+        assertEquals(Duration.ofSeconds(5), rejected.getRetryAfter());
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest("OPTIONS", "/course/upload"), response, null));
+
+        // Only the admitted request gives its permit back
+        interceptor.afterCompletion(second, response, null, rejected);
+        assertEquals(0, interceptor.getAvailablePermits());
+        interceptor.afterCompletion(first, response, null, null);
+        interceptor.afterCompletion(first, response, null, null);
+        assertEquals(1, interceptor.getAvailablePermits());
+    }
+
+    @Test
+    void testTakenPermitIsReleasedByItsTask() {
+        UploadAdmissionInterceptor interceptor = new UploadAdmissionInterceptor(1, Duration.ofSeconds(5));
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/course/upload/async");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, null);
+
+        Runnable release = UploadAdmissionInterceptor.takePermit(request);
+        interceptor.afterCompletion(request, response, null, null);
+        // The background job still holds the permit
+        assertEquals(0, interceptor.getAvailablePermits());
+
+        release.run();
+        release.run();
+        assertEquals(1, interceptor.getAvailablePermits());
+    }
+
+    private MockHttpServletRequest admit() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/course/upload");
+        uploadAdmissionInterceptor.preHandle(request, new MockHttpServletResponse(), null);
+        return request;
+    }
+
+    private void release(MockHttpServletRequest request) {
+        uploadAdmissionInterceptor.afterCompletion(request, new MockHttpServletResponse(), null, null);
+    }
+}
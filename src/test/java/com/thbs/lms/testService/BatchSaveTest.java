@@ -0,0 +1,174 @@
+package com.thbs.lms.testService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.thbs.lms.dto.BatchItemDTO;
+import com.thbs.lms.dto.BatchItemStatus;
+import com.thbs.lms.dto.BatchResultDTO;
+import com.thbs.lms.exception.DuplicateEntryException;
+import com.thbs.lms.model.Course;
+import com.thbs.lms.model.LearningPlan;
+import com.thbs.lms.model.Module;
+import com.thbs.lms.model.Topic;
+import com.thbs.lms.repository.CourseRepository;
+import com.thbs.lms.repository.LearningPlanRepository;
+import com.thbs.lms.repository.ModuleRepository;
+import com.thbs.lms.repository.TopicRepository;
+import com.thbs.lms.service.CourseService;
+import com.thbs.lms.service.ModuleService;
+import com.thbs.lms.service.TopicService;
+import com.thbs.lms.testUtility.SqlStatementCounter;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class BatchSaveTest {
+
+    private static final int PAYLOAD_SIZE = 1000;
+    private static final long DAY = 1000L * 60 * 60 * 24;
+
+    @Autowired
+    private TopicService topicService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private ModuleService moduleService;
+
+    @Autowired
+    private TopicRepository topicRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ModuleRepository moduleRepository;
+
+    @Autowired
+    private LearningPlanRepository learningPlanRepository;
+
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        course = courseRepository.save(new Course(null, "Batch " + UUID.randomUUID(), "BASIC"));
+    }
+
+    @Test
+    void testRejectedTopicRollsBackTheWholeBatch() {
+        List<Topic> topics = newTopics(course, "Topic", PAYLOAD_SIZE);
+        topics.set(400, new Topic(null, "Topic3", "Repeated", course));
+        topics.set(700, new Topic(null, "Topic700", "", course));
+
+        BatchResultDTO<Topic> result = topicService.addTopicsInBatch(topics);
+
+        assertFalse(result.isSaved());
+        assertEquals(PAYLOAD_SIZE, result.getItems().size());
+        assertEquals(BatchItemStatus.DUPLICATE, result.getItems().get(400).getStatus());
+        assertEquals(BatchItemStatus.INVALID, result.getItems().get(700).getStatus());
+        assertEquals(BatchItemStatus.NOT_SAVED, result.getItems().get(0).getStatus());
+        assertTrue(topicRepository.findByCourse(course).isEmpty());
+
+        assertThrows(DuplicateEntryException.class, () -> topicService.addTopicsWithValidation(topics));
+        assertTrue(topicRepository.findByCourse(course).isEmpty());
+    }
+
+    @Test
+    void testValidTopicBatchIsSaved() {
+        topicRepository.save(new Topic(null, "Existing", "Existing", course));
+
+        BatchResultDTO<Topic> result = topicService.addTopicsInBatch(newTopics(course, "Topic", 100));
+
+        assertTrue(result.isSaved());
+        assertTrue(result.getItems().stream().allMatch(item -> item.getStatus() == BatchItemStatus.SAVED));
+        assertNotNull(result.getItems().get(99).getItem().getTopicId());
+        assertEquals(101, topicRepository.findByCourse(course).size());
+    }
+
+    @Test
+    void testTopicBatchRejectsDuplicatesIgnoringCase() {
+        topicRepository.save(new Topic(null, "Existing", "Existing", course));
+        List<Topic> topics = List.of(new Topic(null, "EXISTING", "Stored", course),
+                new Topic(null, "Topic", "First", course), new Topic(null, "topic", "Repeated", course));
+
+        BatchResultDTO<Topic> result = topicService.addTopicsInBatch(topics);
+
+        assertFalse(result.isSaved());
+        assertEquals(List.of(BatchItemStatus.DUPLICATE, BatchItemStatus.NOT_SAVED, BatchItemStatus.DUPLICATE),
+                result.getItems().stream().map(BatchItemDTO::getStatus).toList());
+        assertEquals(1, topicRepository.findByCourse(course).size());
+    }
+
+    @Test
+    void testCourseBatchRejectsDuplicatesIgnoringCase() {
+        String name = course.getCourseName();
+        List<Course> courses = List.of(new Course(null, name + " A", "BASIC"),
+                new Course(null, name.toUpperCase(), "BASIC"), new Course(null, name + " B", null),
+                new Course(null, name + " a", "BASIC"));
+
+        BatchResultDTO<Course> result = courseService.saveCoursesInBatch(courses);
+
+        assertFalse(result.isSaved());
+        assertEquals(List.of(BatchItemStatus.NOT_SAVED, BatchItemStatus.DUPLICATE, BatchItemStatus.INVALID,
+                BatchItemStatus.DUPLICATE), result.getItems().stream().map(BatchItemDTO::getStatus).toList());
+        assertFalse(courseRepository.findByCourseNameIgnoreCaseAndLevel(name + " A", "BASIC").isPresent());
+    }
+
+    @Test
+    void testModuleBatchReportsTrainerConflicts() {
+        LearningPlan learningPlan = new LearningPlan();
+        learningPlan.setLearningPlanName("Batch Plan");
+        learningPlan.setType("BATCH");
+        learningPlan = learningPlanRepository.save(learningPlan);
+        String trainer = "Batch Trainer " + UUID.randomUUID();
+        List<Module> modules = List.of(
+                new Module(null, learningPlan, course, trainer, new Date(0), new Date(DAY), null),
+                new Module(null, learningPlan, course, trainer, new Date(DAY), new Date(2 * DAY), null),
+                new Module(null, learningPlan, course, null, new Date(0), new Date(DAY), null));
+
+        BatchResultDTO<Module> result = moduleService.saveModulesInBatch(modules);
+
+        assertFalse(result.isSaved());
+        assertEquals(List.of(BatchItemStatus.NOT_SAVED, BatchItemStatus.DUPLICATE, BatchItemStatus.INVALID),
+                result.getItems().stream().map(BatchItemDTO::getStatus).toList());
+        assertTrue(moduleRepository.findByLearningPlanLearningPlanId(learningPlan.getLearningPlanId()).isEmpty());
+    }
+
+    @Test
+    void testBatchOfThousandTopicsQueriesOnce() {
+        Course itemCourse = courseRepository.save(new Course(null, course.getCourseName() + " Items", "BASIC"));
+        List<Topic> itemTopics = newTopics(itemCourse, "Topic", PAYLOAD_SIZE);
+        List<Topic> batchTopics = newTopics(course, "Topic", PAYLOAD_SIZE);
+
+        SqlStatementCounter.reset();
+        for (Topic topic : itemTopics) {
+            topicService.addTopicWithValidation(topic);
+        }
+        long itemSelects = SqlStatementCounter.countSelectsFrom("topic");
+
+        SqlStatementCounter.reset();
+        topicService.addTopicsInBatch(batchTopics);
+        long batchSelects = SqlStatementCounter.countSelectsFrom("topic");
+
+        assertTrue(itemSelects >= PAYLOAD_SIZE);
+        assertEquals(1, batchSelects);
+        assertEquals(PAYLOAD_SIZE, topicRepository.findByCourse(course).size());
+    }
+
+    private static List<Topic> newTopics(Course course, String prefix, int count) {
+        List<Topic> topics = new ArrayList<>();
+        for (int t = 0; t < count; t++) {
+            topics.add(new Topic(null, prefix + t, "Description " + t, course));
+        }
+        return topics;
+    }
+}
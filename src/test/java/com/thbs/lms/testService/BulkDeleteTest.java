@@ -0,0 +1,134 @@
+package com.thbs.lms.testService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.thbs.lms.exception.NotFoundException;
+import com.thbs.lms.model.Course;
+import com.thbs.lms.model.LearningPlan;
+import com.thbs.lms.model.Module;
+import com.thbs.lms.model.Topic;
+import com.thbs.lms.repository.CourseRepository;
+import com.thbs.lms.repository.LearningPlanRepository;
+import com.thbs.lms.repository.ModuleRepository;
+import com.thbs.lms.repository.TopicRepository;
+import com.thbs.lms.service.CourseService;
+import com.thbs.lms.service.ModuleService;
+import com.thbs.lms.service.TopicService;
+import com.thbs.lms.testUtility.SqlStatementCounter;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class BulkDeleteTest {
+
+    private static final int TOPIC_COUNT = 1000;
+    private static final long DAY = 1000L * 60 * 60 * 24;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private TopicService topicService;
+
+    @Autowired
+    private ModuleService moduleService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private TopicRepository topicRepository;
+
+    @Autowired
+    private ModuleRepository moduleRepository;
+
+    @Autowired
+    private LearningPlanRepository learningPlanRepository;
+
+    private Course course;
+    private List<Topic> topics;
+
+    @BeforeEach
+    void setUp() {
+        moduleRepository.deleteAll();
+        course = courseRepository.save(new Course(null, "Bulk Delete Course", "BASIC"));
+        topics = new ArrayList<>();
+        for (int t = 0; t < TOPIC_COUNT; t++) {
+            topics.add(new Topic(null, "Topic" + t, "Description " + t, course));
+        }
+        topics = topicRepository.saveAll(topics);
+    }
+
+    @Test
+    void testCourseWithTopicsIsDeletedWithOneStatementPerTable() {
+        SqlStatementCounter.reset();
+        int deleted = courseService.deleteMultipleCourses(List.of(course));
+
+        assertEquals(1, deleted);
+        assertEquals(1, SqlStatementCounter.countStatements("select"));
+        assertEquals(2, SqlStatementCounter.countStatements("delete"));
+        assertFalse(courseRepository.existsById(course.getCourseId()));
+        assertTrue(topicRepository.findByCourse(course).isEmpty());
+    }
+
+    @Test
+    void testMissingCourseDeletesNothing() {
+        Course missing = new Course(-1L, "Missing", "BASIC");
+
+        NotFoundException exception = assertThrows(NotFoundException.class,
+                () -> courseService.deleteMultipleCourses(List.of(course, missing)));
+
+        assertEquals("Course not found.-1", exception.getMessage());
+        assertTrue(courseRepository.existsById(course.getCourseId()));
+        assertEquals(TOPIC_COUNT, topicRepository.findByCourse(course).size());
+    }
+
+    @Test
+    void testTopicsAreDeletedByIdWithOneStatement() {
+        List<Topic> toDelete = topics.subList(0, 600);
+
+        SqlStatementCounter.reset();
+        int deleted = topicService.deleteTopics(toDelete);
+
+        assertEquals(600, deleted);
+        assertEquals(1, SqlStatementCounter.countStatements("select"));
+        assertEquals(1, SqlStatementCounter.countStatements("delete"));
+        assertEquals(TOPIC_COUNT - 600, topicRepository.findByCourse(course).size());
+
+        Topic missing = new Topic(-1L, "Missing", "Missing", course);
+        NotFoundException exception = assertThrows(NotFoundException.class,
+                () -> topicService.deleteTopics(List.of(topics.get(700), missing)));
+        assertEquals("Topic not found.-1", exception.getMessage());
+        assertEquals(TOPIC_COUNT - 600, topicRepository.findByCourse(course).size());
+    }
+
+    @Test
+    void testModulesOfLearningPlanAreDeletedWithOneStatement() {
+        LearningPlan learningPlan = new LearningPlan();
+        learningPlan.setLearningPlanName("Bulk Delete Plan");
+        learningPlan.setType("BATCH");
+        learningPlan = learningPlanRepository.save(learningPlan);
+        List<Module> modules = new ArrayList<>();
+        for (int m = 0; m < 50; m++) {
+            Date startDate = new Date(m * 2 * DAY);
+            modules.add(new Module(null, learningPlan, course, "Bulk Delete Trainer", startDate,
+                    new Date(startDate.getTime() + DAY), null));
+        }
+        moduleService.saveAllModules(modules);
+
+        SqlStatementCounter.reset();
+        int deleted = moduleService.deleteModulesByLearningPlanId(learningPlan.getLearningPlanId());
+
+        assertEquals(50, deleted);
+        assertEquals(1, SqlStatementCounter.countStatements("delete"));
+        assertTrue(moduleRepository.findByLearningPlanLearningPlanId(learningPlan.getLearningPlanId()).isEmpty());
+        assertEquals(0, moduleService.deleteModulesByLearningPlanId(learningPlan.getLearningPlanId()));
+    }
+}
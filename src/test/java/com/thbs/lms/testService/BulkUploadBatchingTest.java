@@ -0,0 +1,79 @@
+package com.thbs.lms.testService;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.thbs.lms.service.BulkUploadService;
+import com.thbs.lms.testUtility.SqlStatementCounter;
+import com.thbs.lms.utility.LargeExcelFileGenerator;
+
+import jakarta.persistence.EntityManager;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:batchingdb;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1" })
+class BulkUploadBatchingTest {
+
+    private static final int ROWS = 5000;
+
+    @Autowired
+    private BulkUploadService bulkUploadService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testInsertsAreSentInJdbcBatches() throws IOException {
+        MockMultipartFile file = LargeExcelFileGenerator.generateExcelFile(1, ROWS);
+
+        SqlStatementCounter.reset();
+        upload(file, 1);
+        long unbatchedInserts = SqlStatementCounter.countStatements("insert into topic");
+
+        SqlStatementCounter.reset();
+        upload(file, 50);
+        long batchedInserts = SqlStatementCounter.countStatements("insert into topic");
+
+        // The insert is prepared once per batch rather than once per row
+        assertEquals(ROWS, unbatchedInserts);
+        assertTrue(batchedInserts <= ROWS / 50, "Expected batched inserts but saw " + batchedInserts);
+    }
+
+    @Test
+    void testIdentifiersAreAllocatedInBlocks() throws IOException {
+        MockMultipartFile file = LargeExcelFileGenerator.generateExcelFile(1, ROWS);
+
+        SqlStatementCounter.reset();
+        upload(file, 50);
+
+        // pooled-lo allocation needs one sequence call per 50 topics, not one per row
+        long sequenceCalls = SqlStatementCounter.countStatements("select next value for");
+        assertTrue(sequenceCalls > 0 && sequenceCalls <= ROWS / 50 + 2, "Expected pooled sequence allocation but saw " + sequenceCalls);
+    }
+
+    /**
+     * Uploads the file in a transaction that is rolled back afterwards.
+     */
+    private void upload(MockMultipartFile file, int jdbcBatchSize) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+            bulkUploadService.uploadFile(file);
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+}
@@ -0,0 +1,125 @@
+package com.thbs.lms.testService;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.thbs.lms.dto.UploadFailureMode;
+import com.thbs.lms.dto.UploadResultDTO;
+import com.thbs.lms.exception.InvalidSheetFormatException;
+import com.thbs.lms.model.Course;
+import com.thbs.lms.repository.CourseRepository;
+import com.thbs.lms.repository.TopicRepository;
+import com.thbs.lms.service.BulkUploadService;
+import com.thbs.lms.utility.LargeExcelFileGenerator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class BulkUploadParallelTest {
+
+    @Autowired
+    private BulkUploadService bulkUploadService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private TopicRepository topicRepository;
+
+    @Test
+    void testParallelUploadMatchesSequential() throws IOException {
+        MockMultipartFile file = LargeExcelFileGenerator.generateExcelFile(5, 20);
+
+        UploadResultDTO result = bulkUploadService.uploadFileParallel(file, UploadFailureMode.ALL_OR_NOTHING);
+
+        assertEquals(5, result.getSheetsProcessed());
+        assertEquals(100, result.getRowsProcessed());
+        assertTrue(result.getErrors().isEmpty());
+        Course course = courseRepository.findByCourseNameIgnoreCaseAndLevel("Course4", "BASIC").orElseThrow();
+        assertEquals(20, topicRepository.findByCourse(course).size());
+    }
+
+    @Test
+    void testAllOrNothingSavesNothingOnInvalidSheet() throws IOException {
+        MockMultipartFile file = generateWorkbookWithInvalidSheet("AllOrNothing");
+
+        assertThrows(InvalidSheetFormatException.class,
+                () -> bulkUploadService.uploadFileParallel(file, UploadFailureMode.ALL_OR_NOTHING));
+
+        assertFalse(courseRepository.findByCourseNameIgnoreCaseAndLevel("AllOrNothingA", "BASIC").isPresent());
+        assertFalse(courseRepository.findByCourseNameIgnoreCaseAndLevel("AllOrNothingC", "BASIC").isPresent());
+    }
+
+    @Test
+    void testPerSheetSavesValidSheets() throws IOException {
+        MockMultipartFile file = generateWorkbookWithInvalidSheet("PerSheet");
+
+        UploadResultDTO result = bulkUploadService.uploadFileParallel(file, UploadFailureMode.PER_SHEET);
+
+        assertEquals(2, result.getSheetsProcessed());
+        assertEquals(1, result.getErrors().size());
+        assertTrue(result.getErrors().get(0).startsWith("Sheet 2: "));
+        assertTrue(courseRepository.findByCourseNameIgnoreCaseAndLevel("PerSheetA", "BASIC").isPresent());
+        assertTrue(courseRepository.findByCourseNameIgnoreCaseAndLevel("PerSheetC", "BASIC").isPresent());
+    }
+
+    @Test
+    void testPerSheetDoesNotCountRowsOfRolledBackSheet() throws IOException {
+        MockMultipartFile file = generateWorkbookWithInvalidSheet("RolledBack", "Topic1");
+
+        UploadResultDTO result = bulkUploadService.uploadFileParallel(file, UploadFailureMode.PER_SHEET);
+
+        assertEquals(2, result.getSheetsProcessed());
+        assertEquals(4, result.getRowsProcessed());
+        assertEquals(4, result.getRowsInserted());
+        assertEquals(1, result.getErrors().size());
+        assertTrue(result.getErrors().get(0).startsWith("Sheet 2: "));
+        assertFalse(courseRepository.findByCourseNameIgnoreCaseAndLevel("RolledBackB", "BASIC").isPresent());
+    }
+
+    /**
+     * Generates a workbook with three sheets where the second has an invalid
+     * header.
+     */
+    private MockMultipartFile generateWorkbookWithInvalidSheet(String prefix) throws IOException {
+        return generateWorkbookWithInvalidSheet(prefix, null);
+    }
+
+    /**
+     * Generates a workbook with three sheets where the second has an invalid
+     * header or, if a second topic name is given, a valid header and that
+     * topic name in place of its second topic.
+     */
+    private MockMultipartFile generateWorkbookWithInvalidSheet(String prefix, String secondTopicOfSheetB)
+            throws IOException {
+        try (Workbook workbook = new XSSFWorkbook()) {
+            for (String suffix : new String[] { "A", "B", "C" }) {
+                Sheet sheet = workbook.createSheet(prefix + suffix);
+                boolean invalid = suffix.equals("B");
+                String[][] rows = { { invalid && secondTopicOfSheetB == null ? "Difficulty" : "Level", "BASIC" },
+                        { "Course", prefix + suffix }, { "Topic", "Description" },
+                        { "Topic1", "Description1" },
+                        { invalid && secondTopicOfSheetB != null ? secondTopicOfSheetB : "Topic2",
+                                "Description2" } };
+                for (int i = 0; i < rows.length; i++) {
+                    Row row = sheet.createRow(i);
+                    row.createCell(0).setCellValue(rows[i][0]);
+                    row.createCell(1).setCellValue(rows[i][1]);
+                }
+            }
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            workbook.write(outputStream);
+            return new MockMultipartFile("file", "invalid_sheet.xlsx",
+                    "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", outputStream.toByteArray());
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.thbs.lms.testService;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.thbs.lms.repository.TopicRepository;
+import com.thbs.lms.service.BulkUploadService;
+import com.thbs.lms.testUtility.SqlStatementCounter;
+import com.thbs.lms.utility.LargeExcelFileGenerator;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs against its own in-memory database, so that the topic counts do not
+ * include the topics other test classes leave behind.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:querycountdb;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1" })
+@Transactional
+class BulkUploadQueryCountTest {
+
+    @Autowired
+    private BulkUploadService bulkUploadService;
+
+    @Autowired
+    private TopicRepository topicRepository;
+
+    @Test
+    void testTopicLookupsDoNotGrowWithRowCount() throws IOException {
+        MockMultipartFile smallFile = LargeExcelFileGenerator.generateExcelFile(1, 10);
+        MockMultipartFile largeFile = LargeExcelFileGenerator.generateExcelFile(1, 500);
+
+        SqlStatementCounter.reset();
+        bulkUploadService.uploadFile(smallFile);
+        long smallFileSelects = SqlStatementCounter.countSelectsFrom("topic");
+
+        // Same course again: the first 10 topics already exist and are skipped
+        SqlStatementCounter.reset();
+        bulkUploadService.uploadFile(largeFile);
+        long largeFileSelects = SqlStatementCounter.countSelectsFrom("topic");
+
+        assertEquals(1, smallFileSelects);
+        assertEquals(smallFileSelects, largeFileSelects);
+        assertEquals(500, topicRepository.count());
+    }
+
+    @Test
+    void testStreamingTopicLookupsDoNotGrowWithRowCount() throws IOException {
+        MockMultipartFile largeFile = LargeExcelFileGenerator.generateExcelFile(3, 500);
+
+        SqlStatementCounter.reset();
+        bulkUploadService.uploadFileStreaming(largeFile);
+
+        // One lookup per sheet, regardless of the 1,500 rows
+        assertEquals(3, SqlStatementCounter.countSelectsFrom("topic"));
+        assertEquals(1500, topicRepository.count());
+    }
+}
@@ -14,6 +14,8 @@ import com.thbs.lms.model.Course;
 import com.thbs.lms.model.Topic;
 import com.thbs.lms.repository.CourseRepository;
 import com.thbs.lms.repository.TopicRepository;
+import com.thbs.lms.service.CatalogCache;
+import com.thbs.lms.service.UploadMetrics;
 import com.thbs.lms.service.BulkUploadService;
 import com.thbs.lms.utility.DuplicateTopicExcelFileGenerator;
 import com.thbs.lms.utility.EmptyRowExcelFileGenerator;
@@ -46,6 +48,12 @@ class BulkUploadServiceTest {
     @Mock
     private TopicRepository topicRepository;
 
+    @Mock
+    private CatalogCache catalogCache;
+
+    @Mock
+    private UploadMetrics uploadMetrics;
+
     @InjectMocks
     private BulkUploadService bulkUploadService;
 
@@ -0,0 +1,192 @@
+package com.thbs.lms.testService;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.thbs.lms.exception.DuplicateEntryException;
+import com.thbs.lms.exception.FileProcessingException;
+import com.thbs.lms.exception.InvalidSheetFormatException;
+import com.thbs.lms.model.Course;
+import com.thbs.lms.model.Topic;
+import com.thbs.lms.repository.CourseRepository;
+import com.thbs.lms.repository.TopicRepository;
+import com.thbs.lms.service.BulkUploadService;
+import com.thbs.lms.service.CatalogCache;
+import com.thbs.lms.service.TopicSearchIndex;
+import com.thbs.lms.service.UploadMetrics;
+import com.thbs.lms.utility.EmptyRowExcelFileGenerator;
+import com.thbs.lms.utility.InvalidA1CellExcelGenerator;
+import com.thbs.lms.utility.InvalidB1CellExcelGenerator;
+import com.thbs.lms.utility.InvalidExtraDataExcelFileGenerator;
+import com.thbs.lms.utility.InvalidNoDescriptionFileGenerator;
+import com.thbs.lms.utility.InvalidOneCellExcelFileGenerator;
+import com.thbs.lms.utility.LargeExcelFileGenerator;
+import com.thbs.lms.utility.TextFileGenerator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class BulkUploadStreamingTest {
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private TopicRepository topicRepository;
+
+    @Mock
+    private CatalogCache catalogCache;
+
+    @Mock
+    private UploadMetrics uploadMetrics;
+
+    @Mock
+    private TopicSearchIndex topicSearchIndex;
+
+    @InjectMocks
+    private BulkUploadService bulkUploadService;
+
+    @Test
+    void testStreamingSavesSameTopicsAsDom() throws IOException {
+        when(courseRepository.findByCourseNameIgnoreCaseAndLevel(anyString(), anyString()))
+                .thenReturn(Optional.of(new Course()));
+        MockMultipartFile file = LargeExcelFileGenerator.generateExcelFile(2, 50);
+
+        bulkUploadService.uploadFile(file);
+        List<List<Topic>> domTopics = captureSavedTopics();
+        clearInvocations(topicRepository);
+
+        bulkUploadService.uploadFileStreaming(file);
+        List<List<Topic>> streamedTopics = captureSavedTopics();
+
+        assertEquals(2, streamedTopics.size());
+        assertEquals(domTopics.size(), streamedTopics.size());
+        for (int i = 0; i < domTopics.size(); i++) {
+            assertEquals(50, streamedTopics.get(i).size());
+            for (int j = 0; j < domTopics.get(i).size(); j++) {
+                assertEquals(domTopics.get(i).get(j).getTopicName(), streamedTopics.get(i).get(j).getTopicName());
+                assertEquals(domTopics.get(i).get(j).getDescription(),
+                        streamedTopics.get(i).get(j).getDescription());
+            }
+        }
+    }
+
+    @Test
+    void testStreamingValidationMatchesDom() throws IOException {
+        assertSameError(InvalidA1CellExcelGenerator.generateInvalidA1CellExcelFile("invalidA1.xlsx"));
+        assertSameError(InvalidB1CellExcelGenerator.generateInvalidB1CellExcelFile("invalidB1.xlsx"));
+        assertSameError(InvalidNoDescriptionFileGenerator.generateInvalidNoDescriptionFile("noDesc.xlsx"));
+        assertSameError(InvalidOneCellExcelFileGenerator.generateInvalidOneCellExcelFile("oneColumn.xlsx"));
+        assertSameError(EmptyRowExcelFileGenerator.generateEmptyRowExcelFile());
+        assertSameError(InvalidExtraDataExcelFileGenerator.generateInvalidExtraDataExcelFile("extraData.xlsx"));
+        assertSameError(generateNumericTopicFile());
+    }
+
+    @Test
+    void testStreamingDuplicateTopics() throws IOException {
+        when(courseRepository.findByCourseNameIgnoreCaseAndLevel(anyString(), anyString()))
+                .thenReturn(Optional.of(new Course()));
+        MockMultipartFile file = generateDuplicateTopicFile();
+
+        DuplicateEntryException domError = assertThrows(DuplicateEntryException.class,
+                () -> bulkUploadService.uploadFile(file));
+        DuplicateEntryException streamingError = assertThrows(DuplicateEntryException.class,
+                () -> bulkUploadService.uploadFileStreaming(file));
+        assertEquals(domError.getMessage(), streamingError.getMessage());
+    }
+
+    @Test
+    void testDuplicateTopicsDifferingInCaseAreRejected() throws IOException {
+        when(courseRepository.findByCourseNameIgnoreCaseAndLevel(anyString(), anyString()))
+                .thenReturn(Optional.of(new Course()));
+        MockMultipartFile file = generateDuplicateTopicFile("duplicatetopic");
+
+        assertThrows(DuplicateEntryException.class, () -> bulkUploadService.uploadFile(file));
+        assertThrows(DuplicateEntryException.class, () -> bulkUploadService.uploadFileStreaming(file));
+    }
+
+    @Test
+    void testStreamingNonExcelFile() throws IOException {
+        File textFile = Files.createTempFile("sample", ".txt").toFile();
+        textFile.deleteOnExit();
+        MockMultipartFile file = TextFileGenerator.convertToMockMultipartFile(
+                TextFileGenerator.generateTextFile(textFile.getPath()));
+        assertThrows(FileProcessingException.class, () -> bulkUploadService.uploadFileStreaming(file));
+    }
+
+    private MockMultipartFile generateDuplicateTopicFile() throws IOException {
+        return generateDuplicateTopicFile("DuplicateTopic");
+    }
+
+    private MockMultipartFile generateDuplicateTopicFile(String secondTopicName) throws IOException {
+        try (Workbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("Sheet1");
+            String[][] rows = { { "Level", "BASIC" }, { "Course", "Sheet1" }, { "Topic", "Description" },
+                    { "DuplicateTopic", "Data1Desc" }, { secondTopicName, "Data2Desc" } };
+            for (int i = 0; i < rows.length; i++) {
+                Row row = sheet.createRow(i);
+                row.createCell(0).setCellValue(rows[i][0]);
+                row.createCell(1).setCellValue(rows[i][1]);
+            }
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            workbook.write(outputStream);
+            return new MockMultipartFile("file", "duplicate.xlsx",
+                    "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", outputStream.toByteArray());
+        }
+    }
+
+    private MockMultipartFile generateNumericTopicFile() throws IOException {
+        try (Workbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("Sheet1");
+            String[][] rows = { { "Level", "BASIC" }, { "Course", "Sheet1" }, { "Topic", "Description" } };
+            for (int i = 0; i < rows.length; i++) {
+                Row row = sheet.createRow(i);
+                row.createCell(0).setCellValue(rows[i][0]);
+                row.createCell(1).setCellValue(rows[i][1]);
+            }
+            Row topicRow = sheet.createRow(rows.length);
+            topicRow.createCell(0).setCellValue(42);
+            topicRow.createCell(1).setCellValue("Numeric topic name");
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            workbook.write(outputStream);
+            return new MockMultipartFile("file", "numeric.xlsx",
+                    "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", outputStream.toByteArray());
+        }
+    }
+
+    private void assertSameError(MockMultipartFile file) {
+        InvalidSheetFormatException domError = assertThrows(InvalidSheetFormatException.class,
+                () -> bulkUploadService.uploadFile(file));
+        InvalidSheetFormatException streamingError = assertThrows(InvalidSheetFormatException.class,
+                () -> bulkUploadService.uploadFileStreaming(file));
+        assertEquals(domError.getMessage(), streamingError.getMessage());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<Topic>> captureSavedTopics() {
+        ArgumentCaptor<List<Topic>> topicListCaptor = ArgumentCaptor.forClass(List.class);
+        verify(topicRepository, atLeastOnce()).saveAll(topicListCaptor.capture());
+        return topicListCaptor.getAllValues();
+    }
+}
@@ -0,0 +1,162 @@
+package com.thbs.lms.testService;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.thbs.lms.config.CacheConfig;
+import com.thbs.lms.exception.NotFoundException;
+import com.thbs.lms.model.Course;
+import com.thbs.lms.model.Topic;
+import com.thbs.lms.repository.CourseRepository;
+import com.thbs.lms.service.BulkUploadService;
+import com.thbs.lms.service.CourseService;
+import com.thbs.lms.service.TopicService;
+import com.thbs.lms.testUtility.SqlStatementCounter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class CatalogCacheTest {
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private TopicService topicService;
+
+    @Autowired
+    private BulkUploadService bulkUploadService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        course = courseRepository.save(new Course(null, "Cached" + UUID.randomUUID().toString().substring(0, 8), "BASIC"));
+        topicService.addTopicWithValidation(new Topic(null, "Topic1", "Description1", course));
+    }
+
+    @Test
+    void testCourseLookupIsCached() {
+        double hits = cacheGets(CacheConfig.COURSES, "hit");
+        double misses = cacheGets(CacheConfig.COURSES, "miss");
+        SqlStatementCounter.reset();
+
+        courseService.getCourseById(course.getCourseId());
+        courseService.getCourseById(course.getCourseId());
+
+        assertEquals(1, SqlStatementCounter.countSelectsFrom("course"));
+        assertEquals(hits + 1, cacheGets(CacheConfig.COURSES, "hit"));
+        assertEquals(misses + 1, cacheGets(CacheConfig.COURSES, "miss"));
+    }
+
+    @Test
+    void testChangingReturnedEntitiesLeavesTheCacheIntact() {
+        String courseName = course.getCourseName();
+        courseService.getCourseById(course.getCourseId()).setCourseName("Changed");
+        List<Topic> topics = topicService.getTopicsByCourse(course);
+        topics.get(0).setTopicName("Changed");
+        topics.get(0).getCourse().setCourseName("Changed");
+
+        assertEquals(courseName, courseService.getCourseById(course.getCourseId()).getCourseName());
+        Topic cached = topicService.getTopicsByCourse(course).get(0);
+        assertEquals("Topic1", cached.getTopicName());
+        assertEquals(courseName, cached.getCourse().getCourseName());
+    }
+
+    @Test
+    void testUpdateCourseNameEvictsCourseAndTopics() {
+        courseService.getCourseById(course.getCourseId());
+        topicService.getTopicsByCourse(course);
+
+        courseService.updateCourseName(course.getCourseId(), "Renamed" + course.getCourseId());
+
+        assertEquals("Renamed" + course.getCourseId(), courseService.getCourseById(course.getCourseId()).getCourseName());
+        assertEquals("Renamed" + course.getCourseId(),
+                topicService.getTopicsByCourse(course).get(0).getCourse().getCourseName());
+    }
+
+    @Test
+    void testDeleteCourseEvictsCourse() {
+        courseService.getCourseById(course.getCourseId());
+
+        courseService.deleteCourseById(course.getCourseId());
+
+        assertThrows(NotFoundException.class, () -> courseService.getCourseById(course.getCourseId()));
+    }
+
+    @Test
+    void testTopicLookupIsCachedAndEvictedByTopicWrites() {
+        SqlStatementCounter.reset();
+        topicService.getTopicsByCourse(course);
+        List<Topic> topics = topicService.getTopicsByCourse(course);
+        assertEquals(1, SqlStatementCounter.countSelectsFrom("topic"));
+        assertEquals(1, topics.size());
+
+        Topic added = topicService.addTopicWithValidation(new Topic(null, "Topic2", "Description2", course));
+        assertEquals(2, topicService.getTopicsByCourse(course).size());
+
+        topicService.updateTopicNameWithValidation(added.getTopicId(), "Topic2Renamed");
+        assertEquals("Topic2Renamed", topicService.getTopicsByCourse(course).get(1).getTopicName());
+
+        topicService.updateTopicDescriptionWithValidation(added.getTopicId(), "Description2Updated");
+        assertEquals("Description2Updated", topicService.getTopicsByCourse(course).get(1).getDescription());
+
+        topicService.deleteTopicById(added.getTopicId());
+        assertEquals(1, topicService.getTopicsByCourse(course).size());
+    }
+
+    @Test
+    void testBulkUploadEvictsTopicsOfCourse() throws IOException {
+        assertEquals(1, topicService.getTopicsByCourse(course).size());
+
+        bulkUploadService.uploadFile(createWorkbook(course.getCourseName(), "Topic2", "Topic3"));
+
+        assertEquals(3, topicService.getTopicsByCourse(course).size());
+    }
+
+    private double cacheGets(String cacheName, String result) {
+        return meterRegistry.get("cache.gets").tag("cache", cacheName).tag("result", result)
+                .functionCounter().count();
+    }
+
+    private MockMultipartFile createWorkbook(String sheetName, String... topicNames) throws IOException {
+        try (Workbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet(sheetName);
+            String[][] headers = { { "Level", "BASIC" }, { "Course", sheetName }, { "Topic", "Description" } };
+            for (int i = 0; i < headers.length; i++) {
+                Row row = sheet.createRow(i);
+                row.createCell(0).setCellValue(headers[i][0]);
+                row.createCell(1).setCellValue(headers[i][1]);
+            }
+            for (int i = 0; i < topicNames.length; i++) {
+                Row row = sheet.createRow(headers.length + i);
+                row.createCell(0).setCellValue(topicNames[i]);
+                row.createCell(1).setCellValue("Description of " + topicNames[i]);
+            }
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            workbook.write(outputStream);
+            return new MockMultipartFile("file", "topics.xlsx",
+                    "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", outputStream.toByteArray());
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.thbs.lms.testService;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thbs.lms.dto.CourseDTO;
+import com.thbs.lms.model.Course;
+import com.thbs.lms.model.Topic;
+import com.thbs.lms.repository.CourseRepository;
+import com.thbs.lms.repository.TopicRepository;
+import com.thbs.lms.service.CourseService;
+import com.thbs.lms.testUtility.SqlStatementCounter;
+
+import jakarta.persistence.EntityManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:coursedtodb;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1" })
+@Transactional
+class CourseDTOQueryCountTest {
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private TopicRepository topicRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testQueryCountDoesNotGrowWithCourseCount() {
+        topicRepository.deleteAll();
+        courseRepository.deleteAll();
+
+        createCourses(0, 5);
+        long smallCatalogStatements = countStatementsForAllCourseDTOs();
+
+        createCourses(5, 200);
+        long largeCatalogStatements = countStatementsForAllCourseDTOs();
+
+        assertEquals(2, smallCatalogStatements);
+        assertEquals(smallCatalogStatements, largeCatalogStatements);
+        assertEquals(200, courseService.getAllCourseDTOs().size());
+    }
+
+    @Test
+    void testSameJsonAsPerCourseConversion() throws Exception {
+        topicRepository.deleteAll();
+        courseRepository.deleteAll();
+        createCourses(0, 20);
+        courseRepository.save(new Course(null, "Empty Course", "BASIC"));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<CourseDTO> perCourse = courseRepository.findAll().stream()
+                .map(courseService::convertToDTO)
+                .collect(Collectors.toList());
+
+        assertEquals(objectMapper.writeValueAsString(perCourse),
+                objectMapper.writeValueAsString(courseService.getAllCourseDTOs()));
+    }
+
+    private long countStatementsForAllCourseDTOs() {
+        entityManager.flush();
+        entityManager.clear();
+        SqlStatementCounter.reset();
+        courseService.getAllCourseDTOs();
+        return SqlStatementCounter.countStatements("select");
+    }
+
+    private void createCourses(int from, int to) {
+        for (int c = from; c < to; c++) {
+            Course course = courseRepository.save(new Course(null, "Course" + c, "BASIC"));
+            List<Topic> topics = new ArrayList<>();
+            for (int t = 0; t < 3; t++) {
+                topics.add(new Topic(null, "Topic" + t, "Description " + t, course));
+            }
+            topicRepository.saveAll(topics);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.thbs.lms.testService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thbs.lms.dto.CourseDTO;
+import com.thbs.lms.model.Course;
+import com.thbs.lms.model.Topic;
+import com.thbs.lms.repository.CourseRepository;
+import com.thbs.lms.repository.TopicRepository;
+import com.thbs.lms.service.CourseExportService;
+import com.thbs.lms.service.CourseService;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CourseExportServiceTest {
+
+    @Autowired
+    private CourseExportService courseExportService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private TopicRepository topicRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        topicRepository.deleteAll();
+        courseRepository.deleteAll();
+        for (int c = 0; c < 30; c++) {
+            Course course = courseRepository.save(new Course(null, "Course" + c, "BASIC"));
+            List<Topic> topics = new ArrayList<>();
+            for (int t = 0; t < c % 4; t++) {
+                topics.add(new Topic(null, "Topic" + t, "Description " + t, course));
+            }
+            topicRepository.saveAll(topics);
+        }
+    }
+
+    @Test
+    void testExportMatchesCourseDTOs() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = courseExportService.exportCourseDTOs(out);
+
+        List<CourseDTO> expected = courseService.getAllCourseDTOs();
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(30, exported);
+        assertEquals(expected.size(), lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            assertEquals(objectMapper.writeValueAsString(expected.get(i)), lines[i]);
+        }
+    }
+
+    @Test
+    void testExportEndpointWritesNdjson() throws Exception {
+        String body = mockMvc.perform(MockMvcRequestBuilders.get("/course/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(30, body.split("\n").length);
+        assertEquals(3, objectMapper.readValue(body.split("\n")[3], CourseDTO.class).getTopics().size());
+    }
+}
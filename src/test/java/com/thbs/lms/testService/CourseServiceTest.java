@@ -17,6 +17,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 
 import com.thbs.lms.model.Course;
 import com.thbs.lms.repository.CourseRepository;
+import com.thbs.lms.service.CatalogCache;
 import com.thbs.lms.service.CourseService;
 import com.thbs.lms.service.TopicService;
 import com.thbs.lms.dto.CourseDTO;
@@ -37,6 +38,9 @@ class CourseServiceTest {
     @Mock
     private TopicService topicService;
 
+    @Mock
+    private CatalogCache catalogCache;
+
     @InjectMocks
     private CourseService courseService;
 
@@ -0,0 +1,157 @@
+package com.thbs.lms.testService;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.thbs.lms.dto.UploadDeltaDTO;
+import com.thbs.lms.exception.DuplicateEntryException;
+import com.thbs.lms.model.Course;
+import com.thbs.lms.model.Topic;
+import com.thbs.lms.repository.CourseRepository;
+import com.thbs.lms.repository.TopicRepository;
+import com.thbs.lms.service.BulkUploadService;
+import com.thbs.lms.testUtility.SqlStatementCounter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class DeltaUploadTest {
+
+    private static final int ROW_COUNT = 10000;
+
+    @Autowired
+    private BulkUploadService bulkUploadService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private TopicRepository topicRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String courseName;
+
+    @BeforeEach
+    void setUp() {
+        courseName = "Delta" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Test
+    void testUnchangedWorkbookIsNotWritten() throws IOException {
+        Map<String, String> rows = new LinkedHashMap<>();
+        for (int r = 0; r < ROW_COUNT; r++) {
+            rows.put("Topic" + r, "Description " + r);
+        }
+        MockMultipartFile file = generateWorkbook(rows);
+        assertEquals(ROW_COUNT, bulkUploadService.uploadFileDelta(file, false).getInserted());
+
+        SqlStatementCounter.reset();
+        UploadDeltaDTO result = bulkUploadService.uploadFileDelta(file, true);
+
+        assertEquals(ROW_COUNT, result.getUnchanged());
+        assertEquals(0, result.getInserted() + result.getUpdated() + result.getDeleted());
+        assertEquals(1, SqlStatementCounter.countSelectsFrom("topic"));
+        assertEquals(0, SqlStatementCounter.countStatements("insert"));
+        assertEquals(0, SqlStatementCounter.countStatements("update"));
+        assertEquals(0, SqlStatementCounter.countStatements("delete"));
+    }
+
+    @Test
+    void testOnlyChangedRowsAreApplied() throws IOException {
+        Map<String, String> rows = new LinkedHashMap<>();
+        for (int r = 0; r < 20; r++) {
+            rows.put("Topic" + r, "Description " + r);
+        }
+        bulkUploadService.uploadFileDelta(generateWorkbook(rows), false);
+        rows.put("Topic3", "Revised description");
+        rows.put("Topic7", "Revised description");
+        rows.remove("Topic9");
+        rows.put("Topic20", "New topic");
+
+        UploadDeltaDTO kept = bulkUploadService.uploadFileDelta(generateWorkbook(rows), false);
+
+        assertEquals(List.of("Topic20"), kept.getSheets().get(0).getInserted());
+        assertEquals(List.of("Topic3", "Topic7"), kept.getSheets().get(0).getUpdated().stream().sorted().toList());
+        assertEquals(17, kept.getUnchanged());
+        assertEquals(0, kept.getDeleted());
+        Course course = courseRepository.findByCourseNameIgnoreCaseAndLevel(courseName, "BASIC").orElseThrow();
+        List<Topic> topics = topicRepository.findByCourse(course);
+        assertEquals(21, topics.size());
+        assertEquals("Revised description", topics.stream()
+                .filter(topic -> topic.getTopicName().equals("Topic3")).findFirst().orElseThrow().getDescription());
+
+        UploadDeltaDTO pruned = bulkUploadService.uploadFileDelta(generateWorkbook(rows), true);
+
+        assertEquals(List.of("Topic9"), pruned.getSheets().get(0).getDeleted());
+        assertEquals(20, pruned.getUnchanged());
+        assertEquals(20, topicRepository.findByCourse(course).size());
+    }
+
+    @Test
+    void testTopicsWithoutStoredHashAreHashedOnce() throws IOException {
+        Map<String, String> rows = Map.of("Legacy", "Stored before hashes");
+        bulkUploadService.uploadFileDelta(generateWorkbook(rows), false);
+        Course course = courseRepository.findByCourseNameIgnoreCaseAndLevel(courseName, "BASIC").orElseThrow();
+        jdbcTemplate.update("UPDATE topic SET content_hash = NULL WHERE course_id = ?", course.getCourseId());
+
+        UploadDeltaDTO result = bulkUploadService.uploadFileDelta(generateWorkbook(rows), false);
+
+        assertEquals(1, result.getUnchanged());
+        assertEquals(0, result.getUpdated());
+        assertEquals(Topic.toContentHash("Legacy", "Stored before hashes"),
+                topicRepository.findByCourse(course).get(0).getContentHash());
+    }
+
+    @Test
+    void testDuplicateRowsAreRejected() throws IOException {
+        MockMultipartFile file = generateWorkbook(Map.of("Topic1", "Description"), "topic1");
+
+        assertThrows(DuplicateEntryException.class, () -> bulkUploadService.uploadFileDelta(file, false));
+        Course course = courseRepository.findByCourseNameIgnoreCaseAndLevel(courseName, "BASIC").orElse(null);
+        assertTrue(course == null || topicRepository.findByCourse(course).isEmpty());
+    }
+
+    private MockMultipartFile generateWorkbook(Map<String, String> rows, String... extraTopics) throws IOException {
+        try (Workbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet(courseName);
+            String[][] header = { { "Level", "BASIC" }, { "Course", courseName }, { "Topic", "Description" } };
+            int r = 0;
+            for (String[] cells : header) {
+                addRow(sheet, r++, cells[0], cells[1]);
+            }
+            for (Map.Entry<String, String> row : rows.entrySet()) {
+                addRow(sheet, r++, row.getKey(), row.getValue());
+            }
+            for (String topicName : extraTopics) {
+                addRow(sheet, r++, topicName, "Description");
+            }
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            workbook.write(outputStream);
+            return new MockMultipartFile("file", "delta.xlsx",
+                    "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", outputStream.toByteArray());
+        }
+    }
+
+    private static void addRow(Sheet sheet, int index, String first, String second) {
+        Row row = sheet.createRow(index);
+        row.createCell(0).setCellValue(first);
+        row.createCell(1).setCellValue(second);
+    }
+}
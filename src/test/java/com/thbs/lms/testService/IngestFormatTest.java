@@ -0,0 +1,149 @@
+package com.thbs.lms.testService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.thbs.lms.dto.UploadResultDTO;
+import com.thbs.lms.exception.DuplicateEntryException;
+import com.thbs.lms.exception.FileProcessingException;
+import com.thbs.lms.exception.InvalidDataException;
+import com.thbs.lms.exception.InvalidSheetFormatException;
+import com.thbs.lms.model.Course;
+import com.thbs.lms.model.Topic;
+import com.thbs.lms.repository.CourseRepository;
+import com.thbs.lms.repository.TopicRepository;
+import com.thbs.lms.service.BulkUploadService;
+import com.thbs.lms.testUtility.SqlStatementCounter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class IngestFormatTest {
+
+    private static final int ROW_COUNT = 5000;
+
+    @Autowired
+    private BulkUploadService bulkUploadService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private TopicRepository topicRepository;
+
+    private String courseName;
+
+    @BeforeEach
+    void setUp() {
+        courseName = "Ingest" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Test
+    void testCsvUploadSavesQuotedFields() {
+        String csv = "\uFEFFLevel,BASIC\r\n"
+                + "Course," + courseName + "\r\n"
+                + "Topic,Description\r\n"
+                + "Streams,\"Lazy, pipelined operations\"\r\n"
+                + "\r\n"
+                + "\"Records\",\"Immutable \"\"data\"\"\nclasses\",ignored\r\n";
+
+        UploadResultDTO result = bulkUploadService.uploadFileIngest(file("topics.csv", "text/csv", csv));
+
+        assertEquals(1, result.getSheetsProcessed());
+        assertEquals(2, result.getRowsInserted());
+        List<Topic> topics = findTopics(courseName, "BASIC");
+        assertEquals("Records", topics.get(0).getTopicName());
+        assertEquals("Immutable \"data\"\nclasses", topics.get(0).getDescription());
+        assertEquals("Lazy, pipelined operations", topics.get(1).getDescription());
+    }
+
+    @Test
+    void testLargeCsvIsSavedWithOneTopicQuery() {
+        StringBuilder csv = new StringBuilder("Level,INTERMEDIATE\nCourse," + courseName + "\nTopic,Description\n");
+        for (int r = 0; r < ROW_COUNT; r++) {
+            csv.append("Topic").append(r).append(",Description ").append(r).append('\n');
+        }
+
+        SqlStatementCounter.reset();
+        UploadResultDTO result = bulkUploadService.uploadFileIngest(
+                file("topics.csv", "text/csv; charset=UTF-8", csv.toString()));
+
+        assertEquals(ROW_COUNT, result.getRowsInserted());
+        assertEquals(1, SqlStatementCounter.countSelectsFrom("topic"));
+    }
+
+    @Test
+    void testNdjsonUploadGroupsConsecutiveLinesIntoCourses() {
+        String ndjson = line(courseName, "BASIC", "Syntax", "Keywords and operators")
+                + line(courseName, "BASIC", "Types", "Primitive and reference types")
+                + "\n"
+                + "{\"courseName\":\"" + courseName + "\",\"level\":\"ADVANCED\",\"topicName\":\"JIT\","
+                + "\"description\":\"Tiered compilation\",\"tags\":[\"jvm\"],\"owner\":{\"id\":1}}\n";
+
+        UploadResultDTO result = bulkUploadService.uploadFileIngest(
+                file("topics.ndjson", "application/x-ndjson", ndjson));
+
+        assertEquals(2, result.getSheetsProcessed());
+        assertEquals(3, result.getRowsInserted());
+        assertEquals(2, findTopics(courseName, "BASIC").size());
+        assertEquals("Tiered compilation", findTopics(courseName, "ADVANCED").get(0).getDescription());
+    }
+
+    @Test
+    void testFormatIsSelectedByExtensionWhenTypeIsGeneric() {
+        String ndjson = line(courseName, "BASIC", "Syntax", "Keywords and operators");
+
+        UploadResultDTO result = bulkUploadService.uploadFileIngest(
+                file("topics.JSONL", "application/octet-stream", ndjson));
+
+        assertEquals(1, result.getRowsInserted());
+        assertThrows(InvalidDataException.class,
+                () -> bulkUploadService.uploadFileIngest(file("topics.txt", "text/plain", ndjson)));
+    }
+
+    @Test
+    void testSheetValidationRulesApplyToEveryFormat() {
+        String invalidLevel = "Level,EXPERT\nCourse," + courseName + "\nTopic,Description\nSyntax,Keywords\n";
+        String noDescription = line(courseName, "BASIC", "Syntax", null);
+        String noCourse = "Level,BASIC\nCourse,\nTopic,Description\nSyntax,Keywords\n";
+        String duplicate = line(courseName, "BASIC", "Syntax", "First")
+                + line(courseName, "BASIC", "Syntax", "Second");
+
+        assertThrows(InvalidSheetFormatException.class,
+                () -> bulkUploadService.uploadFileIngest(file("topics.csv", "text/csv", invalidLevel)));
+        assertThrows(InvalidSheetFormatException.class,
+                () -> bulkUploadService.uploadFileIngest(file("topics.ndjson", null, noDescription)));
+        assertThrows(InvalidSheetFormatException.class,
+                () -> bulkUploadService.uploadFileIngest(file("topics.csv", "text/csv", noCourse)));
+        assertThrows(DuplicateEntryException.class,
+                () -> bulkUploadService.uploadFileIngest(file("topics.ndjson", null, duplicate)));
+        assertThrows(FileProcessingException.class,
+                () -> bulkUploadService.uploadFileIngest(file("topics.csv", "text/csv", "Level,\"BASIC\n")));
+        assertThrows(FileProcessingException.class,
+                () -> bulkUploadService.uploadFileIngest(file("topics.ndjson", null, "[1, 2]\n")));
+    }
+
+    private List<Topic> findTopics(String name, String level) {
+        Course course = courseRepository.findByCourseNameIgnoreCaseAndLevel(name, level).orElseThrow();
+        return topicRepository.findByCourse(course).stream()
+                .sorted(Comparator.comparing(Topic::getTopicName))
+                .toList();
+    }
+
+    private static String line(String courseName, String level, String topicName, String description) {
+        return "{\"courseName\":\"" + courseName + "\",\"level\":\"" + level + "\",\"topicName\":\"" + topicName
+                + "\"" + (description == null ? "" : ",\"description\":\"" + description + "\"") + "}\n";
+    }
+
+    private static MockMultipartFile file(String fileName, String contentType, String content) {
+        return new MockMultipartFile("file", fileName, contentType, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,107 @@
+package com.thbs.lms.testService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.thbs.lms.exception.DuplicateEntryException;
+import com.thbs.lms.exception.NotFoundException;
+import com.thbs.lms.model.LearningPlan;
+import com.thbs.lms.repository.LearningPlanRepository;
+import com.thbs.lms.repository.ModuleRepository;
+import com.thbs.lms.service.LearningPlanService;
+import com.thbs.lms.testUtility.SqlStatementCounter;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class LearningPlanBatchLookupTest {
+
+    private static final long FIRST_BATCH = 500_000L;
+
+    @Autowired
+    private LearningPlanService learningPlanService;
+
+    @Autowired
+    private LearningPlanRepository learningPlanRepository;
+
+    @Autowired
+    private ModuleRepository moduleRepository;
+
+    private final List<LearningPlan> learningPlans = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        moduleRepository.deleteAll();
+        // Deleting through the service evicts the cached batches of earlier tests
+        learningPlanRepository.findAll()
+                .forEach(learningPlan -> learningPlanService.deleteLearningPlan(learningPlan.getLearningPlanId()));
+        learningPlans.clear();
+        for (int p = 0; p < 10; p++) {
+            Set<Long> batchIds = new HashSet<>();
+            for (int b = 0; b < 30; b++) {
+                batchIds.add(FIRST_BATCH + p * 30 + b);
+            }
+            learningPlans.add(learningPlanService.saveLearningPlan(newLearningPlan("Plan" + p, batchIds)));
+        }
+    }
+
+    @Test
+    void testMultiGetUsesConstantQueries() {
+        List<Long> batchIds = new ArrayList<>();
+        for (long b = 0; b < 300; b++) {
+            batchIds.add(FIRST_BATCH + b);
+        }
+        batchIds.add(1L);
+
+        SqlStatementCounter.reset();
+        Map<Long, LearningPlan> resolved = learningPlanService.getLearningPlansByBatchIds(batchIds);
+        long coldStatements = SqlStatementCounter.countStatements("select");
+
+        SqlStatementCounter.reset();
+        learningPlanService.getLearningPlansByBatchIds(batchIds);
+        long warmStatements = SqlStatementCounter.countStatements("select");
+
+        assertEquals(300, resolved.size());
+        assertFalse(resolved.containsKey(1L));
+        assertEquals("Plan3", resolved.get(FIRST_BATCH + 95).getLearningPlanName());
+        assertEquals(2, coldStatements);
+        // Only the learning plans themselves are read once the batches are cached
+        assertEquals(1, warmStatements);
+    }
+
+    @Test
+    void testSingleBatchLookupAndDuplicateDetection() {
+        assertEquals("Plan0", learningPlanService.getLearningPlanByBatchId(Set.of(FIRST_BATCH)).getLearningPlanName());
+        assertThrows(NotFoundException.class, () -> learningPlanService.getLearningPlanByBatchId(Set.of(1L)));
+        assertThrows(DuplicateEntryException.class,
+                () -> learningPlanService.saveLearningPlan(newLearningPlan("Other", Set.of(FIRST_BATCH))));
+    }
+
+    @Test
+    void testDeletedPlanIsEvicted() {
+        learningPlanService.getLearningPlansByBatchIds(List.of(FIRST_BATCH));
+
+        learningPlanService.deleteLearningPlan(learningPlans.get(0).getLearningPlanId());
+
+        assertTrue(learningPlanService.getLearningPlansByBatchIds(List.of(FIRST_BATCH)).isEmpty());
+        LearningPlan replacement = learningPlanService.saveLearningPlan(newLearningPlan("New", Set.of(FIRST_BATCH)));
+        assertEquals(replacement.getLearningPlanId(),
+                learningPlanService.getLearningPlanByBatchId(Set.of(FIRST_BATCH)).getLearningPlanId());
+    }
+
+    private LearningPlan newLearningPlan(String name, Set<Long> batchIds) {
+        LearningPlan learningPlan = new LearningPlan();
+        learningPlan.setLearningPlanName(name);
+        learningPlan.setType("BATCH");
+        learningPlan.setBatchIds(new HashSet<>(batchIds));
+        return learningPlan;
+    }
+}
@@ -0,0 +1,161 @@
+package com.thbs.lms.testService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.thbs.lms.dto.LearningPlanDTO;
+import com.thbs.lms.dto.PageDTO;
+import com.thbs.lms.dto.PathDTO;
+import com.thbs.lms.model.Course;
+import com.thbs.lms.model.LearningPlan;
+import com.thbs.lms.model.Module;
+import com.thbs.lms.model.Topic;
+import com.thbs.lms.repository.CourseRepository;
+import com.thbs.lms.repository.LearningPlanRepository;
+import com.thbs.lms.repository.ModuleRepository;
+import com.thbs.lms.repository.TopicRepository;
+import com.thbs.lms.service.LearningPlanTreeService;
+import com.thbs.lms.testUtility.SqlStatementCounter;
+
+import jakarta.persistence.EntityManager;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against its own in-memory database, so that the IDs handed out by the
+ * sequences do not depend on the contexts of other test classes.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:treedb;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1" })
+@Transactional
+class LearningPlanTreeTest {
+
+    private static final long DAY = 1000L * 60 * 60 * 24;
+
+    @Autowired
+    private LearningPlanTreeService learningPlanTreeService;
+
+    @Autowired
+    private LearningPlanRepository learningPlanRepository;
+
+    @Autowired
+    private ModuleRepository moduleRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private TopicRepository topicRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final List<Course> courses = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        moduleRepository.deleteAll();
+        courses.clear();
+        for (int c = 0; c < 20; c++) {
+            Course course = courseRepository.save(new Course(null, "Tree Course" + c, "BASIC"));
+            List<Topic> topics = new ArrayList<>();
+            for (int t = 0; t < 5; t++) {
+                topics.add(new Topic(null, "Topic" + t, "Description " + t, course));
+            }
+            topicRepository.saveAll(topics);
+            courses.add(course);
+        }
+    }
+
+    @Test
+    void testTreeIsAssembled() {
+        LearningPlan learningPlan = createLearningPlan("Tree Plan", Set.of(7L), 3);
+        clearSession();
+
+        List<LearningPlanDTO> trees = learningPlanTreeService.getLearningPlanTrees(
+                List.of(learningPlan.getLearningPlanId()));
+
+        assertEquals(1, trees.size());
+        LearningPlanDTO tree = trees.get(0);
+        assertEquals("Tree Plan", tree.getLearningPlanName());
+        assertEquals(7L, tree.getBatchId());
+        assertEquals(3, tree.getPath().size());
+        PathDTO path = tree.getPath().get(1);
+        assertEquals("Tree Course1", path.getCourse().getCourseName());
+        assertEquals(5, path.getCourse().getTopics().size());
+    }
+
+    @Test
+    void testQueryCountStaysFlatAsModulesGrow() {
+        List<Long> ids = new ArrayList<>();
+        ids.add(createLearningPlan("Small Plan", Set.of(1L), 10).getLearningPlanId());
+        clearSession();
+        long smallStatements = countStatements(ids);
+
+        for (int p = 0; p < 4; p++) {
+            ids.add(createLearningPlan("Large Plan" + p, Set.of(10L + p), 100).getLearningPlanId());
+        }
+        clearSession();
+        long largeStatements = countStatements(ids);
+
+        assertEquals(3, smallStatements);
+        assertEquals(smallStatements, largeStatements);
+        // One more query reads the page of learning plan IDs
+        assertEquals(4, countStatements(null));
+    }
+
+    @Test
+    void testTreesArePagedByLearningPlanId() {
+        List<Long> ids = new ArrayList<>();
+        for (int p = 0; p < 3; p++) {
+            ids.add(createLearningPlan("Paged Plan" + p, Set.of(20L + p), 2).getLearningPlanId());
+        }
+        clearSession();
+        long after = ids.get(0) - 1;
+
+        PageDTO<LearningPlanDTO> first = learningPlanTreeService.getLearningPlanTreesAfter(after, 2);
+        PageDTO<LearningPlanDTO> second = learningPlanTreeService.getLearningPlanTreesAfter(first.getNextCursor(), 2);
+
+        assertEquals(List.of(ids.get(0), ids.get(1)),
+                first.getContent().stream().map(LearningPlanDTO::getLearningPlanId).toList());
+        assertTrue(first.isHasNext());
+        assertEquals(ids.get(2), second.getContent().get(0).getLearningPlanId());
+        assertEquals(2, second.getContent().get(0).getPath().size());
+    }
+
+    private long countStatements(List<Long> ids) {
+        SqlStatementCounter.reset();
+        learningPlanTreeService.getLearningPlanTrees(ids);
+        return SqlStatementCounter.countStatements("select");
+    }
+
+    private LearningPlan createLearningPlan(String name, Set<Long> batchIds, int moduleCount) {
+        LearningPlan learningPlan = new LearningPlan();
+        learningPlan.setLearningPlanName(name);
+        learningPlan.setType("BATCH");
+        learningPlan.getBatchIds().addAll(batchIds);
+        learningPlan = learningPlanRepository.save(learningPlan);
+
+        List<Module> modules = new ArrayList<>();
+        for (int m = 0; m < moduleCount; m++) {
+            Date startDate = new Date(m * DAY);
+            modules.add(new Module(null, learningPlan, courses.get(m % courses.size()), name + " Trainer",
+                    startDate, new Date(startDate.getTime() + DAY), null));
+        }
+        moduleRepository.saveAll(modules);
+        return learningPlan;
+    }
+
+    private void clearSession() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
@@ -0,0 +1,118 @@
+package com.thbs.lms.testService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.thbs.lms.exception.DuplicateEntryException;
+import com.thbs.lms.model.Course;
+import com.thbs.lms.model.LearningPlan;
+import com.thbs.lms.model.Module;
+import com.thbs.lms.repository.CourseRepository;
+import com.thbs.lms.repository.LearningPlanRepository;
+import com.thbs.lms.repository.ModuleRepository;
+import com.thbs.lms.service.ModuleService;
+import com.thbs.lms.testUtility.SqlStatementCounter;
+
+import jakarta.persistence.EntityManager;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@Transactional
+class ModuleBulkSaveTest {
+
+    private static final long DAY = 1000L * 60 * 60 * 24;
+
+    @Autowired
+    private ModuleService moduleService;
+
+    @Autowired
+    private ModuleRepository moduleRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private LearningPlanRepository learningPlanRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Course course;
+    private LearningPlan firstPlan;
+    private LearningPlan secondPlan;
+
+    @BeforeEach
+    void setUp() {
+        moduleRepository.deleteAll();
+        course = courseRepository.save(new Course(null, "Scheduled Course", "BASIC"));
+        firstPlan = learningPlanRepository.save(newLearningPlan("First Plan"));
+        secondPlan = learningPlanRepository.save(newLearningPlan("Second Plan"));
+    }
+
+    @Test
+    void testOneDuplicateQueryPerLearningPlan() {
+        List<Module> modules = new ArrayList<>();
+        modules.addAll(newModules(firstPlan, 150));
+        modules.addAll(newModules(secondPlan, 150));
+        entityManager.flush();
+        entityManager.clear();
+        SqlStatementCounter.reset();
+
+        moduleService.saveAllModules(modules);
+        entityManager.flush();
+
+        assertEquals(2, SqlStatementCounter.countSelectsFrom("module"));
+        assertEquals(300, moduleRepository.count());
+    }
+
+    @Test
+    void testDuplicateOfExistingModuleIsRejected() {
+        moduleService.saveAllModules(newModules(firstPlan, 3));
+        entityManager.flush();
+
+        List<Module> modules = newModules(secondPlan, 2);
+        modules.addAll(newModules(firstPlan, 1));
+
+        DuplicateEntryException exception = assertThrows(DuplicateEntryException.class,
+                () -> moduleService.saveAllModules(modules));
+        assertEquals("A module with the same start date and end date for this course, "
+                + "attached to the same learning plan already exists.", exception.getMessage());
+        assertEquals(3, moduleRepository.count());
+    }
+
+    @Test
+    void testDuplicateInsideRequestIsRejected() {
+        List<Module> modules = newModules(firstPlan, 2);
+        modules.addAll(newModules(firstPlan, 1));
+
+        assertThrows(DuplicateEntryException.class, () -> moduleService.saveAllModules(modules));
+        assertEquals(0, moduleRepository.count());
+    }
+
+    private LearningPlan newLearningPlan(String name) {
+        LearningPlan learningPlan = new LearningPlan();
+        learningPlan.setLearningPlanName(name);
+        learningPlan.setType("BATCH");
+        return learningPlan;
+    }
+
+    private List<Module> newModules(LearningPlan learningPlan, int count) {
+        List<Module> modules = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Date startDate = new Date(i * DAY);
+            String trainer = learningPlan.getLearningPlanName() + " Trainer" + i;
+            modules.add(new Module(null, learningPlan, course, trainer, startDate,
+                    new Date(startDate.getTime() + DAY), null));
+        }
+        return modules;
+    }
+}
@@ -0,0 +1,41 @@
+package com.thbs.lms.testService;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.thbs.lms.config.ModuleIdSequenceInitializer;
+import com.thbs.lms.model.Module;
+import com.thbs.lms.repository.ModuleRepository;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:moduleseqdb;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1" })
+class ModuleIdSequenceTest {
+
+    @Autowired
+    private ModuleIdSequenceInitializer moduleIdSequenceInitializer;
+
+    @Autowired
+    private ModuleRepository moduleRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testSequenceStartsAboveIdsAssignedByTheDatabase() {
+        // A module stored while IDs were still assigned by AUTO_INCREMENT
+        jdbcTemplate.update("insert into module (module_id, trainer) values (5000, 'Legacy Trainer')");
+
+        moduleIdSequenceInitializer.afterSingletonsInstantiated();
+        Module saved = moduleRepository.save(new Module(null, null, null, "New Trainer", null, null, null));
+        // Running again once the sequence is ahead changes nothing
+        moduleIdSequenceInitializer.afterSingletonsInstantiated();
+        Module next = moduleRepository.save(new Module(null, null, null, "Next Trainer", null, null, null));
+
+        assertTrue(saved.getModuleId() > 5000, "Expected an ID above 5000 but got " + saved.getModuleId());
+        assertTrue(next.getModuleId() > saved.getModuleId());
+    }
+}
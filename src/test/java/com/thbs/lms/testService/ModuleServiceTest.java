@@ -17,6 +17,8 @@ import com.thbs.lms.model.LearningPlan;
 import com.thbs.lms.model.Module;
 import com.thbs.lms.repository.ModuleRepository;
 import com.thbs.lms.service.ModuleService;
+import com.thbs.lms.service.ReminderService;
+import com.thbs.lms.service.TrainerSchedule;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -44,6 +46,12 @@ class ModuleServiceTest {
     @Mock
     private ModuleController moduleController;
 
+    @Mock
+    private TrainerSchedule trainerSchedule;
+
+    @Mock
+    private ReminderService reminderService;
+
     @InjectMocks
     private ModuleService moduleService;
 
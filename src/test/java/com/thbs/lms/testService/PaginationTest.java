@@ -0,0 +1,104 @@
+package com.thbs.lms.testService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.thbs.lms.dto.PageDTO;
+import com.thbs.lms.exception.InvalidDataException;
+import com.thbs.lms.model.Course;
+import com.thbs.lms.repository.CourseRepository;
+import com.thbs.lms.repository.TopicRepository;
+import com.thbs.lms.service.CourseService;
+import com.thbs.lms.testUtility.SqlStatementCounter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class PaginationTest {
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private TopicRepository topicRepository;
+
+    private List<Long> courseIds;
+
+    @BeforeEach
+    void setUp() {
+        topicRepository.deleteAll();
+        courseRepository.deleteAll();
+        courseIds = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            courseIds.add(courseRepository.save(new Course(null, "Course" + i, "BASIC")).getCourseId());
+        }
+    }
+
+    @Test
+    void testKeysetPagesCoverAllCoursesWithoutOffset() {
+        List<Long> seen = new ArrayList<>();
+        SqlStatementCounter.reset();
+
+        PageDTO<Course> page = courseService.getCoursesAfter(0, 10);
+        int pages = 1;
+        seen.addAll(ids(page));
+        while (page.isHasNext()) {
+            page = courseService.getCoursesAfter(page.getNextCursor(), 10);
+            seen.addAll(ids(page));
+            pages++;
+        }
+
+        assertEquals(3, pages);
+        assertEquals(courseIds, seen);
+        assertNull(page.getNextCursor());
+        assertNull(page.getPage());
+        // One query per page and no count queries
+        assertEquals(3, SqlStatementCounter.countStatements("select"));
+    }
+
+    @Test
+    void testOffsetPageMatchesKeysetPage() {
+        PageDTO<Course> offsetPage = courseService.getCoursesPage(1, 10);
+        PageDTO<Course> keysetPage = courseService.getCoursesAfter(courseIds.get(9), 10);
+
+        assertEquals(ids(keysetPage), ids(offsetPage));
+        assertEquals(Integer.valueOf(1), offsetPage.getPage());
+        assertTrue(offsetPage.isHasNext());
+        assertEquals(courseIds.get(19), offsetPage.getNextCursor());
+    }
+
+    @Test
+    void testKeysetQuerySeeksToCursor() {
+        SqlStatementCounter.reset();
+        PageDTO<Course> page = courseService.getCoursesAfter(courseIds.get(19), 10);
+
+        // The page starts with an indexed range predicate; H2 renders a zero
+        // offset, so no rows are skipped
+        assertEquals(1, SqlStatementCounter.countSelectsFrom("course"));
+        assertEquals(1, SqlStatementCounter.countStatementsContaining("course_id>?"));
+        assertEquals(courseIds.subList(20, 25), ids(page));
+        assertFalse(page.isHasNext());
+    }
+
+    @Test
+    void testInvalidPageSize() {
+        assertThrows(InvalidDataException.class, () -> courseService.getCoursesAfter(0, 0));
+        assertThrows(InvalidDataException.class, () -> courseService.getCoursesPage(0, 1001));
+        assertThrows(InvalidDataException.class, () -> courseService.getCoursesPage(-1, 10));
+    }
+
+    private List<Long> ids(PageDTO<Course> page) {
+        return page.getContent().stream().map(Course::getCourseId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,90 @@
+package com.thbs.lms.testService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.thbs.lms.model.Course;
+import com.thbs.lms.repository.CourseRepository;
+import com.thbs.lms.testUtility.SqlStatementCounter;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class QueryPlanTest {
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        course = courseRepository.findByCourseNameIgnoreCaseAndLevel("Query Plan Course", "BASIC")
+                .orElseGet(() -> courseRepository.save(new Course(null, "Query Plan Course", "BASIC")));
+    }
+
+    @Test
+    void testCourseNameIsMatchedIgnoringCaseThroughTheIndex() {
+        SqlStatementCounter.reset();
+        assertEquals(course.getCourseId(),
+                courseRepository.findByCourseNameIgnoreCaseAndLevel("QUERY plan course", "BASIC")
+                        .orElseThrow().getCourseId());
+        assertEquals(1, SqlStatementCounter.countStatementsContaining("course_name_key=?"));
+        assertEquals(0, SqlStatementCounter.countStatementsContaining("upper("));
+
+        assertUsesIndex("idx_course_level_name_key",
+                "SELECT * FROM course WHERE course_name_key = 'query plan course' AND level = 'BASIC'");
+        assertUsesIndex("idx_course_level_name_key", "SELECT * FROM course WHERE level = 'BASIC'");
+    }
+
+    @Test
+    void testTopicLookupsUseTheIndex() {
+        assertUsesIndex("idx_topic_course_name",
+                "SELECT * FROM topic WHERE topic_name = 'Streams' AND course_id = 1");
+        assertAvoidsTableScan("SELECT * FROM topic WHERE course_id = 1");
+    }
+
+    @Test
+    void testModuleLookupsUseTheIndexes() {
+        assertUsesIndex("idx_module_trainer", "SELECT * FROM module WHERE trainer = 'Trainer'");
+        assertUsesIndex("idx_module_plan_course_dates", "SELECT * FROM module WHERE learning_plan_id = 1 "
+                + "AND course_id = 1 AND start_date = DATE '2024-01-01' AND end_date = DATE '2024-01-05'");
+        assertAvoidsTableScan("SELECT * FROM module WHERE learning_plan_id = 1");
+    }
+
+    @Test
+    void testLearningPlanLookupsUseTheIndex() {
+        assertUsesIndex("idx_learning_plan_type_name", "SELECT * FROM learning_plan WHERE type = 'BATCH'");
+        assertUsesIndex("idx_learning_plan_type_name",
+                "SELECT * FROM learning_plan WHERE learning_plan_name = 'Plan' AND type = 'BATCH'");
+    }
+
+    private void assertUsesIndex(String index, String query) {
+        String plan = explain(query);
+        assertTrue(plan.contains(index), () -> "Expected " + index + " in plan: " + plan);
+        assertFalse(plan.contains("tablescan"), () -> "Unexpected table scan in plan: " + plan);
+    }
+
+    /**
+     * Asserts that a lookup by the foreign key alone is served by an index.
+     * H2 creates its own index for every foreign key and prefers it for such
+     * lookups, whereas MySQL reuses the composite index whose leading column
+     * is the foreign key, so the index chosen differs between the two.
+     */
+    private void assertAvoidsTableScan(String query) {
+        String plan = explain(query);
+        assertFalse(plan.contains("tablescan"), () -> "Unexpected table scan in plan: " + plan);
+    }
+
+    private String explain(String query) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + query, String.class).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,108 @@
+package com.thbs.lms.testService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.thbs.lms.dto.ReminderDTO;
+import com.thbs.lms.model.Course;
+import com.thbs.lms.model.LearningPlan;
+import com.thbs.lms.model.Module;
+import com.thbs.lms.repository.CourseRepository;
+import com.thbs.lms.repository.LearningPlanRepository;
+import com.thbs.lms.repository.ModuleRepository;
+import com.thbs.lms.service.ModuleService;
+import com.thbs.lms.service.ReminderService;
+import com.thbs.lms.service.TrainerSchedule;
+import com.thbs.lms.testUtility.SqlStatementCounter;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ReminderServiceTest {
+
+    @Autowired
+    private ReminderService reminderService;
+
+    @Autowired
+    private ModuleService moduleService;
+
+    @Autowired
+    private TrainerSchedule trainerSchedule;
+
+    @Autowired
+    private ModuleRepository moduleRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private LearningPlanRepository learningPlanRepository;
+
+    private Course course;
+    private LearningPlan learningPlan;
+
+    @BeforeEach
+    void setUp() {
+        moduleRepository.deleteAll();
+        reminderService.rebuild();
+        trainerSchedule.rebuild();
+        course = courseRepository.save(new Course(null, "Reminder Course", "BASIC"));
+        LearningPlan plan = new LearningPlan();
+        plan.setLearningPlanName("Reminder Plan");
+        plan.setType("BATCH");
+        learningPlan = learningPlanRepository.save(plan);
+    }
+
+    @Test
+    void testDueModulesAreRemindedInEndDateOrder() {
+        Module later = moduleService.saveModule(newModule("Trainer A", 42L, -3, 5));
+        moduleService.saveModule(newModule("Trainer B", 41L, -1, 2));
+        moduleService.saveModule(newModule("Trainer C", 43L, 0, 30));
+        moduleService.saveModule(newModule("Trainer D", 44L, -10, -1));
+
+        SqlStatementCounter.reset();
+        List<ReminderDTO> reminders = reminderService.generateReminders();
+        assertEquals(0, SqlStatementCounter.countStatements("select"));
+
+        assertEquals(List.of(41L, 42L), reminders.stream().map(ReminderDTO::getBatchId).toList());
+        assertEquals("Reminder Course", reminders.get(0).getCourseDTO().get(0).getCourseName());
+
+        moduleService.updateModuleDates(later.getModuleId(), later.getStartDate(), day(20));
+        assertEquals(List.of(41L), reminderService.generateReminders().stream().map(ReminderDTO::getBatchId).toList());
+    }
+
+    @Test
+    void testDeletedModuleIsNoLongerReminded() {
+        Module module = moduleService.saveModule(newModule("Trainer E", 45L, -2, 1));
+        assertEquals(1, reminderService.generateReminders().size());
+
+        moduleService.deleteModule(module.getModuleId());
+
+        assertTrue(reminderService.generateReminders().isEmpty());
+    }
+
+    @Test
+    void testRebuildMatchesIncrementalUpdates() {
+        moduleService.saveModule(newModule("Trainer F", 46L, -2, 1));
+        moduleService.saveModule(newModule("Trainer G", 47L, 0, 6));
+        List<Long> incremental = reminderService.generateReminders().stream().map(ReminderDTO::getBatchId).toList();
+
+        reminderService.rebuild();
+
+        assertEquals(incremental, reminderService.generateReminders().stream().map(ReminderDTO::getBatchId).toList());
+    }
+
+    private Module newModule(String trainer, Long batchId, int startOffset, int endOffset) {
+        return new Module(null, learningPlan, course, trainer, day(startOffset), day(endOffset), batchId);
+    }
+
+    private static Date day(int offset) {
+        return java.sql.Date.valueOf(LocalDate.now().plusDays(offset));
+    }
+}
@@ -0,0 +1,107 @@
+package com.thbs.lms.testService;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import com.thbs.lms.config.MetricsConfig;
+import com.thbs.lms.exception.NotFoundException;
+import com.thbs.lms.service.BulkUploadService;
+import com.thbs.lms.service.CourseService;
+import com.thbs.lms.utility.LargeExcelFileGenerator;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.search.Search;
+
+import java.io.IOException;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class ServiceMetricsTest {
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private BulkUploadService bulkUploadService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void testServiceMethodsAreTimed() {
+        long calls = serviceCalls("getAllCourses", "none");
+        long failures = serviceCalls("getCourseById", NotFoundException.class.getSimpleName());
+
+        courseService.getAllCourses();
+        assertThrows(NotFoundException.class, () -> courseService.getCourseById(-1L));
+
+        assertEquals(calls + 1, serviceCalls("getAllCourses", "none"));
+        assertEquals(failures + 1, serviceCalls("getCourseById", NotFoundException.class.getSimpleName()));
+    }
+
+    @Test
+    void testRepositoryFindersAreTimed() {
+        courseService.getCoursesByLevel("BASIC");
+
+        assertEquals(1, Search.in(meterRegistry).name("spring.data.repository.invocations")
+                .tag("repository", "CourseRepository").tag("method", "findByLevel").timers().size());
+    }
+
+    @Test
+    void testUploadRowsAreCounted() throws IOException {
+        MockMultipartFile file = LargeExcelFileGenerator.generateExcelFile(2, 10);
+        double sheets = counter("lms.upload.sheets", null);
+        double inserted = counter("lms.upload.rows", "inserted");
+        double skipped = counter("lms.upload.rows", "skipped");
+
+        bulkUploadService.uploadFile(file);
+        bulkUploadService.uploadFile(file);
+
+        // The second upload finds every topic of the first one already stored
+        assertEquals(sheets + 4, counter("lms.upload.sheets", null));
+        assertEquals(inserted + skipped + 40, counter("lms.upload.rows", "inserted")
+                + counter("lms.upload.rows", "skipped"));
+        assertTrue(counter("lms.upload.rows", "skipped") >= skipped + 20);
+    }
+
+    @Test
+    void testPrometheusEndpointExposesMetrics() throws Exception {
+        courseService.getAllCourses();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("lms_service_seconds_count")))
+                .andExpect(content().string(containsString("lms_upload_rows_total")));
+    }
+
+    private long serviceCalls(String method, String exception) {
+        return Search.in(meterRegistry).name(MetricsConfig.SERVICE_TIMER)
+                .tag("class", CourseService.class.getName()).tag("method", method).tag("exception", exception)
+                .timers().stream().mapToLong(timer -> timer.count()).sum();
+    }
+
+    private double counter(String name, String outcome) {
+        Search search = Search.in(meterRegistry).name(name);
+        if (outcome != null) {
+            search = search.tag("outcome", outcome);
+        }
+        return search.counters().stream().mapToDouble(counter -> counter.count()).sum();
+    }
+}
@@ -0,0 +1,191 @@
+package com.thbs.lms.testService;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.thbs.lms.dto.PageDTO;
+import com.thbs.lms.dto.TopicSearchHitDTO;
+import com.thbs.lms.exception.InvalidDataException;
+import com.thbs.lms.model.Course;
+import com.thbs.lms.model.Topic;
+import com.thbs.lms.repository.CourseRepository;
+import com.thbs.lms.repository.TopicRepository;
+import com.thbs.lms.service.BulkUploadService;
+import com.thbs.lms.service.CourseService;
+import com.thbs.lms.service.TopicSearchIndex;
+import com.thbs.lms.service.TopicService;
+import com.thbs.lms.testUtility.SqlStatementCounter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class TopicSearchTest {
+
+    @Autowired
+    private TopicService topicService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private BulkUploadService bulkUploadService;
+
+    @Autowired
+    private TopicSearchIndex topicSearchIndex;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    private Course course;
+    // A word no other test uses, so that searches only match this test's topics
+    private String word;
+
+    @BeforeEach
+    void setUp() {
+        word = "w" + UUID.randomUUID().toString().replace("-", "");
+        course = courseRepository.save(new Course(null, "Search " + word, "BASIC"));
+    }
+
+    @Test
+    void testNameMatchesRankAboveDescriptionMatches() {
+        Topic inDescription = topicService.addTopicWithValidation(
+                new Topic(null, "Introduction", "Covers " + word + " and Kafka basics", course));
+        Topic inName = topicService.addTopicWithValidation(
+                new Topic(null, "Kafka " + word, "Producers and consumers", course));
+        topicService.addTopicWithValidation(new Topic(null, "Kafka Streams", "Stateful processing", course));
+
+        SqlStatementCounter.reset();
+        PageDTO<TopicSearchHitDTO> hits = topicService.searchTopics(word.toUpperCase(Locale.ROOT), 0, 10);
+        assertEquals(0, SqlStatementCounter.countStatements("select"));
+
+        assertEquals(List.of(inName.getTopicId(), inDescription.getTopicId()), topicIds(hits));
+        assertEquals(course.getCourseId(), hits.getContent().get(0).getCourseId());
+        assertTrue(hits.getContent().get(0).getScore() > hits.getContent().get(1).getScore());
+        assertEquals(2, topicService.searchTopics("kafka, " + word, 0, 10).getContent().size());
+        assertTrue(topicService.searchTopics(word + " streams", 0, 10).getContent().isEmpty());
+    }
+
+    @Test
+    void testResultsArePaginated() {
+        List<Topic> topics = new ArrayList<>();
+        for (int t = 0; t < 25; t++) {
+            topics.add(new Topic(null, "Topic" + t, "About " + word, course));
+        }
+        topicService.addTopicsWithValidation(topics);
+
+        PageDTO<TopicSearchHitDTO> first = topicService.searchTopics(word, 0, 10);
+        PageDTO<TopicSearchHitDTO> last = topicService.searchTopics(word, 2, 10);
+
+        assertEquals(10, first.getContent().size());
+        assertTrue(first.isHasNext());
+        assertEquals(5, last.getContent().size());
+        assertFalse(last.isHasNext());
+        Set<Long> seen = new HashSet<>();
+        for (int page = 0; page < 3; page++) {
+            seen.addAll(topicIds(topicService.searchTopics(word, page, 10)));
+        }
+        assertEquals(25, seen.size());
+        assertTrue(topicService.searchTopics(word, 3, 10).getContent().isEmpty());
+    }
+
+    @Test
+    void testUpdatesAndDeletesAreApplied() {
+        String other = word + "x";
+        Topic topic = topicService.addTopicWithValidation(new Topic(null, "Alpha " + word, "Description", course));
+        topicService.addTopicWithValidation(new Topic(null, "Beta", "Also " + word, course));
+
+        topicService.updateTopicNameWithValidation(topic.getTopicId(), "Alpha " + other);
+        assertEquals(1, topicService.searchTopics(word, 0, 10).getContent().size());
+        assertEquals(List.of(topic.getTopicId()), topicIds(topicService.searchTopics(other, 0, 10)));
+
+        topicService.deleteTopicById(topic.getTopicId());
+        assertTrue(topicService.searchTopics(other, 0, 10).getContent().isEmpty());
+
+        courseService.deleteCourseById(course.getCourseId());
+        assertTrue(topicService.searchTopics(word, 0, 10).getContent().isEmpty());
+    }
+
+    @Test
+    void testUploadedTopicsAreSearchable() throws IOException {
+        bulkUploadService.uploadFile(generateWorkbook(word.substring(0, 20), 30));
+
+        assertEquals(30, topicService.searchTopics(word, 0, 50).getContent().size());
+        assertEquals(1, topicService.searchTopics("topic7 " + word, 0, 50).getContent().size());
+    }
+
+    @Test
+    void testRebuildMatchesIncrementalUpdates() {
+        topicService.addTopicWithValidation(new Topic(null, "Gamma " + word, "First", course));
+        topicService.addTopicWithValidation(new Topic(null, "Delta", word + " " + word, course));
+        List<Long> incremental = topicIds(topicService.searchTopics(word, 0, 10));
+
+        topicSearchIndex.rebuild();
+
+        assertEquals(incremental, topicIds(topicService.searchTopics(word, 0, 10)));
+    }
+
+    @Test
+    void testQueryWithoutWordsIsRejected() {
+        assertThrows(InvalidDataException.class, () -> topicService.searchTopics(" - ! ", 0, 10));
+        assertThrows(InvalidDataException.class, () -> topicService.searchTopics(word, 0, 0));
+    }
+
+    @Test
+    void testTopicsSavedDuringRebuildAreKept() {
+        TopicRepository topicRepository = mock(TopicRepository.class);
+        TopicSearchIndex index = new TopicSearchIndex(topicRepository);
+        Topic saved = new Topic(1L, "Saved " + word, "While the index is read", course);
+        when(topicRepository.findTopicDocumentsAfter(anyLong(), any())).thenAnswer(invocation -> {
+            index.record(List.of(saved));
+            return List.of();
+        });
+
+        index.rebuild();
+
+        assertEquals(List.of(saved.getTopicId()), topicIds(index.search(word, 0, 10)));
+    }
+
+    private static List<Long> topicIds(PageDTO<TopicSearchHitDTO> hits) {
+        return hits.getContent().stream().map(TopicSearchHitDTO::getTopicId).toList();
+    }
+
+    private MockMultipartFile generateWorkbook(String courseName, int topicCount) throws IOException {
+        try (Workbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet(courseName);
+            List<String[]> rows = new ArrayList<>(List.of(new String[] { "Level", "BASIC" },
+                    new String[] { "Course", courseName }, new String[] { "Topic", "Description" }));
+            for (int t = 0; t < topicCount; t++) {
+                rows.add(new String[] { "Topic" + t, "Uploaded " + word });
+            }
+            for (int i = 0; i < rows.size(); i++) {
+                Row row = sheet.createRow(i);
+                row.createCell(0).setCellValue(rows.get(i)[0]);
+                row.createCell(1).setCellValue(rows.get(i)[1]);
+            }
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            workbook.write(outputStream);
+            return new MockMultipartFile("file", "search.xlsx",
+                    "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", outputStream.toByteArray());
+        }
+    }
+}
@@ -4,6 +4,8 @@ import com.thbs.lms.exception.*;
 import com.thbs.lms.model.Course;
 import com.thbs.lms.model.Topic;
 import com.thbs.lms.repository.TopicRepository;
+import com.thbs.lms.service.CatalogCache;
+import com.thbs.lms.service.TopicSearchIndex;
 import com.thbs.lms.service.TopicService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
@@ -24,6 +26,12 @@ class TopicServiceTest {
     @Mock
     private TopicRepository topicRepository;
 
+    @Mock
+    private CatalogCache catalogCache;
+
+    @Mock
+    private TopicSearchIndex topicSearchIndex;
+
     @InjectMocks
     private TopicService topicService;
 
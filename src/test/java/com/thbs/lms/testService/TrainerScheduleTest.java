@@ -0,0 +1,190 @@
+package com.thbs.lms.testService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.thbs.lms.exception.DuplicateEntryException;
+import com.thbs.lms.model.Module;
+import com.thbs.lms.repository.ModuleRepository;
+import com.thbs.lms.repository.TrainerBooking;
+import com.thbs.lms.service.TrainerSchedule;
+import com.thbs.lms.utility.IntervalTree;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TrainerScheduleTest {
+
+    @Mock
+    private ModuleRepository moduleRepository;
+
+    @InjectMocks
+    private TrainerSchedule trainerSchedule;
+
+    @BeforeEach
+    void setUp() {
+        when(moduleRepository.findAllTrainerBookings()).thenReturn(List.of(
+                booking(1L, "Alice", "2024-01-01", "2024-01-10"),
+                booking(2L, "Alice", "2024-02-01", "2024-02-10"),
+                booking(3L, "Bob", "2024-01-05", "2024-01-20")));
+        trainerSchedule.rebuild();
+    }
+
+    @Test
+    void testOverlappingBookingIsRejected() {
+        assertThrows(DuplicateEntryException.class,
+                () -> trainerSchedule.checkAvailable("Alice", date("2024-01-10"), date("2024-01-15"), null));
+        assertDoesNotThrow(
+                () -> trainerSchedule.checkAvailable("Alice", date("2024-01-11"), date("2024-01-31"), null));
+        assertDoesNotThrow(
+                () -> trainerSchedule.checkAvailable("Carol", date("2024-01-01"), date("2024-12-31"), null));
+    }
+
+    @Test
+    void testRescheduledModuleIgnoresItself() {
+        assertDoesNotThrow(
+                () -> trainerSchedule.checkAvailable("Alice", date("2024-01-03"), date("2024-01-12"), 1L));
+        assertThrows(DuplicateEntryException.class,
+                () -> trainerSchedule.checkAvailable("Alice", date("2024-01-03"), date("2024-02-01"), 1L));
+    }
+
+    @Test
+    void testFreeTrainers() {
+        assertEquals(List.of("Bob"), trainerSchedule.findFreeTrainers(date("2024-02-05"), date("2024-02-06")));
+        assertEquals(List.of("Alice"), trainerSchedule.findFreeTrainers(date("2024-01-15"), date("2024-01-31")));
+        assertEquals(List.of(), trainerSchedule.findFreeTrainers(date("2024-01-01"), date("2024-02-01")));
+    }
+
+    @Test
+    void testRecordAndForgetKeepScheduleCurrent() {
+        trainerSchedule.record(module(3L, "Alice", "2024-03-01", "2024-03-05"));
+        assertThrows(DuplicateEntryException.class,
+                () -> trainerSchedule.checkAvailable("Alice", date("2024-03-05"), date("2024-03-06"), null));
+        assertDoesNotThrow(
+                () -> trainerSchedule.checkAvailable("Bob", date("2024-01-05"), date("2024-01-20"), null));
+
+        trainerSchedule.forget(3L);
+        assertDoesNotThrow(
+                () -> trainerSchedule.checkAvailable("Alice", date("2024-03-05"), date("2024-03-06"), null));
+    }
+
+    @Test
+    void testChangesDuringRebuildAreKept() {
+        when(moduleRepository.findAllTrainerBookings()).thenAnswer(invocation -> {
+            // Saved and deleted while the bookings are being read
+            trainerSchedule.record(module(4L, "Carol", "2024-04-01", "2024-04-05"));
+            trainerSchedule.forget(1L);
+            return List.of(booking(1L, "Alice", "2024-01-01", "2024-01-10"));
+        });
+
+        trainerSchedule.rebuild();
+
+        assertThrows(DuplicateEntryException.class,
+                () -> trainerSchedule.checkAvailable("Carol", date("2024-04-02"), date("2024-04-03"), null));
+        assertDoesNotThrow(
+                () -> trainerSchedule.checkAvailable("Alice", date("2024-01-01"), date("2024-01-10"), null));
+    }
+
+    @Test
+    void testCheckedPeriodIsReservedUntilTheTransactionCompletes() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            trainerSchedule.checkAvailable("Carol", date("2024-05-01"), date("2024-05-10"), null);
+            // A concurrent request for the same trainer sees the reservation
+            assertThrows(DuplicateEntryException.class,
+                    () -> trainerSchedule.checkAvailable("Carol", date("2024-05-10"), date("2024-05-12"), null));
+            assertThrows(DuplicateEntryException.class,
+                    () -> trainerSchedule.checkAvailable(List.of(module(null, "Carol", "2024-05-05", "2024-05-06"))));
+
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager
+                    .getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertDoesNotThrow(
+                () -> trainerSchedule.checkAvailable("Carol", date("2024-05-10"), date("2024-05-12"), null));
+    }
+
+    @Test
+    void testOverlapInsideRequestIsRejected() {
+        List<Module> modules = List.of(module(null, "Carol", "2024-01-01", "2024-01-10"),
+                module(null, "Carol", "2024-01-08", "2024-01-12"));
+
+        assertThrows(DuplicateEntryException.class, () -> trainerSchedule.checkAvailable(modules));
+    }
+
+    @Test
+    void testIntervalTreeMatchesLinearScan() {
+        Random random = new Random(42);
+        IntervalTree tree = new IntervalTree();
+        long[][] intervals = new long[2000][];
+        for (int i = 0; i < intervals.length; i++) {
+            long start = random.nextInt(10000);
+            intervals[i] = new long[] { start, start + random.nextInt(30) };
+            tree.insert(intervals[i][0], intervals[i][1], i);
+        }
+        for (int i = 0; i < intervals.length; i += 2) {
+            assertTrue(tree.remove(intervals[i][0], intervals[i][1], i));
+            intervals[i] = null;
+        }
+        assertEquals(1000, tree.size());
+
+        for (int q = 0; q < 1000; q++) {
+            long start = random.nextInt(10000);
+            long end = start + random.nextInt(20);
+            boolean expected = false;
+            for (long[] interval : intervals) {
+                expected |= interval != null && interval[0] <= end && start <= interval[1];
+            }
+            Long found = tree.findOverlap(start, end, null);
+            assertEquals(expected, found != null);
+            if (found != null) {
+                long[] interval = intervals[found.intValue()];
+                assertTrue(interval[0] <= end && start <= interval[1]);
+            }
+        }
+    }
+
+    private static TrainerBooking booking(Long moduleId, String trainer, String startDate, String endDate) {
+        return new TrainerBooking() {
+            public Long getModuleId() {
+                return moduleId;
+            }
+
+            public String getTrainer() {
+                return trainer;
+            }
+
+            public Date getStartDate() {
+                return date(startDate);
+            }
+
+            public Date getEndDate() {
+                return date(endDate);
+            }
+        };
+    }
+
+    private static Module module(Long moduleId, String trainer, String startDate, String endDate) {
+        return new Module(moduleId, null, null, trainer, date(startDate), date(endDate), null);
+    }
+
+    private static Date date(String day) {
+        return java.sql.Date.valueOf(LocalDate.parse(day));
+    }
+}
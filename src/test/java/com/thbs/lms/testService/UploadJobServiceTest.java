@@ -0,0 +1,137 @@
+package com.thbs.lms.testService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.thbs.lms.dto.UploadJobDTO;
+import com.thbs.lms.dto.UploadJobStatus;
+import com.thbs.lms.dto.UploadResultDTO;
+import com.thbs.lms.exception.FileProcessingException;
+import com.thbs.lms.exception.InvalidSheetFormatException;
+import com.thbs.lms.exception.NotFoundException;
+import com.thbs.lms.exception.TooManyUploadsException;
+import com.thbs.lms.repository.InMemoryUploadJobStore;
+import com.thbs.lms.service.BulkUploadService;
+import com.thbs.lms.service.UploadJobService;
+import com.thbs.lms.utility.MockExcelFileGenerator;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+
+@SpringBootTest
+class UploadJobServiceTest {
+
+    @Mock
+    private BulkUploadService bulkUploadService;
+
+    private InMemoryUploadJobStore uploadJobStore;
+
+    private MockMultipartFile file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        uploadJobStore = new InMemoryUploadJobStore();
+        file = MockExcelFileGenerator.generateMockExcelFile();
+    }
+
+    @Test
+    void testSubmit_Completed() {
+        doAnswer(invocation -> {
+            UploadResultDTO result = invocation.getArgument(1);
+            result.rowProcessed();
+            result.sheetProcessed(1);
+            return null;
+        }).when(bulkUploadService).uploadFileStreaming(any(File.class), any(UploadResultDTO.class));
+        UploadJobService uploadJobService = new UploadJobService(bulkUploadService, uploadJobStore, Runnable::run);
+
+        UploadJobDTO job = uploadJobService.submit(file);
+
+        UploadJobDTO polledJob = uploadJobService.getJob(job.getJobId());
+        assertEquals(UploadJobStatus.COMPLETED, polledJob.getStatus());
+        assertEquals(1, polledJob.getResult().getSheetsProcessed());
+        assertEquals(1, polledJob.getResult().getRowsInserted());
+        assertNotNull(polledJob.getFinishedAt());
+        assertTrue(polledJob.getErrors().isEmpty());
+    }
+
+    @Test
+    void testSubmit_ValidationError() {
+        doThrow(new InvalidSheetFormatException("Header cell A1 must contain 'Level'."))
+                .when(bulkUploadService).uploadFileStreaming(any(File.class), any(UploadResultDTO.class));
+        UploadJobService uploadJobService = new UploadJobService(bulkUploadService, uploadJobStore, Runnable::run);
+
+        UploadJobDTO job = uploadJobService.submit(file);
+
+        assertEquals(UploadJobStatus.FAILED, job.getStatus());
+        assertEquals(List.of("Header cell A1 must contain 'Level'."), job.getErrors());
+    }
+
+    @Test
+    void testSubmit_QueueFull() {
+        UploadJobService uploadJobService = new UploadJobService(bulkUploadService, uploadJobStore, task -> {
+            throw new RejectedExecutionException();
+        });
+
+        assertThrows(TooManyUploadsException.class, () -> uploadJobService.submit(file));
+    }
+
+    @Test
+    void testSubmit_RunsOnFinishedOnceJobEnds() {
+        List<String> finished = new ArrayList<>();
+        List<Runnable> queued = new ArrayList<>();
+        UploadJobService uploadJobService = new UploadJobService(bulkUploadService, uploadJobStore, queued::add);
+
+        UploadJobDTO job = uploadJobService.submit(file, () -> finished.add("done"));
+        assertTrue(finished.isEmpty());
+        queued.forEach(Runnable::run);
+
+        assertEquals(List.of("done"), finished);
+        assertEquals(UploadJobStatus.COMPLETED, job.getStatus());
+    }
+
+    @Test
+    void testSubmit_QueueFullRunsOnFinished() {
+        List<String> finished = new ArrayList<>();
+        UploadJobService uploadJobService = new UploadJobService(bulkUploadService, uploadJobStore, task -> {
+            throw new RejectedExecutionException();
+        });
+
+        assertThrows(TooManyUploadsException.class, () -> uploadJobService.submit(file, () -> finished.add("done")));
+        assertEquals(List.of("done"), finished);
+    }
+
+    @Test
+    void testSubmit_StoreFailureDeletesTempFile() {
+        List<File> tempFiles = new ArrayList<>();
+        MockMultipartFile failingFile = new MockMultipartFile("file", "topics.xlsx", null, new byte[0]) {
+            @Override
+            public void transferTo(File dest) throws IOException {
+                tempFiles.add(dest);
+                throw new IOException("Disk full");
+            }
+        };
+        UploadJobService uploadJobService = new UploadJobService(bulkUploadService, uploadJobStore, Runnable::run);
+
+        assertThrows(FileProcessingException.class, () -> uploadJobService.submit(failingFile));
+        assertEquals(1, tempFiles.size());
+        assertFalse(tempFiles.get(0).exists());
+    }
+
+    @Test
+    void testGetJob_NotFound() {
+        UploadJobService uploadJobService = new UploadJobService(bulkUploadService, uploadJobStore, Runnable::run);
+
+        assertThrows(NotFoundException.class, () -> uploadJobService.getJob("missing"));
+    }
+}
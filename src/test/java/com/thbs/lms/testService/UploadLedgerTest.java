@@ -0,0 +1,172 @@
+package com.thbs.lms.testService;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import com.thbs.lms.dto.UploadResultDTO;
+import com.thbs.lms.exception.InvalidDataException;
+import com.thbs.lms.exception.InvalidSheetFormatException;
+import com.thbs.lms.model.UploadLedgerEntry;
+import com.thbs.lms.model.UploadLedgerStatus;
+import com.thbs.lms.repository.UploadLedgerRepository;
+import com.thbs.lms.service.BulkUploadService;
+import com.thbs.lms.service.UploadLedgerService;
+import com.thbs.lms.testUtility.SqlStatementCounter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class UploadLedgerTest {
+
+    private static final int ROW_COUNT = 2000;
+
+    @Autowired
+    private UploadLedgerService uploadLedgerService;
+
+    @Autowired
+    private BulkUploadService bulkUploadService;
+
+    @Autowired
+    private UploadLedgerRepository uploadLedgerRepository;
+
+    private String courseName;
+
+    @BeforeEach
+    void setUp() {
+        courseName = "Ledger" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Test
+    void testRetriedUploadReturnsTheStoredResult() throws IOException {
+        MockMultipartFile file = generateWorkbook("Level");
+        UploadResultDTO first = uploadLedgerService.upload(file, null);
+
+        SqlStatementCounter.reset();
+        UploadResultDTO retried = uploadLedgerService.upload(file, null);
+
+        assertEquals(ROW_COUNT, first.getRowsInserted());
+        assertEquals(ROW_COUNT, retried.getRowsInserted());
+        assertEquals(first.getRowsProcessed(), retried.getRowsProcessed());
+        assertEquals(0, SqlStatementCounter.countSelectsFrom("topic"));
+        assertEquals(0, SqlStatementCounter.countStatements("insert"));
+        assertEquals(UploadLedgerStatus.COMPLETED,
+                uploadLedgerRepository.findById(bulkUploadService.fingerprint(file)).orElseThrow().getStatus());
+    }
+
+    @Test
+    void testSameFileWithoutKeyIsProcessedAgainAfterTheContentWindow() throws IOException {
+        UploadLedgerService noWindow = new UploadLedgerService(bulkUploadService, uploadLedgerRepository,
+                Duration.ofHours(1), Duration.ofMinutes(30), Duration.ZERO);
+        MockMultipartFile file = generateWorkbook("Level");
+        noWindow.upload(file, null);
+
+        UploadResultDTO again = noWindow.upload(file, null);
+
+        // Processed again, so every topic is found and skipped
+        assertEquals(0, again.getRowsInserted());
+        assertEquals(ROW_COUNT, again.getRowsSkipped());
+    }
+
+    @Test
+    void testKeyedRetryReturnsTheStoredResultAfterTheContentWindow() throws IOException {
+        UploadLedgerService noWindow = new UploadLedgerService(bulkUploadService, uploadLedgerRepository,
+                Duration.ofHours(1), Duration.ofMinutes(30), Duration.ZERO);
+        MockMultipartFile file = generateWorkbook("Level");
+        noWindow.upload(file, "window-" + courseName);
+
+        UploadResultDTO retried = noWindow.upload(file, "window-" + courseName);
+
+        assertEquals(ROW_COUNT, retried.getRowsInserted());
+    }
+
+    @Test
+    void testStaleTakeoverIsRejected() {
+        Instant startedAt = Instant.now();
+        uploadLedgerRepository.saveAndFlush(new UploadLedgerEntry("takeover-" + courseName, "hash", startedAt));
+        UploadLedgerEntry first = uploadLedgerRepository.findById("takeover-" + courseName).orElseThrow();
+        UploadLedgerEntry second = uploadLedgerRepository.findById("takeover-" + courseName).orElseThrow();
+
+        first.restart("hash", startedAt.plusSeconds(1));
+        uploadLedgerRepository.saveAndFlush(first);
+        second.restart("hash", startedAt.plusSeconds(2));
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> uploadLedgerRepository.saveAndFlush(second));
+    }
+
+    @Test
+    void testConcurrentUploadsOfTheSameFileAreProcessedOnce() throws Exception {
+        MockMultipartFile file = generateWorkbook("Level");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<UploadResultDTO>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> uploadLedgerService.upload(file, "retry-" + courseName)));
+            }
+            for (Future<UploadResultDTO> result : results) {
+                // An upload that ran again would find every topic and skip it
+                assertEquals(ROW_COUNT, result.get().getRowsInserted());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testKeyReusedForAnotherFileIsRejected() throws IOException {
+        String key = "key-" + courseName;
+        uploadLedgerService.upload(generateWorkbook("Level"), key);
+        courseName = courseName + "B";
+
+        assertThrows(InvalidDataException.class, () -> uploadLedgerService.upload(generateWorkbook("Level"), key));
+    }
+
+    @Test
+    void testFailedUploadCanBeRetried() throws IOException {
+        MockMultipartFile file = generateWorkbook("Difficulty");
+
+        assertThrows(InvalidSheetFormatException.class, () -> uploadLedgerService.upload(file, null));
+        assertFalse(uploadLedgerRepository.findById(bulkUploadService.fingerprint(file)).isPresent());
+        assertThrows(InvalidSheetFormatException.class, () -> uploadLedgerService.upload(file, null));
+    }
+
+    private MockMultipartFile generateWorkbook(String levelHeader) throws IOException {
+        try (Workbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet(courseName);
+            addRow(sheet, 0, levelHeader, "BASIC");
+            addRow(sheet, 1, "Course", courseName);
+            addRow(sheet, 2, "Topic", "Description");
+            for (int r = 0; r < ROW_COUNT; r++) {
+                addRow(sheet, r + 3, "Topic" + r, "Description " + r);
+            }
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            workbook.write(outputStream);
+            return new MockMultipartFile("file", "ledger.xlsx",
+                    "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", outputStream.toByteArray());
+        }
+    }
+
+    private static void addRow(Sheet sheet, int index, String first, String second) {
+        Row row = sheet.createRow(index);
+        row.createCell(0).setCellValue(first);
+        row.createCell(1).setCellValue(second);
+    }
+}
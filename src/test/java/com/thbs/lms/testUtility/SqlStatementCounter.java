@@ -0,0 +1,65 @@
+package com.thbs.lms.testUtility;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate statement inspector that records every SQL statement prepared
+ * during tests, so that tests can assert on the number of round-trips.
+ * It is registered through {@code src/test/resources/application.properties}.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql.toLowerCase(Locale.ROOT));
+        return sql;
+    }
+
+    /**
+     * Clears the recorded statements.
+     */
+    public static void reset() {
+        STATEMENTS.clear();
+    }
+
+    /**
+     * Counts the recorded SELECT statements that read from the given table.
+     *
+     * @param table the table name
+     * @return the number of matching statements
+     */
+    public static long countSelectsFrom(String table) {
+        String fromClause = " from " + table.toLowerCase(Locale.ROOT) + " ";
+        return STATEMENTS.stream()
+                .filter(sql -> sql.startsWith("select") && sql.contains(fromClause))
+                .count();
+    }
+
+    /**
+     * Counts the recorded statements that start with the given SQL keyword.
+     *
+     * @param keyword the SQL keyword, for example {@code insert}
+     * @return the number of matching statements
+     */
+    public static long countStatements(String keyword) {
+        String prefix = keyword.toLowerCase(Locale.ROOT);
+        return STATEMENTS.stream().filter(sql -> sql.startsWith(prefix)).count();
+    }
+
+    /**
+     * Counts the recorded statements that contain the given SQL fragment.
+     *
+     * @param fragment the SQL fragment, for example {@code offset}
+     * @return the number of matching statements
+     */
+    public static long countStatementsContaining(String fragment) {
+        String needle = fragment.toLowerCase(Locale.ROOT);
+        return STATEMENTS.stream().filter(sql -> sql.contains(needle)).count();
+    }
+}